@@ -0,0 +1,140 @@
+package com.coffeeshop.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/** Minimal client for the coffee shop REST API; responses are handled on virtual threads. */
+public final class ApiClient {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final URI baseUri;
+    private final HttpClient http;
+    private final Duration requestTimeout;
+
+    public ApiClient(URI baseUri, Duration requestTimeout) {
+        this.baseUri = baseUri;
+        this.requestTimeout = requestTimeout;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public URI baseUri() {
+        return baseUri;
+    }
+
+    /** Returns an access token. */
+    public String login(String email, String password) throws IOException, InterruptedException {
+        JsonNode response = post("/api/v1/auth/login", null,
+                Map.of("email", email, "password", password));
+        return response.path("accessToken").asText();
+    }
+
+    public List<UUID> productIds(int max) throws IOException, InterruptedException {
+        JsonNode page = get("/api/v1/products?size=" + max, null);
+        List<UUID> ids = new ArrayList<>();
+        for (JsonNode product : page.path("content")) {
+            if (product.path("stockQuantity").asInt() > 0) {
+                ids.add(UUID.fromString(product.path("id").asText()));
+            }
+        }
+        return ids;
+    }
+
+    public UUID createOrder(String token, UUID productId, int quantity)
+            throws IOException, InterruptedException {
+        Map<String, Object> body = Map.of(
+                "items", List.of(Map.of("productId", productId, "quantity", quantity)));
+        return UUID.fromString(post("/api/v1/orders", token, body).path("id").asText());
+    }
+
+    public JsonNode get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET().build());
+    }
+
+    public JsonNode post(String path, String token, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body));
+        return send(request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(publisher)
+                .build());
+    }
+
+    public JsonNode patch(String path, String token, Object body)
+            throws IOException, InterruptedException {
+        return send(request(path, token)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)))
+                .build());
+    }
+
+    /** Sends a request as given and returns the response whatever its status, e.g. for replays. */
+    public HttpResponse<byte[]> exchange(
+            String method, String path, String token, String contentType, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = request(path, token);
+        if (contentType != null) {
+            builder.header("Content-Type", contentType);
+        }
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body);
+        return http.send(builder.method(method, publisher).build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /** Returns the response body as text, e.g. for the Prometheus endpoint. */
+    public String getText(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response =
+                http.send(request(path, null).GET().build(), HttpResponse.BodyHandlers.ofString());
+        check(response.statusCode(), response.uri());
+        return response.body();
+    }
+
+    /** Returns the status code without failing on errors, e.g. to poll health. */
+    public int status(String path) throws InterruptedException {
+        try {
+            return http.send(request(path, null).GET().build(), HttpResponse.BodyHandlers.discarding())
+                    .statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder =
+                HttpRequest.newBuilder(baseUri.resolve(path)).timeout(requestTimeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        check(response.statusCode(), response.uri());
+        byte[] body = response.body();
+        return body.length == 0 ? MAPPER.nullNode() : MAPPER.readTree(body);
+    }
+
+    private static void check(int status, URI uri) throws IOException {
+        if (status >= 400) {
+            throw new HttpStatusException(status, uri);
+        }
+    }
+}
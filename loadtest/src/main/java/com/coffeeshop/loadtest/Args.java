@@ -0,0 +1,47 @@
+package com.coffeeshop.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** {@code --name=value} command-line options with defaults. */
+final class Args {
+    private final Map<String, String> values = new HashMap<>();
+
+    Args(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+    }
+
+    double getDouble(String name, double defaultValue) {
+        return values.containsKey(name) ? Double.parseDouble(values.get(name)) : defaultValue;
+    }
+
+    /** See {@link Durations#parse(String)}. */
+    Duration getDuration(String name, Duration defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Durations.parse(value);
+    }
+
+    List<String> getList(String name, String defaultValue) {
+        return List.of(get(name, defaultValue).split(","));
+    }
+}
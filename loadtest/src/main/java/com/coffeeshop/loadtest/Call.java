@@ -0,0 +1,10 @@
+package com.coffeeshop.loadtest;
+
+/** One request of a workload, recorded under {@code operation}. */
+public record Call(String operation, Action action) {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
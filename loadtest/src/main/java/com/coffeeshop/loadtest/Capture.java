@@ -0,0 +1,62 @@
+package com.coffeeshop.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/** Reads capture files in the order the requests arrived. */
+final class Capture {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Capture() {}
+
+    /**
+     * Reads one {@code .jsonl.gz} file, or every one in a directory. Files are taken in name
+     * order, which is the order they were written; requests within a file are ordered by arrival
+     * since they are written as they complete.
+     */
+    static List<CapturedRequest> read(Path path) throws IOException {
+        List<Path> files;
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> listing = Files.list(path)) {
+                files = listing.filter(file -> file.getFileName().toString().endsWith(".jsonl.gz"))
+                        .sorted()
+                        .toList();
+            }
+        } else {
+            files = List.of(path);
+        }
+        List<CapturedRequest> requests = new ArrayList<>();
+        for (Path file : files) {
+            requests.addAll(readFile(file));
+        }
+        return requests;
+    }
+
+    private static List<CapturedRequest> readFile(Path file) throws IOException {
+        List<CapturedRequest> requests = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    requests.add(MAPPER.readValue(line, CapturedRequest.class));
+                }
+            }
+        } catch (EOFException e) {
+            // The file the application is still writing; keep what was read
+        }
+        requests.sort(Comparator.comparingLong(CapturedRequest::sequence));
+        return requests;
+    }
+}
@@ -0,0 +1,23 @@
+package com.coffeeshop.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.UUID;
+
+/**
+ * One line of a capture file written by the application's {@code TrafficCaptureFilter}
+ * ({@code app.capture.enabled=true}).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+record CapturedRequest(
+        long sequence,
+        long capturedAt,
+        long gapMicros,
+        String method,
+        String path,
+        String contentType,
+        String body,
+        boolean bodyTruncated,
+        boolean admin,
+        int status,
+        long durationMicros,
+        UUID createdId) {}
@@ -0,0 +1,23 @@
+package com.coffeeshop.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+
+/** An error status from the target, so that shed requests can be told apart from failures. */
+public final class HttpStatusException extends IOException {
+    private final int status;
+
+    public HttpStatusException(int status, URI uri) {
+        super("HTTP " + status + " from " + uri);
+        this.status = status;
+    }
+
+    public int status() {
+        return status;
+    }
+
+    /** Whether the target shed the request: rate limited (429) or over its concurrency limit (503). */
+    public boolean isRejection() {
+        return status == 429 || status == 503;
+    }
+}
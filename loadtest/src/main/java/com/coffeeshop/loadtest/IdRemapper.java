@@ -0,0 +1,94 @@
+package com.coffeeshop.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Points ids in captured paths and bodies at entities that exist on the replay target.
+ *
+ * <ul>
+ *   <li>Orders and products created during the capture map to the ones their replayed create
+ *       returned; requests wait for that create to finish.
+ *   <li>Other product ids map to the target's products, each captured product to the same one.
+ *   <li>Orders that existed before the capture cannot be mapped, and their requests are not
+ *       replayed.
+ * </ul>
+ */
+final class IdRemapper {
+    private static final Pattern ID = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final String ORDERS = "/orders/";
+
+    private final List<UUID> products;
+    private final Duration createTimeout;
+    private final Map<UUID, CompletableFuture<UUID>> created = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> productMapping = new ConcurrentHashMap<>();
+    private final AtomicInteger nextProduct = new AtomicInteger();
+
+    /**
+     * @param products products on the replay target
+     * @param createTimeout how long a request waits for the replayed create of its entity
+     */
+    IdRemapper(List<UUID> products, Duration createTimeout) {
+        if (products.isEmpty()) {
+            throw new IllegalArgumentException("The replay target has no products");
+        }
+        this.products = products;
+        this.createTimeout = createTimeout;
+    }
+
+    /**
+     * Registers a captured create before it is replayed; complete the returned future with the
+     * id the target assigned, or exceptionally if the create failed.
+     */
+    CompletableFuture<UUID> expect(UUID capturedId) {
+        return created.computeIfAbsent(capturedId, id -> new CompletableFuture<>());
+    }
+
+    /** Replaces every id in {@code text}. */
+    String rewrite(String text) throws UnmappedIdException, InterruptedException {
+        Matcher matcher = ID.matcher(text);
+        StringBuilder result = new StringBuilder(text.length());
+        int last = 0;
+        while (matcher.find()) {
+            UUID captured = UUID.fromString(matcher.group());
+            boolean order = matcher.start() >= ORDERS.length()
+                    && text.startsWith(ORDERS, matcher.start() - ORDERS.length());
+            result.append(text, last, matcher.start()).append(map(captured, order));
+            last = matcher.end();
+        }
+        return result.append(text, last, text.length()).toString();
+    }
+
+    private UUID map(UUID captured, boolean order) throws UnmappedIdException, InterruptedException {
+        CompletableFuture<UUID> replayed = created.get(captured);
+        if (replayed != null) {
+            try {
+                return replayed.get(createTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                throw new UnmappedIdException(captured + " was not created on the target");
+            }
+        }
+        if (order) {
+            throw new UnmappedIdException("Order " + captured + " existed before the capture");
+        }
+        return productMapping.computeIfAbsent(
+                captured, id -> products.get(nextProduct.getAndIncrement() % products.size()));
+    }
+
+    static final class UnmappedIdException extends Exception {
+        UnmappedIdException(String message) {
+            super(message);
+        }
+    }
+}
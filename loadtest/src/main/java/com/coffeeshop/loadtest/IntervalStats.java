@@ -0,0 +1,20 @@
+package com.coffeeshop.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+
+/** One point of a run's timeline; latencies in millis. */
+public record IntervalStats(
+        double elapsedSeconds, double throughput, long errors, double p50, double p99, double max) {
+
+    static IntervalStats of(long elapsedNanos, long intervalNanos, Histogram histogram, long errors) {
+        double ms = TimeUnit.MILLISECONDS.toNanos(1);
+        return new IntervalStats(
+                elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1),
+                histogram.getTotalCount() / (intervalNanos / (double) TimeUnit.SECONDS.toNanos(1)),
+                errors,
+                histogram.getValueAtPercentile(50) / ms,
+                histogram.getValueAtPercentile(99) / ms,
+                histogram.getMaxValue() / ms);
+    }
+}
@@ -0,0 +1,87 @@
+package com.coffeeshop.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/** Latency histograms and error counts per operation; safe to record from any thread. */
+public final class LatencyRecorder {
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private final Recorder interval = new Recorder(HIGHEST_TRACKABLE, 3);
+    private final LongAdder intervalErrors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private Histogram intervalRecycle;
+
+    public void record(String operation, long latencyNanos, boolean success) {
+        Series s = series.computeIfAbsent(operation, key -> new Series());
+        long value = Math.min(Math.max(latencyNanos, 1), HIGHEST_TRACKABLE);
+        s.histogram.recordValue(value);
+        interval.recordValue(value);
+        if (!success) {
+            s.errors.increment();
+            intervalErrors.increment();
+        }
+    }
+
+    /**
+     * All requests completed since the previous call, as one point of a timeline. Meant to be
+     * called from a single sampling thread.
+     */
+    public IntervalStats nextInterval(long elapsedNanos, long intervalNanos) {
+        intervalRecycle = interval.getIntervalHistogram(intervalRecycle);
+        return IntervalStats.of(elapsedNanos, intervalNanos, intervalRecycle, intervalErrors.sumThenReset());
+    }
+
+    /**
+     * Counts a request the target shed with 429 or 503. It is recorded as an error as well; this
+     * only tells the run whether it measured the target's limits instead of its capacity.
+     */
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    /** Requests shed by the target across all operations. */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /** Requests that were due but could not be started because too many were in flight. */
+    public void recordSkipped(String operation) {
+        series.computeIfAbsent(operation, key -> new Series()).skipped.increment();
+    }
+
+    /** Summaries per operation, sorted by name, over a run that lasted {@code elapsedNanos}. */
+    public Map<String, OperationStats> summarize(long elapsedNanos) {
+        Map<String, OperationStats> stats = new TreeMap<>();
+        series.forEach((operation, s) ->
+                stats.put(operation, OperationStats.of(s.histogram.copy(),
+                        s.errors.sum(), s.skipped.sum(), elapsedNanos)));
+        return stats;
+    }
+
+    /** All operations merged into one histogram. */
+    public Histogram combined() {
+        Histogram all = new Histogram(HIGHEST_TRACKABLE, 3);
+        series.values().forEach(s -> all.add(s.histogram));
+        return all;
+    }
+
+    public Map<String, Histogram> histograms() {
+        Map<String, Histogram> copies = new TreeMap<>();
+        series.forEach((operation, s) -> copies.put(operation, s.histogram.copy()));
+        return copies;
+    }
+
+    private static final class Series {
+        final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+    }
+}
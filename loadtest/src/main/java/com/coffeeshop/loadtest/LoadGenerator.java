@@ -0,0 +1,117 @@
+package com.coffeeshop.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a {@link Workload} either closed-loop (a fixed number of users, each sending its next
+ * request when the previous one returns) or open-loop (requests arrive on a schedule regardless
+ * of how fast the server answers). Every request runs on its own virtual thread.
+ *
+ * <p>Open-loop latency is measured from the moment a request was <em>due</em>, not from when it
+ * was actually sent, so a stalled server shows up in the percentiles instead of silently
+ * lowering the send rate (coordinated omission).
+ */
+public final class LoadGenerator {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private LoadGenerator() {}
+
+    /** Returns the elapsed run time in nanoseconds. */
+    public static long closedLoop(
+            Workload workload, int users, Duration duration, LatencyRecorder recorder)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<Thread> threads = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            threads.add(Thread.ofVirtual().name("user-", i).start(() -> {
+                while (System.nanoTime() < deadline) {
+                    Call call = workload.next();
+                    long sent = System.nanoTime();
+                    execute(call, sent, recorder);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Issues requests at {@code rate} for {@code duration}. At most {@code maxInFlight} requests
+     * are outstanding; a due request beyond that is counted as skipped rather than queued, so the
+     * generator itself cannot run out of memory against a stalled server.
+     *
+     * @return the elapsed run time in nanoseconds, including draining in-flight requests
+     */
+    public static long openLoop(
+            Workload workload,
+            Rate rate,
+            Duration duration,
+            int maxInFlight,
+            LatencyRecorder recorder)
+            throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long due = start;
+            while (due < deadline) {
+                double perSecond = rate.perSecondAt(Duration.ofNanos(due - start));
+                if (perSecond <= 0) {
+                    due += TimeUnit.MILLISECONDS.toNanos(100);
+                    continue;
+                }
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+
+                Call call = workload.next();
+                if (inFlight.tryAcquire()) {
+                    long intended = due;
+                    executor.execute(() -> {
+                        try {
+                            execute(call, intended, recorder);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } else {
+                    recorder.recordSkipped(call.operation());
+                }
+                due += (long) (SECOND / perSecond);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void execute(Call call, long startNanos, LatencyRecorder recorder) {
+        boolean success = false;
+        try {
+            call.action().run();
+            success = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (HttpStatusException e) {
+            if (e.isRejection()) {
+                recorder.recordRejected();
+            }
+        } catch (Exception e) {
+            // Counted as an error below
+        } finally {
+            recorder.record(call.operation(), System.nanoTime() - startNanos, success);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.coffeeshop.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAccumulator;
+
+/**
+ * Starts the application once per threading mode and drives the same order workload against
+ * each, so the claims in {@code docs/virtual-threads-vs-reactive.md} can be reproduced:
+ *
+ * <ul>
+ *   <li>{@code platform}: Tomcat's platform thread pool, 200 threads;
+ *   <li>{@code virtual}: one virtual thread per request;
+ *   <li>{@code reactive}: platform threads, with order reads served by the Reactor endpoint,
+ *       which releases the request thread while the order is loaded.
+ * </ul>
+ *
+ * <p>Each mode reports throughput and latency percentiles per operation, CPU utilization (with
+ * virtual threads the carriers are the only threads doing work, so this bounds their
+ * utilization), the peak number of live platform threads, and how long requests waited for a
+ * database connection. Needs PostgreSQL as configured for the application, e.g.
+ * {@code docker compose up -d postgres}, and the application jar from {@code ./mvnw package}.
+ */
+public final class ModeComparison {
+    private static final Map<String, List<String>> MODES = Map.of(
+            "platform", List.of(
+                    "--spring.threads.virtual.enabled=false", "--server.tomcat.threads.max=200"),
+            "virtual", List.of("--spring.threads.virtual.enabled=true"),
+            "reactive", List.of(
+                    "--spring.threads.virtual.enabled=false", "--app.bench.reactive-reads=true"));
+
+    private final Args args;
+    private final int port;
+
+    private ModeComparison(Args args) {
+        this.args = args;
+        this.port = args.getInt("port", 8080);
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        ModeComparison comparison = new ModeComparison(args);
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (String mode : args.getList("modes", "platform,virtual,reactive")) {
+            if (!MODES.containsKey(mode)) {
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+            }
+            results.put(mode, comparison.run(mode));
+        }
+
+        Path output = Path.of(args.get(
+                "output", "target/mode-comparison-" + Instant.now().getEpochSecond() + ".json"));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(output.toFile(), results);
+        System.out.println("Results written to " + output.toAbsolutePath());
+    }
+
+    private Map<String, Object> run(String mode) throws Exception {
+        System.out.println("== " + mode);
+        Process app = start(mode);
+        try {
+            ApiClient client = new ApiClient(URI.create("http://localhost:" + port), Duration.ofSeconds(30));
+            awaitHealthy(client, app);
+
+            String token = client.login(
+                    args.get("email", "user@local"), args.get("password", "User#123"));
+            List<UUID> products = client.productIds(50);
+            if (products.isEmpty()) {
+                throw new IllegalStateException("No products in stock to order");
+            }
+            List<UUID> orders = new ArrayList<>();
+            for (int i = 0; i < args.getInt("seed-orders", 200); i++) {
+                orders.add(client.createOrder(token, pick(products), 1));
+            }
+
+            String readPath = mode.equals("reactive") ? "/api/v1/reactive/orders/" : "/api/v1/orders/";
+            double readRatio = args.getDouble("read-ratio", 0.8);
+            Workload workload = () -> ThreadLocalRandom.current().nextDouble() < readRatio
+                    ? new Call("getOrder", () -> client.get(readPath + pick(orders), token))
+                    : new Call("createOrder", () -> client.createOrder(token, pick(products), 1));
+
+            drive(workload, args.getDuration("warmup", Duration.ofSeconds(15)), new LatencyRecorder());
+
+            PrometheusScraper scraper = new PrometheusScraper(client);
+            Map<String, Double> before = scraper.scrape();
+            Sampler sampler = new Sampler(scraper);
+            Thread samplerThread = Thread.ofVirtual().start(sampler);
+            LatencyRecorder recorder = new LatencyRecorder();
+            long elapsed = drive(workload, args.getDuration("duration", Duration.ofSeconds(60)), recorder);
+            samplerThread.interrupt();
+            samplerThread.join();
+            Map<String, Double> after = scraper.scrape();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("operations", recorder.summarize(elapsed));
+            result.put("throughput", recorder.combined().getTotalCount()
+                    / (elapsed / (double) TimeUnit.SECONDS.toNanos(1)));
+            result.put("cpuUtilizationAvg", sampler.cpu.get() / Math.max(1, sampler.samples));
+            result.put("livePlatformThreadsMax", sampler.liveThreads.get());
+            result.put("poolPendingMax", sampler.poolPending.get());
+            double acquisitions = delta(before, after, "hikaricp_connections_acquire_seconds_count");
+            result.put("poolWaitMeanMs", acquisitions == 0 ? 0
+                    : delta(before, after, "hikaricp_connections_acquire_seconds_sum")
+                            / acquisitions * 1000);
+            result.put("virtualThreadsPinned",
+                    delta(before, after, "jvm_virtual_threads_pinned_seconds_count"));
+            print(result);
+            return result;
+        } finally {
+            stop(app);
+        }
+    }
+
+    private long drive(Workload workload, Duration duration, LatencyRecorder recorder)
+            throws InterruptedException {
+        if (args.get("loop", "closed").equals("open")) {
+            return LoadGenerator.openLoop(
+                    workload,
+                    Rate.constant(args.getDouble("rate", 500)),
+                    duration,
+                    args.getInt("max-in-flight", 10_000),
+                    recorder);
+        }
+        return LoadGenerator.closedLoop(workload, args.getInt("users", 200), duration, recorder);
+    }
+
+    private Process start(String mode) throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "--enable-preview",
+                "-jar",
+                args.get("jar", "../target/coffee-shop-1.0.0-SNAPSHOT.jar"),
+                "--spring.profiles.active=bench",
+                "--server.port=" + port));
+        command.addAll(MODES.get(mode));
+        Path log = Path.of("target", "mode-" + mode + ".log");
+        Files.createDirectories(log.getParent());
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private static void awaitHealthy(ApiClient client, Process app) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("Application exited, see target/mode-*.log");
+            }
+            if (client.status("/actuator/health") == 200) {
+                return;
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application did not become healthy");
+    }
+
+    private static void stop(Process app) throws InterruptedException {
+        app.destroy();
+        if (!app.waitFor(30, TimeUnit.SECONDS)) {
+            app.destroyForcibly().waitFor();
+        }
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static double delta(Map<String, Double> before, Map<String, Double> after, String name) {
+        return after.getOrDefault(name, 0.0) - before.getOrDefault(name, 0.0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> result) {
+        ((Map<String, OperationStats>) result.get("operations")).forEach((operation, stats) ->
+                System.out.printf("  %-12s %9.1f req/s  p50 %7.2f  p99 %8.2f  p99.9 %8.2f  max %8.2f ms"
+                                + "  errors %d%n",
+                        operation, stats.throughput(), stats.p50(), stats.p99(), stats.p999(),
+                        stats.max(), stats.errors()));
+        System.out.printf("  cpu %.0f%%  live platform threads %.0f  pool wait %.2f ms"
+                        + "  pool pending max %.0f%n",
+                (double) result.get("cpuUtilizationAvg") * 100,
+                (double) result.get("livePlatformThreadsMax"),
+                (double) result.get("poolWaitMeanMs"),
+                (double) result.get("poolPendingMax"));
+    }
+
+    /** Samples gauges once per second while the measured run is in progress. */
+    private static final class Sampler implements Runnable {
+        private final PrometheusScraper scraper;
+        private final DoubleAccumulator cpu = new DoubleAccumulator(Double::sum, 0);
+        private final DoubleAccumulator liveThreads = new DoubleAccumulator(Math::max, 0);
+        private final DoubleAccumulator poolPending = new DoubleAccumulator(Math::max, 0);
+        private volatile int samples;
+
+        Sampler(PrometheusScraper scraper) {
+            this.scraper = scraper;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Map<String, Double> values = scraper.scrape();
+                    cpu.accumulate(values.getOrDefault("process_cpu_usage", 0.0));
+                    liveThreads.accumulate(values.getOrDefault("jvm_threads_live_threads", 0.0));
+                    poolPending.accumulate(values.getOrDefault("hikaricp_connections_pending", 0.0));
+                    samples++;
+                    Thread.sleep(1000);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                System.err.println("Metrics sampling stopped: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.coffeeshop.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+
+/** Throughput and latency percentiles of one operation, in requests per second and millis. */
+public record OperationStats(
+        long count,
+        long errors,
+        long skipped,
+        double throughput,
+        double p50,
+        double p90,
+        double p99,
+        double p999,
+        double max) {
+
+    static OperationStats of(Histogram histogram, long errors, long skipped, long elapsedNanos) {
+        long count = histogram.getTotalCount();
+        return new OperationStats(
+                count,
+                errors,
+                skipped,
+                count / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1)),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,42 @@
+package com.coffeeshop.loadtest;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/** Reads {@code /actuator/prometheus}, summing each metric over all of its label sets. */
+public final class PrometheusScraper {
+    private final ApiClient client;
+
+    public PrometheusScraper(ApiClient client) {
+        this.client = client;
+    }
+
+    public Map<String, Double> scrape() throws IOException, InterruptedException {
+        return parse(client.getText("/actuator/prometheus"));
+    }
+
+    static Map<String, Double> parse(String exposition) {
+        Map<String, Double> values = new HashMap<>();
+        for (String line : exposition.split("\n")) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            int nameEnd = line.indexOf('{');
+            int valueStart = line.lastIndexOf(' ');
+            if (valueStart < 0) {
+                continue;
+            }
+            String name = line.substring(0, nameEnd >= 0 ? nameEnd : valueStart).trim();
+            try {
+                double value = Double.parseDouble(line.substring(valueStart + 1).trim());
+                if (!Double.isNaN(value)) {
+                    values.merge(name, value, Double::sum);
+                }
+            } catch (NumberFormatException e) {
+                // Timestamps or exemplars we do not need
+            }
+        }
+        return values;
+    }
+}
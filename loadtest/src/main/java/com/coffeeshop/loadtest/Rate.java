@@ -0,0 +1,15 @@
+package com.coffeeshop.loadtest;
+
+import java.time.Duration;
+
+/** Target request rate of an open-loop run over time. */
+@FunctionalInterface
+public interface Rate {
+
+    /** Requests per second wanted {@code elapsed} into the run; zero or less pauses arrivals. */
+    double perSecondAt(Duration elapsed);
+
+    static Rate constant(double perSecond) {
+        return elapsed -> perSecond;
+    }
+}
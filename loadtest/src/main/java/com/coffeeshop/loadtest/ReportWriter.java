@@ -0,0 +1,228 @@
+package com.coffeeshop.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+/**
+ * Writes a run's results to a directory: {@code report.json} for diffing and tooling,
+ * {@code report.html} to read, and one HdrHistogram percentile distribution ({@code .hgrm}) per
+ * operation, which the HdrHistogram plotter can overlay across runs.
+ */
+public final class ReportWriter {
+    private static final String[] COLORS = {
+        "#1f77b4", "#ff7f0e", "#2ca02c", "#d62728", "#9467bd", "#8c564b", "#e377c2"
+    };
+
+    private ReportWriter() {}
+
+    public static void write(
+            Path directory,
+            Scenario scenario,
+            Instant startedAt,
+            long elapsedNanos,
+            LatencyRecorder recorder,
+            List<IntervalStats> timeline)
+            throws IOException {
+        Files.createDirectories(directory);
+        Map<String, OperationStats> operations = recorder.summarize(elapsedNanos);
+        Histogram combined = recorder.combined();
+        OperationStats total = OperationStats.of(
+                combined,
+                operations.values().stream().mapToLong(OperationStats::errors).sum(),
+                operations.values().stream().mapToLong(OperationStats::skipped).sum(),
+                elapsedNanos);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("scenario", scenario.name());
+        json.put("startedAt", startedAt.toString());
+        json.put("durationSeconds", elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+        json.put("total", total);
+        json.put("operations", operations);
+        json.put("timeline", timeline);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("report.json").toFile(), json);
+
+        Map<String, Histogram> histograms = recorder.histograms();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(
+                    directory.resolve(entry.getKey() + ".hgrm").toFile(), StandardCharsets.UTF_8)) {
+                // Values are recorded in nanoseconds; scale the output to milliseconds
+                entry.getValue().outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+
+        Files.writeString(
+                directory.resolve("report.html"),
+                html(scenario, startedAt, total, operations, histograms, timeline));
+    }
+
+    private static String html(
+            Scenario scenario,
+            Instant startedAt,
+            OperationStats total,
+            Map<String, OperationStats> operations,
+            Map<String, Histogram> histograms,
+            List<IntervalStats> timeline) {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>")
+                .append(escape(scenario.name()))
+                .append("</title><style>")
+                .append("body{font-family:sans-serif;margin:2em;color:#222}")
+                .append("table{border-collapse:collapse}")
+                .append("td,th{padding:4px 10px;border-bottom:1px solid #ddd;text-align:right}")
+                .append("td:first-child,th:first-child{text-align:left}")
+                .append("svg{margin:1em 0;font-size:11px}")
+                .append("</style></head><body>");
+        html.append("<h1>").append(escape(scenario.name())).append("</h1>");
+        if (scenario.description() != null) {
+            html.append("<p>").append(escape(scenario.description())).append("</p>");
+        }
+        html.append("<p>Started ").append(startedAt).append(", ")
+                .append(scenario.load().isOpen() ? "open" : "closed").append(" loop</p>");
+
+        html.append("<table><tr><th>Operation</th><th>Requests</th><th>Errors</th>")
+                .append("<th>Skipped</th><th>req/s</th><th>p50 ms</th><th>p90 ms</th>")
+                .append("<th>p99 ms</th><th>p99.9 ms</th><th>max ms</th></tr>");
+        operations.forEach((name, stats) -> row(html, name, stats));
+        row(html, "<b>all</b>", total);
+        html.append("</table>");
+
+        double[] x = timeline.stream().mapToDouble(IntervalStats::elapsedSeconds).toArray();
+        Map<String, double[][]> throughput = new LinkedHashMap<>();
+        throughput.put("requests", new double[][] {
+            x, timeline.stream().mapToDouble(IntervalStats::throughput).toArray()
+        });
+        throughput.put("errors", new double[][] {
+            x, timeline.stream().mapToDouble(interval -> interval.errors()).toArray()
+        });
+        html.append(chart("Throughput (req/s)", "seconds", false, throughput));
+
+        Map<String, double[][]> latency = new LinkedHashMap<>();
+        latency.put("p50", new double[][] {x, timeline.stream().mapToDouble(IntervalStats::p50).toArray()});
+        latency.put("p99", new double[][] {x, timeline.stream().mapToDouble(IntervalStats::p99).toArray()});
+        latency.put("max", new double[][] {x, timeline.stream().mapToDouble(IntervalStats::max).toArray()});
+        html.append(chart("Latency (ms)", "seconds", false, latency));
+
+        Map<String, double[][]> distributions = new LinkedHashMap<>();
+        histograms.forEach((name, histogram) -> distributions.put(name, distribution(histogram)));
+        html.append(chart("Latency by percentile (ms)", "percentile", true, distributions));
+
+        html.append("</body></html>");
+        return html.toString();
+    }
+
+    private static void row(StringBuilder html, String name, OperationStats stats) {
+        html.append("<tr><td>").append(name).append("</td>")
+                .append(cell(stats.count())).append(cell(stats.errors())).append(cell(stats.skipped()))
+                .append(cell(stats.throughput())).append(cell(stats.p50())).append(cell(stats.p90()))
+                .append(cell(stats.p99())).append(cell(stats.p999())).append(cell(stats.max()))
+                .append("</tr>");
+    }
+
+    private static String cell(double value) {
+        return "<td>" + String.format(Locale.ROOT, value == Math.rint(value) ? "%.0f" : "%.2f", value)
+                + "</td>";
+    }
+
+    /** Percentile (as x = 1 / (1 - p), for a log axis) against latency in millis. */
+    private static double[][] distribution(Histogram histogram) {
+        List<double[]> points = new ArrayList<>();
+        for (HistogramIterationValue value : histogram.percentiles(5)) {
+            double percentile = value.getPercentileLevelIteratedTo();
+            if (percentile >= 99.999) {
+                break;
+            }
+            points.add(new double[] {
+                1 / (1 - percentile / 100), value.getValueIteratedTo() / 1_000_000.0
+            });
+        }
+        return new double[][] {
+            points.stream().mapToDouble(p -> p[0]).toArray(),
+            points.stream().mapToDouble(p -> p[1]).toArray()
+        };
+    }
+
+    private static String chart(String title, String xLabel, boolean logX, Map<String, double[][]> series) {
+        int width = 900;
+        int height = 260;
+        int left = 60;
+        int bottom = 30;
+        double maxX = 0;
+        double maxY = 0;
+        for (double[][] s : series.values()) {
+            for (double v : s[0]) {
+                maxX = Math.max(maxX, logX ? Math.log10(v) : v);
+            }
+            for (double v : s[1]) {
+                maxY = Math.max(maxY, v);
+            }
+        }
+        maxX = maxX == 0 ? 1 : maxX;
+        maxY = maxY == 0 ? 1 : maxY * 1.1;
+
+        StringBuilder svg = new StringBuilder();
+        svg.append("<h3>").append(escape(title)).append("</h3>")
+                .append(String.format(Locale.ROOT, "<svg width=\"%d\" height=\"%d\">", width, height + bottom));
+        svg.append(String.format(Locale.ROOT,
+                "<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"#999\"/>", left, height, width, height));
+        svg.append(String.format(Locale.ROOT,
+                "<line x1=\"%d\" y1=\"0\" x2=\"%d\" y2=\"%d\" stroke=\"#999\"/>", left, left, height));
+        for (int i = 0; i <= 4; i++) {
+            double y = height - height * i / 4.0;
+            svg.append(String.format(Locale.ROOT,
+                    "<text x=\"%d\" y=\"%.0f\" text-anchor=\"end\">%.1f</text>", left - 4, y + 4, maxY * i / 4));
+            double x = left + (width - left) * i / 4.0;
+            double xValue = maxX * i / 4;
+            String label = logX
+                    ? String.format(Locale.ROOT, "%s%%", trimPercentile(100 - 100 / Math.pow(10, xValue)))
+                    : String.format(Locale.ROOT, "%.0f", xValue);
+            svg.append(String.format(Locale.ROOT,
+                    "<text x=\"%.0f\" y=\"%d\" text-anchor=\"middle\">%s</text>", x, height + 16, label));
+        }
+        svg.append(String.format(Locale.ROOT,
+                "<text x=\"%d\" y=\"%d\" text-anchor=\"end\">%s</text>", width, height + bottom - 2, xLabel));
+
+        int color = 0;
+        int legendY = 14;
+        for (Map.Entry<String, double[][]> entry : series.entrySet()) {
+            String stroke = COLORS[color++ % COLORS.length];
+            double[] xs = entry.getValue()[0];
+            double[] ys = entry.getValue()[1];
+            StringBuilder points = new StringBuilder();
+            for (int i = 0; i < xs.length; i++) {
+                double xv = logX ? Math.log10(xs[i]) : xs[i];
+                points.append(String.format(Locale.ROOT, "%.1f,%.1f ",
+                        left + (width - left) * xv / maxX, height - height * ys[i] / maxY));
+            }
+            svg.append("<polyline fill=\"none\" stroke=\"").append(stroke)
+                    .append("\" stroke-width=\"1.5\" points=\"").append(points).append("\"/>");
+            svg.append(String.format(Locale.ROOT,
+                    "<text x=\"%d\" y=\"%d\" fill=\"%s\">%s</text>", left + 10, legendY, stroke,
+                    escape(entry.getKey())));
+            legendY += 14;
+        }
+        return svg.append("</svg>").toString();
+    }
+
+    private static String trimPercentile(double percentile) {
+        return String.format(Locale.ROOT, "%.3f", percentile).replaceAll("0+$", "").replaceAll("\\.$", "");
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
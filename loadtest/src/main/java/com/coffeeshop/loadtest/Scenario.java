@@ -0,0 +1,126 @@
+package com.coffeeshop.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A load scenario as defined in YAML: who logs in, the request mix, and how load develops over
+ * time. See {@code loadtest/scenarios/} for examples.
+ *
+ * @param accounts customers whose tokens are used for order requests
+ * @param admin optional admin account, required when the mix contains {@code restock}
+ * @param load open loop ({@code from}/{@code to} requests per second, ramped linearly within a
+ *     stage) or closed loop ({@code users} per stage)
+ * @param mix relative weight of each operation
+ */
+public record Scenario(
+        String name,
+        String description,
+        String baseUrl,
+        String requestTimeout,
+        List<Account> accounts,
+        Account admin,
+        Load load,
+        Map<String, Double> mix,
+        Integer restockQuantity) {
+
+    private static final YAMLMapper YAML = YAMLMapper.builder()
+            .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    public record Account(String email, String password) {}
+
+    public record Load(String type, Integer maxInFlight, List<Stage> stages) {
+        public boolean isOpen() {
+            return !"closed".equals(type);
+        }
+    }
+
+    /**
+     * @param from requests per second at the start of the stage; defaults to the previous
+     *     stage's {@code to}, so consecutive stages form one continuous ramp
+     * @param to requests per second at the end of the stage; defaults to {@code from}
+     * @param users concurrent users, for closed-loop loads
+     */
+    public record Stage(String duration, Double from, Double to, Integer users) {
+        public Duration length() {
+            return Durations.parse(duration);
+        }
+    }
+
+    public static Scenario load(Path path) throws IOException {
+        Scenario scenario = YAML.readValue(path.toFile(), Scenario.class);
+        scenario.validate();
+        return scenario;
+    }
+
+    static Scenario parse(String yaml) throws IOException {
+        Scenario scenario = YAML.readValue(yaml, Scenario.class);
+        scenario.validate();
+        return scenario;
+    }
+
+    private void validate() {
+        if (accounts == null || accounts.isEmpty()) {
+            throw new IllegalArgumentException("Scenario needs at least one account");
+        }
+        if (load == null || load.stages() == null || load.stages().isEmpty()) {
+            throw new IllegalArgumentException("Scenario needs at least one load stage");
+        }
+        if (mix == null || mix.isEmpty()) {
+            throw new IllegalArgumentException("Scenario needs a request mix");
+        }
+        mix.keySet().forEach(ScenarioOperation::fromKey);
+        if (mix.getOrDefault(ScenarioOperation.RESTOCK.key(), 0.0) > 0 && admin == null) {
+            throw new IllegalArgumentException("The restock operation needs an admin account");
+        }
+        for (Stage stage : load.stages()) {
+            if (!load.isOpen() && (stage.users() == null || stage.users() < 1)) {
+                throw new IllegalArgumentException("Closed-loop stages need users");
+            }
+        }
+    }
+
+    public Duration timeout() {
+        return requestTimeout == null ? Duration.ofSeconds(30) : Durations.parse(requestTimeout);
+    }
+
+    public Duration totalDuration() {
+        return load.stages().stream().map(Stage::length).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    /** The open-loop rate: piecewise linear over the stages, zero after the last one. */
+    public Rate rate() {
+        List<long[]> bounds = new ArrayList<>();
+        List<double[]> rates = new ArrayList<>();
+        long start = 0;
+        double previous = 0;
+        for (Stage stage : load.stages()) {
+            double from = stage.from() != null ? stage.from() : previous;
+            double to = stage.to() != null ? stage.to() : from;
+            long end = start + stage.length().toNanos();
+            bounds.add(new long[] {start, end});
+            rates.add(new double[] {from, to});
+            previous = to;
+            start = end;
+        }
+        return elapsed -> {
+            long t = elapsed.toNanos();
+            for (int i = 0; i < bounds.size(); i++) {
+                long[] b = bounds.get(i);
+                if (t < b[1]) {
+                    double progress = (t - b[0]) / (double) (b[1] - b[0]);
+                    double[] r = rates.get(i);
+                    return r[0] + (r[1] - r[0]) * progress;
+                }
+            }
+            return 0;
+        };
+    }
+}
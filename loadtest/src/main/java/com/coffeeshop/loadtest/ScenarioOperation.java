@@ -0,0 +1,32 @@
+package com.coffeeshop.loadtest;
+
+import java.util.Arrays;
+
+/** Operations a scenario mix can contain, by their YAML key. */
+public enum ScenarioOperation {
+    LOGIN("login"),
+    BROWSE_MENU("browseMenu"),
+    VIEW_PRODUCT("viewProduct"),
+    CREATE_ORDER("createOrder"),
+    PAY_ORDER("payOrder"),
+    CANCEL_ORDER("cancelOrder"),
+    RESTOCK("restock");
+
+    private final String key;
+
+    ScenarioOperation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static ScenarioOperation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation in mix: " + key
+                        + ", expected one of " + Arrays.stream(values()).map(ScenarioOperation::key).toList()));
+    }
+}
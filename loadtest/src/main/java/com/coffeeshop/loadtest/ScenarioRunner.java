@@ -0,0 +1,128 @@
+package com.coffeeshop.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a YAML {@link Scenario} against a running instance and writes a report:
+ *
+ * <pre>
+ * ../mvnw -f loadtest/pom.xml compile exec:java \
+ *     -Dexec.mainClass=com.coffeeshop.loadtest.ScenarioRunner \
+ *     -Dexec.args="--scenario=scenarios/store-opening.yaml"
+ * </pre>
+ *
+ * <p>Options: {@code --base-url} overrides the scenario's, {@code --output} sets the report
+ * directory (default {@code target/reports/<scenario>-<time>}).
+ *
+ * <p>The target must run with the {@code bench} profile. The default rate limits are per caller,
+ * and every scenario request comes from a few accounts on one IP, so most of it would be
+ * rejected with 429 and the report would measure the limiter. Requests shed with 429 or 503 are
+ * counted during the run; if they exceed {@code --max-rejected-share} (default 1%) of all
+ * requests, the report is still written but the run fails, unless {@code --allow-rate-limits} is
+ * given.
+ */
+public final class ScenarioRunner {
+    private static final DateTimeFormatter RUN_ID =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private ScenarioRunner() {}
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        Scenario scenario = Scenario.load(Path.of(args.get("scenario", "scenarios/store-opening.yaml")));
+        String baseUrl = args.get(
+                "base-url", scenario.baseUrl() != null ? scenario.baseUrl() : "http://localhost:8080");
+        ApiClient client = new ApiClient(URI.create(baseUrl), scenario.timeout());
+        ScenarioWorkload workload = ScenarioWorkload.prepare(client, scenario);
+        boolean allowRateLimits = Boolean.parseBoolean(args.get("allow-rate-limits", "false"));
+        double maxRejectedShare = Double.parseDouble(args.get("max-rejected-share", "0.01"));
+
+        System.out.printf("Running %s against %s for %s%n", scenario.name(), baseUrl, scenario.totalDuration());
+        Instant startedAt = Instant.now();
+        LatencyRecorder recorder = new LatencyRecorder();
+        List<IntervalStats> timeline = Collections.synchronizedList(new ArrayList<>());
+        Thread sampler = Thread.ofVirtual().start(() -> sample(recorder, timeline));
+        long elapsed;
+        try {
+            elapsed = run(scenario, workload, recorder);
+        } finally {
+            sampler.interrupt();
+            sampler.join();
+        }
+
+        Path output = Path.of(args.get(
+                "output", "target/reports/" + scenario.name() + "-" + RUN_ID.format(startedAt)));
+        ReportWriter.write(output, scenario, startedAt, elapsed, recorder, timeline);
+        print(recorder.summarize(elapsed));
+        System.out.println("Report written to " + output.toAbsolutePath().resolve("report.html"));
+        if (!allowRateLimits) {
+            requireFewRejections(recorder, maxRejectedShare);
+        }
+    }
+
+    private static long run(Scenario scenario, Workload workload, LatencyRecorder recorder)
+            throws InterruptedException {
+        Scenario.Load load = scenario.load();
+        if (load.isOpen()) {
+            return LoadGenerator.openLoop(
+                    workload,
+                    scenario.rate(),
+                    scenario.totalDuration(),
+                    load.maxInFlight() != null ? load.maxInFlight() : 10_000,
+                    recorder);
+        }
+        long elapsed = 0;
+        for (Scenario.Stage stage : load.stages()) {
+            System.out.printf("  %d users for %s%n", stage.users(), stage.length());
+            elapsed += LoadGenerator.closedLoop(workload, stage.users(), stage.length(), recorder);
+        }
+        return elapsed;
+    }
+
+    static void requireFewRejections(LatencyRecorder recorder, double maxRejectedShare) {
+        long total = recorder.combined().getTotalCount();
+        long rejected = recorder.rejected();
+        if (total > 0 && rejected > total * maxRejectedShare) {
+            throw new IllegalStateException(String.format(
+                    "%d of %d requests (%.1f%%) were rejected with 429 or 503, more than"
+                            + " --max-rejected-share=%s, so the report measures the target's limits."
+                            + " Start the target with --spring.profiles.active=bench, or pass"
+                            + " --allow-rate-limits to measure the limiters.",
+                    rejected, total, 100.0 * rejected / total, maxRejectedShare));
+        }
+    }
+
+    private static void sample(LatencyRecorder recorder, List<IntervalStats> timeline) {
+        long interval = TimeUnit.SECONDS.toNanos(1);
+        long start = System.nanoTime();
+        long previous = start;
+        try {
+            while (true) {
+                Thread.sleep(Duration.ofNanos(interval));
+                long now = System.nanoTime();
+                timeline.add(recorder.nextInterval(now - start, now - previous));
+                previous = now;
+            }
+        } catch (InterruptedException e) {
+            long now = System.nanoTime();
+            timeline.add(recorder.nextInterval(now - start, Math.max(1, now - previous)));
+        }
+    }
+
+    private static void print(Map<String, OperationStats> operations) {
+        operations.forEach((operation, stats) -> System.out.printf(
+                "  %-12s %8d req  %8.1f req/s  p50 %7.2f  p99 %8.2f  max %8.2f ms  errors %d  skipped %d%n",
+                operation, stats.count(), stats.throughput(), stats.p50(), stats.p99(), stats.max(),
+                stats.errors(), stats.skipped()));
+    }
+}
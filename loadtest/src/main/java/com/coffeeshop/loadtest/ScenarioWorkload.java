@@ -0,0 +1,160 @@
+package com.coffeeshop.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Picks operations by the scenario's weights and keeps the state they need: a token per account,
+ * the product catalogue, and orders waiting to be paid or canceled.
+ *
+ * <p>{@code payOrder} and {@code cancelOrder} need an order created earlier in the run; when none
+ * is waiting, a {@code createOrder} is sent instead, so early in a run the effective mix leans
+ * towards creation.
+ */
+public final class ScenarioWorkload implements Workload {
+    private static final int MAX_PENDING_ORDERS = 10_000;
+
+    private final ApiClient client;
+    private final List<Scenario.Account> accounts;
+    private final AtomicReferenceArray<String> tokens;
+    private final String adminToken;
+    private final List<UUID> products;
+    private final int restockQuantity;
+    private final ScenarioOperation[] operations;
+    private final double[] cumulativeWeights;
+    private final OrderQueue created = new OrderQueue();
+    private final OrderQueue paid = new OrderQueue();
+
+    ScenarioWorkload(
+            ApiClient client,
+            Scenario scenario,
+            String[] tokens,
+            String adminToken,
+            List<UUID> products) {
+        this.client = client;
+        this.accounts = scenario.accounts();
+        this.tokens = new AtomicReferenceArray<>(tokens);
+        this.adminToken = adminToken;
+        this.products = products;
+        this.restockQuantity = scenario.restockQuantity() != null ? scenario.restockQuantity() : 500;
+
+        List<ScenarioOperation> ops = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        double total = 0;
+        for (Map.Entry<String, Double> entry : scenario.mix().entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                ops.add(ScenarioOperation.fromKey(entry.getKey()));
+                weights.add(total);
+            }
+        }
+        this.operations = ops.toArray(ScenarioOperation[]::new);
+        this.cumulativeWeights = weights.stream().mapToDouble(w -> w).toArray();
+    }
+
+    /** Logs in every account and loads the products to order from. */
+    public static ScenarioWorkload prepare(ApiClient client, Scenario scenario) throws Exception {
+        String[] tokens = new String[scenario.accounts().size()];
+        for (int i = 0; i < tokens.length; i++) {
+            Scenario.Account account = scenario.accounts().get(i);
+            tokens[i] = client.login(account.email(), account.password());
+        }
+        String adminToken = scenario.admin() == null
+                ? null
+                : client.login(scenario.admin().email(), scenario.admin().password());
+        List<UUID> products = client.productIds(100);
+        if (products.isEmpty()) {
+            throw new IllegalStateException("No products in stock to order");
+        }
+        return new ScenarioWorkload(client, scenario, tokens, adminToken, products);
+    }
+
+    @Override
+    public Call next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return call(pick(random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1]), random);
+    }
+
+    ScenarioOperation pick(double point) {
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private Call call(ScenarioOperation operation, ThreadLocalRandom random) {
+        int account = random.nextInt(accounts.size());
+        String token = tokens.get(account);
+        UUID product = products.get(random.nextInt(products.size()));
+        return switch (operation) {
+            case LOGIN -> new Call(operation.key(), () -> {
+                Scenario.Account a = accounts.get(account);
+                tokens.set(account, client.login(a.email(), a.password()));
+            });
+            case BROWSE_MENU -> {
+                int page = random.nextInt(3);
+                yield new Call(operation.key(), () ->
+                        client.get("/api/v1/products?size=20&page=" + page, null));
+            }
+            case VIEW_PRODUCT -> new Call(operation.key(), () ->
+                    client.get("/api/v1/products/" + product, null));
+            case CREATE_ORDER -> createOrder(token, product, random.nextInt(1, 4));
+            case PAY_ORDER -> {
+                UUID order = created.poll();
+                yield order == null
+                        ? createOrder(token, product, 1)
+                        : new Call(operation.key(), () -> {
+                            client.post("/api/v1/orders/" + order + "/pay", token, null);
+                            paid.offer(order);
+                        });
+            }
+            case CANCEL_ORDER -> {
+                UUID order = random.nextBoolean() ? created.poll() : paid.poll();
+                yield order == null
+                        ? createOrder(token, product, 1)
+                        : new Call(operation.key(), () ->
+                                client.post("/api/v1/orders/" + order + "/cancel", token, null));
+            }
+            case RESTOCK -> new Call(operation.key(), () -> client.patch(
+                    "/api/v1/products/" + product + "/restock",
+                    adminToken,
+                    Map.of("quantity", restockQuantity)));
+        };
+    }
+
+    private Call createOrder(String token, UUID product, int quantity) {
+        return new Call(ScenarioOperation.CREATE_ORDER.key(), () ->
+                created.offer(client.createOrder(token, product, quantity)));
+    }
+
+    /** Orders whose ids are kept for a later operation, bounded so long runs stay flat. */
+    private static final class OrderQueue {
+        private final Queue<UUID> ids = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        void offer(UUID id) {
+            if (size.incrementAndGet() <= MAX_PENDING_ORDERS) {
+                ids.offer(id);
+            } else {
+                size.decrementAndGet();
+            }
+        }
+
+        UUID poll() {
+            UUID id = ids.poll();
+            if (id != null) {
+                size.decrementAndGet();
+            }
+            return id;
+        }
+    }
+}
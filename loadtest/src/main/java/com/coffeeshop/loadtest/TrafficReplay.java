@@ -0,0 +1,250 @@
+package com.coffeeshop.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Replays traffic captured with {@code app.capture.enabled=true} against a test instance at the
+ * captured pace or faster, and compares latencies with an earlier replay:
+ *
+ * <pre>
+ * ../mvnw -f loadtest/pom.xml compile exec:java \
+ *     -Dexec.mainClass=com.coffeeshop.loadtest.TrafficReplay \
+ *     -Dexec.args="--capture=/var/tmp/coffee-shop-capture --speed=5 --baseline=target/replay-main.json"
+ * </pre>
+ *
+ * <p>Requests are sent at their captured arrival times divided by {@code --speed}, whether or not
+ * earlier ones have returned, and latency is measured from that time. Ids are rewritten by
+ * {@link IdRemapper}; requests by admins use the {@code --admin-email} account, all others the
+ * {@code --email} account.
+ */
+public final class TrafficReplay {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern ID = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private final ApiClient client;
+    private final IdRemapper remapper;
+    private final String userToken;
+    private final String adminToken;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final LongAdder unmapped = new LongAdder();
+
+    private TrafficReplay(ApiClient client, IdRemapper remapper, String userToken, String adminToken) {
+        this.client = client;
+        this.remapper = remapper;
+        this.userToken = userToken;
+        this.adminToken = adminToken;
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        String capture = args.get("capture", null);
+        if (capture == null) {
+            throw new IllegalArgumentException("--capture=<file or directory> is required");
+        }
+        double speed = args.getDouble("speed", 1.0);
+        String baseUrl = args.get("base-url", "http://localhost:8080");
+        Duration timeout = args.getDuration("timeout", Duration.ofSeconds(30));
+
+        List<CapturedRequest> requests = Capture.read(Path.of(capture));
+        ApiClient client = new ApiClient(URI.create(baseUrl), timeout);
+        String userToken = client.login(
+                args.get("email", "user@local"), args.get("password", "User#123"));
+        String adminToken = client.login(
+                args.get("admin-email", "admin@local"), args.get("admin-password", "Admin#123"));
+        IdRemapper remapper = new IdRemapper(client.productIds(100), timeout);
+        TrafficReplay replay = new TrafficReplay(client, remapper, userToken, adminToken);
+
+        System.out.printf("Replaying %d requests from %s against %s at %.1fx%n",
+                requests.size(), capture, baseUrl, speed);
+        Instant startedAt = Instant.now();
+        long elapsed = replay.run(requests, speed, args.getInt("max-in-flight", 10_000));
+
+        Map<String, OperationStats> endpoints = replay.recorder.summarize(elapsed);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("capture", capture);
+        report.put("baseUrl", baseUrl);
+        report.put("speed", speed);
+        report.put("startedAt", startedAt.toString());
+        report.put("durationSeconds", elapsed / (double) TimeUnit.SECONDS.toNanos(1));
+        report.put("requests", requests.size());
+        report.put("unmapped", replay.unmapped.sum());
+        report.put("total", OperationStats.of(replay.recorder.combined(), 0, 0, elapsed));
+        report.put("endpoints", endpoints);
+
+        String baseline = args.get("baseline", null);
+        if (baseline != null) {
+            report.put("baseline", baseline);
+            report.put("deltas", compare(MAPPER.readTree(Path.of(baseline).toFile()), endpoints));
+        } else {
+            print(endpoints);
+        }
+        System.out.printf("  %d requests not replayed: their order was not created on the target%n",
+                replay.unmapped.sum());
+
+        Path output = Path.of(args.get(
+                "output", "target/replay-" + startedAt.getEpochSecond() + ".json"));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        MAPPER.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        System.out.println("Results written to " + output.toAbsolutePath());
+    }
+
+    private long run(List<CapturedRequest> requests, double speed, int maxInFlight)
+            throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        double offset = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests.size(); i++) {
+                CapturedRequest request = requests.get(i);
+                if (i > 0) {
+                    offset += TimeUnit.MICROSECONDS.toNanos(request.gapMicros()) / speed;
+                }
+                long due = start + (long) offset;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+
+                CompletableFuture<UUID> created =
+                        request.createdId() != null ? remapper.expect(request.createdId()) : null;
+                if (request.bodyTruncated() || !inFlight.tryAcquire()) {
+                    recorder.recordSkipped(endpoint(request));
+                    fail(created);
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        replay(request, due, created);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void replay(CapturedRequest request, long due, CompletableFuture<UUID> created) {
+        String endpoint = endpoint(request);
+        String path;
+        String body;
+        try {
+            path = remapper.rewrite(request.path());
+            body = request.body() != null ? remapper.rewrite(request.body()) : null;
+        } catch (IdRemapper.UnmappedIdException e) {
+            unmapped.increment();
+            recorder.recordSkipped(endpoint);
+            fail(created);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(created);
+            return;
+        }
+
+        boolean success = false;
+        try {
+            HttpResponse<byte[]> response = client.exchange(
+                    request.method(),
+                    path,
+                    request.admin() ? adminToken : userToken,
+                    request.contentType(),
+                    body);
+            // Same outcome as in production, e.g. a 409 for a captured conflict is expected
+            success = response.statusCode() / 100 == request.status() / 100;
+            if (created != null) {
+                complete(created, response);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Counted as an error below
+        } finally {
+            recorder.record(endpoint, System.nanoTime() - due, success);
+            fail(created);
+        }
+    }
+
+    private static void complete(CompletableFuture<UUID> created, HttpResponse<byte[]> response)
+            throws IOException {
+        if (response.statusCode() == 201) {
+            JsonNode id = MAPPER.readTree(response.body()).path("id");
+            if (id.isTextual()) {
+                created.complete(UUID.fromString(id.asText()));
+            }
+        }
+    }
+
+    /** Unblocks requests waiting for an entity that will not be created; no-op once completed. */
+    private static void fail(CompletableFuture<UUID> created) {
+        if (created != null) {
+            created.completeExceptionally(new IllegalStateException("Not created"));
+        }
+    }
+
+    /** {@code POST /api/v1/orders/{id}/pay}: method and path without ids or query. */
+    static String endpoint(CapturedRequest request) {
+        String path = request.path();
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        return request.method() + " " + ID.matcher(path).replaceAll("{id}");
+    }
+
+    /** Per endpoint in both runs: p50 and p99 of each and the change in percent. */
+    static Map<String, Map<String, Double>> compare(
+            JsonNode baseline, Map<String, OperationStats> current) {
+        Map<String, Map<String, Double>> deltas = new LinkedHashMap<>();
+        System.out.printf("  %-40s %21s %21s%n", "", "p50 ms (change)", "p99 ms (change)");
+        current.forEach((endpoint, stats) -> {
+            JsonNode before = baseline.path("endpoints").path(endpoint);
+            if (before.isMissingNode() || stats.count() == 0) {
+                return;
+            }
+            Map<String, Double> delta = new LinkedHashMap<>();
+            delta.put("baselineP50", before.path("p50").asDouble());
+            delta.put("p50", stats.p50());
+            delta.put("p50Change", change(before.path("p50").asDouble(), stats.p50()));
+            delta.put("baselineP99", before.path("p99").asDouble());
+            delta.put("p99", stats.p99());
+            delta.put("p99Change", change(before.path("p99").asDouble(), stats.p99()));
+            deltas.put(endpoint, delta);
+            System.out.printf("  %-40s %9.2f (%+7.1f%%) %9.2f (%+7.1f%%)%n",
+                    endpoint, stats.p50(), delta.get("p50Change"), stats.p99(), delta.get("p99Change"));
+        });
+        return deltas;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+
+    private static void print(Map<String, OperationStats> endpoints) {
+        endpoints.forEach((endpoint, stats) -> System.out.printf(
+                "  %-40s %7d req  p50 %7.2f  p99 %8.2f  max %8.2f ms  errors %d  skipped %d%n",
+                endpoint, stats.count(), stats.p50(), stats.p99(), stats.max(), stats.errors(),
+                stats.skipped()));
+    }
+}
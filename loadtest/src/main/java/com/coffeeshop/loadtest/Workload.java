@@ -0,0 +1,7 @@
+package com.coffeeshop.loadtest;
+
+/** Chooses the next request. Called concurrently, so implementations must be thread-safe. */
+@FunctionalInterface
+public interface Workload {
+    Call next();
+}
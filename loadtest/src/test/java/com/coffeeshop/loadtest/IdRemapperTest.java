@@ -0,0 +1,69 @@
+package com.coffeeshop.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class IdRemapperTest {
+
+    private static final UUID ESPRESSO = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID LATTE = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    private final IdRemapper remapper = new IdRemapper(List.of(ESPRESSO, LATTE), Duration.ofSeconds(1));
+
+    @Test
+    void mapsEachCapturedProductToTheSameTargetProduct() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        String body = "{\"items\":[{\"productId\":\"" + first + "\",\"quantity\":1},"
+                + "{\"productId\":\"" + second + "\",\"quantity\":2}]}";
+
+        assertThat(remapper.rewrite(body)).isEqualTo(
+                "{\"items\":[{\"productId\":\"" + ESPRESSO + "\",\"quantity\":1},"
+                        + "{\"productId\":\"" + LATTE + "\",\"quantity\":2}]}");
+        assertThat(remapper.rewrite("/api/v1/products/" + second)).isEqualTo("/api/v1/products/" + LATTE);
+    }
+
+    @Test
+    void waitsForTheReplayedCreate() throws Exception {
+        UUID captured = UUID.randomUUID();
+        UUID replayed = UUID.randomUUID();
+        CompletableFuture<UUID> created = remapper.expect(captured);
+
+        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS)
+                .execute(() -> created.complete(replayed));
+
+        assertThat(remapper.rewrite("/api/v1/orders/" + captured + "/pay?x=1"))
+                .isEqualTo("/api/v1/orders/" + replayed + "/pay?x=1");
+    }
+
+    @Test
+    void ordersFromBeforeTheCaptureAreUnmapped() {
+        assertThatThrownBy(() -> remapper.rewrite("/api/v1/orders/" + UUID.randomUUID()))
+                .isInstanceOf(IdRemapper.UnmappedIdException.class);
+    }
+
+    @Test
+    void failedCreatesAreUnmapped() {
+        UUID captured = UUID.randomUUID();
+        remapper.expect(captured).completeExceptionally(new IllegalStateException());
+
+        assertThatThrownBy(() -> remapper.rewrite("/api/v1/orders/" + captured + "/cancel"))
+                .isInstanceOf(IdRemapper.UnmappedIdException.class);
+    }
+
+    @Test
+    void groupsEndpointsWithoutIdsOrQuery() {
+        CapturedRequest request = new CapturedRequest(
+                1, 0, 0, "POST", "/api/v1/orders/" + UUID.randomUUID() + "/pay?source=app", null, null,
+                false, false, 200, 1000, null);
+
+        assertThat(TrafficReplay.endpoint(request)).isEqualTo("POST /api/v1/orders/{id}/pay");
+    }
+}
@@ -0,0 +1,83 @@
+package com.coffeeshop.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class LoadGeneratorTest {
+
+    private static final Workload SLOW = () -> new Call("slow", () -> Thread.sleep(100));
+
+    @Test
+    void closedLoopSendsOnlyAsFastAsResponsesReturn() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        long elapsed = LoadGenerator.closedLoop(SLOW, 2, Duration.ofMillis(500), recorder);
+
+        OperationStats stats = recorder.summarize(elapsed).get("slow");
+        assertThat(stats.count()).isBetween(8L, 12L);
+        assertThat(stats.p50()).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void openLoopKeepsTheScheduleWhenResponsesAreSlow() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        LoadGenerator.openLoop(
+                SLOW, Rate.constant(200), Duration.ofMillis(500), 1_000, recorder);
+
+        OperationStats stats = recorder.summarize(1).get("slow");
+        assertThat(stats.count()).isBetween(90L, 101L);
+        assertThat(stats.skipped()).isZero();
+    }
+
+    @Test
+    void openLoopMeasuresFromTheIntendedStartWhenRequestsAreHeldBack() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        // One request in flight at a time: due requests are skipped instead of silently delayed
+        LoadGenerator.openLoop(SLOW, Rate.constant(100), Duration.ofMillis(500), 1, recorder);
+
+        OperationStats stats = recorder.summarize(1).get("slow");
+        assertThat(stats.count()).isBetween(4L, 6L);
+        assertThat(stats.skipped()).isGreaterThan(35);
+    }
+
+    @Test
+    void countsFailuresAsErrors() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        Workload failing = () -> new Call("failing", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        LoadGenerator.openLoop(failing, Rate.constant(100), Duration.ofMillis(100), 10, recorder);
+
+        Map<String, OperationStats> stats = recorder.summarize(1);
+        assertThat(stats.get("failing").errors()).isEqualTo(stats.get("failing").count());
+    }
+
+    @Test
+    void countsShedRequestsAsRejections() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        URI uri = URI.create("http://localhost/api/v1/orders");
+        Workload mixed = new Workload() {
+            private int sent;
+
+            @Override
+            public Call next() {
+                int status = sent++ % 3 == 0 ? 500 : 429;
+                return new Call("orders", () -> {
+                    throw new HttpStatusException(status, uri);
+                });
+            }
+        };
+
+        LoadGenerator.openLoop(mixed, Rate.constant(100), Duration.ofMillis(300), 10, recorder);
+
+        OperationStats stats = recorder.summarize(1).get("orders");
+        assertThat(recorder.rejected()).isPositive().isLessThan(stats.errors());
+    }
+}
@@ -0,0 +1,37 @@
+package com.coffeeshop.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ScenarioRunnerTest {
+
+    @Test
+    void acceptsRunsWithFewRejections() {
+        LatencyRecorder recorder = recorded(1_000, 5);
+
+        assertThatCode(() -> ScenarioRunner.requireFewRejections(recorder, 0.01)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void failsRunsThatMostlyMeasuredTheLimiters() {
+        LatencyRecorder recorder = recorded(1_000, 300);
+
+        assertThatThrownBy(() -> ScenarioRunner.requireFewRejections(recorder, 0.01))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("300 of 1000 requests")
+                .hasMessageContaining("bench");
+    }
+
+    private static LatencyRecorder recorded(int requests, int rejected) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 0; i < requests; i++) {
+            recorder.record("menu", 1_000_000, i >= rejected);
+            if (i < rejected) {
+                recorder.recordRejected();
+            }
+        }
+        return recorder;
+    }
+}
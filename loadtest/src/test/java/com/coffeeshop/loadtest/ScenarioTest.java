@@ -0,0 +1,80 @@
+package com.coffeeshop.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ScenarioTest {
+
+    private static final String OPENING = """
+            name: opening
+            accounts:
+              - email: user@local
+                password: secret
+            load:
+              stages:
+                - duration: 10s
+                  from: 10
+                  to: 110
+                - duration: 20s
+                - duration: 10s
+                  to: 0
+            mix:
+              browseMenu: 3
+              createOrder: 1
+            """;
+
+    @Test
+    void rampsLinearlyWithinAndAcrossStages() throws Exception {
+        Scenario scenario = Scenario.parse(OPENING);
+        Rate rate = scenario.rate();
+
+        assertThat(scenario.load().isOpen()).isTrue();
+        assertThat(scenario.totalDuration()).isEqualTo(Duration.ofSeconds(40));
+        assertThat(rate.perSecondAt(Duration.ZERO)).isEqualTo(10);
+        assertThat(rate.perSecondAt(Duration.ofSeconds(5))).isCloseTo(60, within(1e-9));
+        assertThat(rate.perSecondAt(Duration.ofSeconds(25))).isCloseTo(110, within(1e-9));
+        assertThat(rate.perSecondAt(Duration.ofSeconds(35))).isCloseTo(55, within(1e-9));
+        assertThat(rate.perSecondAt(Duration.ofSeconds(45))).isZero();
+    }
+
+    @Test
+    void picksOperationsByCumulativeWeight() throws Exception {
+        Scenario scenario = Scenario.parse(OPENING);
+        ScenarioWorkload workload = new ScenarioWorkload(
+                null, scenario, new String[] {"token"}, null, List.of(UUID.randomUUID()));
+
+        assertThat(workload.pick(0)).isEqualTo(ScenarioOperation.BROWSE_MENU);
+        assertThat(workload.pick(2.99)).isEqualTo(ScenarioOperation.BROWSE_MENU);
+        assertThat(workload.pick(3)).isEqualTo(ScenarioOperation.CREATE_ORDER);
+        assertThat(workload.pick(3.99)).isEqualTo(ScenarioOperation.CREATE_ORDER);
+    }
+
+    @Test
+    void rejectsUnknownOperations() {
+        assertThatThrownBy(() -> Scenario.parse(OPENING.replace("createOrder", "refund")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("refund");
+    }
+
+    @Test
+    void restockNeedsAnAdminAccount() {
+        assertThatThrownBy(() -> Scenario.parse(OPENING.replace("createOrder", "restock")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("admin");
+    }
+
+    @Test
+    void closedLoopStagesNeedUsers() {
+        String closed = OPENING.replace("load:\n", "load:\n  type: closed\n");
+
+        assertThatThrownBy(() -> Scenario.parse(closed))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("users");
+    }
+}
@@ -0,0 +1,45 @@
+package com.coffeeshop.api.controller;
+
+import com.coffeeshop.application.dto.OrderDto;
+import com.coffeeshop.application.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactor variant of {@code GET /api/v1/orders/{id}}, used by the {@code reactive} mode of the
+ * mode comparison in {@code loadtest/}. The request thread is released while the order is
+ * loaded; because JPA is blocking, the load runs on Reactor's bounded elastic scheduler, as it
+ * would in a WebFlux application without R2DBC.
+ *
+ * <p>Only compiled with the {@code reactive-bench} Maven profile, and only registered when
+ * {@code app.bench.reactive-reads=true}.
+ */
+@RestController
+@RequestMapping("/api/v1/reactive/orders")
+@ConditionalOnProperty(name = "app.bench.reactive-reads", havingValue = "true")
+@SecurityRequirement(name = "bearer-jwt")
+@Tag(name = "Orders (reactive)", description = "Reactive order read path for benchmarks")
+public class ReactiveOrderController {
+    private final OrderService orderService;
+    private final Scheduler scheduler = Schedulers.boundedElastic();
+
+    public ReactiveOrderController(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get order by ID", description = "Reactive variant of GET /orders/{id}")
+    public Mono<OrderDto> getOrder(@PathVariable UUID id) {
+        return Mono.fromCallable(() -> orderService.getOrder(id)).subscribeOn(scheduler);
+    }
+}
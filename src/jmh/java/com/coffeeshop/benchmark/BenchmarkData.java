@@ -0,0 +1,35 @@
+package com.coffeeshop.benchmark;
+
+import com.coffeeshop.domain.order.Order;
+import com.coffeeshop.domain.order.OrderItem;
+import com.coffeeshop.domain.product.Product;
+import com.coffeeshop.domain.shared.Money;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/** Deterministic fixtures shared by the suites. */
+final class BenchmarkData {
+    private BenchmarkData() {}
+
+    static List<OrderItem> items(int count) {
+        List<OrderItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(OrderItem.create(
+                    new UUID(0L, i),
+                    "Product " + i,
+                    Money.ofMinorUnits(250L + i * 35L),
+                    1 + i % 4));
+        }
+        return items;
+    }
+
+    static Order order(int itemCount) {
+        return Order.create("customer@coffee-shop.com", items(itemCount));
+    }
+
+    static Product product(int i) {
+        return new Product(
+                new UUID(1L, i), "Product " + i, "SKU-" + i, Money.ofMinorUnits(450L + i), 100);
+    }
+}
@@ -0,0 +1,65 @@
+package com.coffeeshop.benchmark;
+
+import com.coffeeshop.infrastructure.security.JwtTokenProvider;
+import com.coffeeshop.infrastructure.security.VerifiedToken;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Token signing, full HMAC validation, and {@code verify} once the token is in the verified-token
+ * cache, which is what repeated requests with the same token pay.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class JwtBenchmark {
+    private static final String SECRET =
+            "benchmark-secret-key-that-is-long-enough-for-hmac-sha-256-signatures";
+
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 3_600_000L, 10_000L);
+        authentication = new UsernamePasswordAuthenticationToken(
+                "customer@coffee-shop.com",
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+        token = tokenProvider.generateToken(authentication);
+        tokenProvider.verify(token);
+    }
+
+    @Benchmark
+    public String generate() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyCached() {
+        return tokenProvider.verify(token);
+    }
+}
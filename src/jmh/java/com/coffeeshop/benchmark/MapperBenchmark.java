@@ -0,0 +1,54 @@
+package com.coffeeshop.benchmark;
+
+import com.coffeeshop.application.dto.OrderDto;
+import com.coffeeshop.application.dto.ProductDto;
+import com.coffeeshop.application.mapper.OrderMapper;
+import com.coffeeshop.application.mapper.ProductMapper;
+import com.coffeeshop.domain.order.Order;
+import com.coffeeshop.domain.product.Product;
+import java.util.concurrent.TimeUnit;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** The generated MapStruct implementations, as the services call them. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class MapperBenchmark {
+    @Param({"1", "5", "20"})
+    private int itemCount;
+
+    private final OrderMapper orderMapper = Mappers.getMapper(OrderMapper.class);
+    private final ProductMapper productMapper = Mappers.getMapper(ProductMapper.class);
+    private Order order;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkData.order(itemCount);
+        product = BenchmarkData.product(1);
+    }
+
+    @Benchmark
+    public OrderDto orderToDto() {
+        return orderMapper.toDto(order);
+    }
+
+    @Benchmark
+    public ProductDto productToDto() {
+        return productMapper.toDto(product);
+    }
+}
@@ -0,0 +1,47 @@
+package com.coffeeshop.benchmark;
+
+import com.coffeeshop.domain.shared.Money;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class MoneyBenchmark {
+    private Money price = Money.of("4.50");
+    private Money tip = Money.of("0.75");
+    private BigDecimal amount = new BigDecimal("12.345");
+    private int quantity = 3;
+
+    @Benchmark
+    public Money add() {
+        return price.add(tip);
+    }
+
+    @Benchmark
+    public Money multiply() {
+        return price.multiply(quantity);
+    }
+
+    @Benchmark
+    public Money fromBigDecimal() {
+        return Money.of(amount);
+    }
+
+    @Benchmark
+    public BigDecimal toBigDecimal() {
+        return price.amount();
+    }
+}
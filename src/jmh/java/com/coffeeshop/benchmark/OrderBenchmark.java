@@ -0,0 +1,49 @@
+package com.coffeeshop.benchmark;
+
+import com.coffeeshop.domain.order.Order;
+import com.coffeeshop.domain.order.OrderItem;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** {@code Order.create} computes the total; {@code verifyTotal} recomputes it from the items. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class OrderBenchmark {
+    @Param({"1", "5", "20"})
+    private int itemCount;
+
+    private List<OrderItem> items;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkData.items(itemCount);
+        order = BenchmarkData.order(itemCount);
+    }
+
+    @Benchmark
+    public Order create() {
+        return Order.create("customer@coffee-shop.com", items);
+    }
+
+    @Benchmark
+    public Order calculateTotal() {
+        order.verifyTotal();
+        return order;
+    }
+}
@@ -0,0 +1,46 @@
+package com.coffeeshop.benchmark;
+
+import com.coffeeshop.domain.order.Order;
+import com.coffeeshop.infrastructure.persistence.entity.OrderEntity;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class OrderEntityBenchmark {
+    @Param({"1", "5", "20"})
+    private int itemCount;
+
+    private Order order;
+    private OrderEntity entity;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkData.order(itemCount);
+        entity = OrderEntity.fromDomain(order);
+    }
+
+    @Benchmark
+    public OrderEntity fromDomain() {
+        return OrderEntity.fromDomain(order);
+    }
+
+    @Benchmark
+    public Order toDomain() {
+        return entity.toDomain();
+    }
+}
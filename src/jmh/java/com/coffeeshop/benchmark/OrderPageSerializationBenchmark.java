@@ -0,0 +1,60 @@
+package com.coffeeshop.benchmark;
+
+import com.coffeeshop.application.dto.OrderDto;
+import com.coffeeshop.application.mapper.OrderMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+/** Serializes a page of orders the way {@code GET /api/v1/orders} returns it. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class OrderPageSerializationBenchmark {
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<OrderDto> page;
+
+    @Setup
+    public void setUp() {
+        // Same settings as the application's Spring Boot-configured mapper
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        OrderMapper orderMapper = Mappers.getMapper(OrderMapper.class);
+        List<OrderDto> orders = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            orders.add(orderMapper.toDto(BenchmarkData.order(3)));
+        }
+        page = new PageImpl<>(orders, PageRequest.of(0, pageSize), 10_000L);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -2,7 +2,9 @@ package com.coffeeshop.api.controller;
 
 import com.coffeeshop.api.dto.JwtResponse;
 import com.coffeeshop.api.dto.LoginRequest;
+import com.coffeeshop.api.dto.RefreshTokenRequest;
 import com.coffeeshop.infrastructure.security.JwtTokenProvider;
+import com.coffeeshop.infrastructure.security.RefreshTokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -20,14 +22,18 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenService refreshTokenService;
 
     @Value("${security.jwt.expiration}")
     private long jwtExpirationMs;
 
     public AuthController(
-            AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider) {
+            AuthenticationManager authenticationManager,
+            JwtTokenProvider tokenProvider,
+            RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping("/login")
@@ -38,10 +44,25 @@ public class AuthController {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String token = tokenProvider.generateToken(authentication);
+        String refreshToken = refreshTokenService.issue(authentication.getName());
 
-        return ResponseEntity.ok(JwtResponse.of(token, jwtExpirationMs));
+        return ResponseEntity.ok(JwtResponse.of(token, refreshToken, jwtExpirationMs));
     }
-}
-
 
+    @PostMapping("/refresh")
+    @Operation(
+            summary = "Refresh access token",
+            description = "Exchange a refresh token for a new access token and a rotated refresh token")
+    public ResponseEntity<JwtResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        RefreshTokenService.IssuedTokens tokens = refreshTokenService.refresh(request.refreshToken());
+        return ResponseEntity.ok(
+                JwtResponse.of(tokens.accessToken(), tokens.refreshToken(), jwtExpirationMs));
+    }
 
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke a refresh token and every token rotated from it")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.coffeeshop.api.controller;
+
+import com.coffeeshop.api.dto.DeviceKeyResponse;
+import com.coffeeshop.api.dto.RegisterDeviceRequest;
+import com.coffeeshop.infrastructure.security.DeviceCredentialService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/devices")
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "bearer-jwt")
+@Tag(name = "Devices", description = "Device API key management (Admin only)")
+public class DeviceController {
+    private final DeviceCredentialService deviceCredentialService;
+
+    public DeviceController(DeviceCredentialService deviceCredentialService) {
+        this.deviceCredentialService = deviceCredentialService;
+    }
+
+    @PostMapping
+    @Operation(
+            summary = "Register device",
+            description = "Create an API key for a POS terminal. The key is only returned once.")
+    public ResponseEntity<DeviceKeyResponse> registerDevice(
+            @Valid @RequestBody RegisterDeviceRequest request) {
+        DeviceCredentialService.RegisteredDevice device =
+                deviceCredentialService.register(request.name(), request.scopes());
+        return ResponseEntity.status(HttpStatus.CREATED).body(DeviceKeyResponse.of(device));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Revoke device", description = "Revoke a device API key")
+    public ResponseEntity<Void> revokeDevice(@PathVariable UUID id) {
+        deviceCredentialService.revoke(id);
+        return ResponseEntity.noContent().build();
+    }
+}
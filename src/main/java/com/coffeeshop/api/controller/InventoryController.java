@@ -0,0 +1,34 @@
+package com.coffeeshop.api.controller;
+
+import com.coffeeshop.application.dto.LowStockProductDto;
+import com.coffeeshop.application.service.LowStockMonitor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/inventory")
+@Tag(name = "Inventory", description = "Inventory monitoring endpoints")
+public class InventoryController {
+    private final LowStockMonitor lowStockMonitor;
+
+    public InventoryController(LowStockMonitor lowStockMonitor) {
+        this.lowStockMonitor = lowStockMonitor;
+    }
+
+    @GetMapping("/low-stock")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(
+            summary = "Get low stock products",
+            description = "Products currently below the low-stock threshold, served from memory (Admin only)")
+    public ResponseEntity<List<LowStockProductDto>> getLowStockProducts() {
+        return ResponseEntity.ok(lowStockMonitor.getLowStockProducts());
+    }
+}
@@ -2,12 +2,16 @@ package com.coffeeshop.api.controller;
 
 import com.coffeeshop.application.dto.CreateOrderRequest;
 import com.coffeeshop.application.dto.OrderDto;
+import com.coffeeshop.application.exception.BusinessException;
 import com.coffeeshop.application.service.OrderService;
+import com.coffeeshop.domain.order.OrderSearchCriteria;
 import com.coffeeshop.domain.order.OrderStatus;
+import com.coffeeshop.domain.shared.Money;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
@@ -51,30 +55,31 @@ public class OrderController {
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
-            summary = "Get all orders",
+            summary = "Search orders",
             description =
-                    "Retrieve all orders with pagination, sorting, and filtering (Admin only)")
+                    "Retrieve orders matching every given filter, with pagination and sorting by"
+                            + " createdAt or totalAmount (Admin only)")
     public ResponseEntity<Page<OrderDto>> getAllOrders(
             @RequestParam(required = false) OrderStatus status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
                     Instant dateFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
                     Instant dateTo,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) BigDecimal minTotal,
+            @RequestParam(required = false) BigDecimal maxTotal,
+            @RequestParam(required = false) UUID productId,
             @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC)
                     Pageable pageable) {
-        Page<OrderDto> orders;
-
-        if (status != null && dateFrom != null && dateTo != null) {
-            orders = orderService.getOrdersByDateRange(dateFrom, dateTo, pageable);
-        } else if (status != null) {
-            orders = orderService.getOrdersByStatus(status, pageable);
-        } else if (dateFrom != null && dateTo != null) {
-            orders = orderService.getOrdersByDateRange(dateFrom, dateTo, pageable);
-        } else {
-            orders = orderService.getAllOrders(pageable);
-        }
-
-        return ResponseEntity.ok(orders);
+        OrderSearchCriteria criteria = new OrderSearchCriteria(
+                status,
+                dateFrom,
+                dateTo,
+                customerId,
+                money("minTotal", minTotal),
+                money("maxTotal", maxTotal),
+                productId);
+        return ResponseEntity.ok(orderService.searchOrders(criteria, pageable));
     }
 
     @PostMapping("/{id}/pay")
@@ -90,7 +95,14 @@ public class OrderController {
         OrderDto order = orderService.cancelOrder(id);
         return ResponseEntity.ok(order);
     }
-}
-
-
 
+    private static Money money(String parameter, BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        if (amount.signum() < 0) {
+            throw new BusinessException(parameter + " cannot be negative", "INVALID_FILTER");
+        }
+        return Money.of(amount);
+    }
+}
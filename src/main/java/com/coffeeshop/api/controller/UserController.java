@@ -0,0 +1,50 @@
+package com.coffeeshop.api.controller;
+
+import com.coffeeshop.api.dto.UpdateRolesRequest;
+import com.coffeeshop.infrastructure.security.UserAccountService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/users")
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "bearer-jwt")
+@Tag(name = "Users", description = "User account management (Admin only)")
+public class UserController {
+    private final UserAccountService userAccountService;
+
+    public UserController(UserAccountService userAccountService) {
+        this.userAccountService = userAccountService;
+    }
+
+    @PostMapping("/{email}/enable")
+    @Operation(summary = "Enable user", description = "Allow a disabled user to log in again")
+    public ResponseEntity<Void> enableUser(@PathVariable String email) {
+        userAccountService.setEnabled(email, true);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{email}/disable")
+    @Operation(
+            summary = "Disable user",
+            description = "Reject the user's logins, token refreshes and access tokens on every node")
+    public ResponseEntity<Void> disableUser(@PathVariable String email) {
+        userAccountService.setEnabled(email, false);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/{email}/roles")
+    @Operation(
+            summary = "Update roles",
+            description = "Replace the user's roles; access tokens issued before the change stop working")
+    public ResponseEntity<Void> updateRoles(
+            @PathVariable String email, @Valid @RequestBody UpdateRolesRequest request) {
+        userAccountService.updateRoles(email, request.roles());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,12 @@
+package com.coffeeshop.api.dto;
+
+import com.coffeeshop.infrastructure.security.DeviceCredentialService.RegisteredDevice;
+import java.util.Set;
+import java.util.UUID;
+
+public record DeviceKeyResponse(UUID id, String name, Set<String> scopes, String apiKey) {
+    public static DeviceKeyResponse of(RegisteredDevice device) {
+        return new DeviceKeyResponse(
+                device.id(), device.deviceName(), device.scopes(), device.apiKey());
+    }
+}
@@ -0,0 +1,6 @@
+package com.coffeeshop.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+        @NotBlank(message = "Refresh token is required") String refreshToken) {}
@@ -0,0 +1,10 @@
+package com.coffeeshop.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.Set;
+
+public record RegisterDeviceRequest(
+        @NotBlank(message = "Device name is required") @Size(max = 100) String name,
+        @NotEmpty(message = "At least one scope is required") Set<String> scopes) {}
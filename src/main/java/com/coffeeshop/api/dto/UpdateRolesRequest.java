@@ -0,0 +1,9 @@
+package com.coffeeshop.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import java.util.Set;
+
+public record UpdateRolesRequest(
+        @NotEmpty(message = "At least one role is required")
+                Set<@Pattern(regexp = "USER|ADMIN", message = "Role must be USER or ADMIN") String> roles) {}
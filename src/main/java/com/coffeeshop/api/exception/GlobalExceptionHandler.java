@@ -3,11 +3,13 @@ package com.coffeeshop.api.exception;
 import com.coffeeshop.application.exception.BusinessException;
 import com.coffeeshop.application.exception.InsufficientStockException;
 import com.coffeeshop.application.exception.ResourceNotFoundException;
+import com.coffeeshop.infrastructure.security.PasswordHashingRejectedException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -104,9 +106,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingRejectedException(
+            PasswordHashingRejectedException ex, HttpServletRequest request) {
+        log.warn("Login rejected: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.of(
+                PROBLEM_TYPE_BASE + "login-capacity-exceeded",
+                "Service Unavailable",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Too many login attempts in progress. Please retry shortly.",
+                request.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<ErrorResponse> handleAuthenticationException(
             AuthenticationException ex, HttpServletRequest request) {
+        // The provider wraps failures raised while looking up the user, including a saturated
+        // hashing pool during its timing-attack mitigation
+        if (ex.getCause() instanceof PasswordHashingRejectedException rejected) {
+            return handlePasswordHashingRejectedException(rejected, request);
+        }
+
         log.error("Authentication error: {}", ex.getMessage());
 
         ErrorResponse error = ErrorResponse.of(
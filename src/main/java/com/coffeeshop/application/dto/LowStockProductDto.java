@@ -0,0 +1,12 @@
+package com.coffeeshop.application.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record LowStockProductDto(
+        UUID productId,
+        String name,
+        String sku,
+        int stockQuantity,
+        int threshold,
+        Instant detectedAt) {}
@@ -0,0 +1,48 @@
+package com.coffeeshop.application.event;
+
+import com.coffeeshop.domain.product.StockLowEvent;
+import com.coffeeshop.domain.purchasing.RestockRequestRepository;
+import com.coffeeshop.domain.shared.DomainEventHandler;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queues low-stock products for the auto-restock run in
+ * {@link com.coffeeshop.application.service.InventoryService}. Duplicate events for a product
+ * collapse onto its single queue entry.
+ */
+@Component
+public class AutoRestockEventHandler implements DomainEventHandler<StockLowEvent> {
+    private static final Logger log = LoggerFactory.getLogger(AutoRestockEventHandler.class);
+
+    private final RestockRequestRepository restockRequestRepository;
+
+    public AutoRestockEventHandler(RestockRequestRepository restockRequestRepository) {
+        this.restockRequestRepository = restockRequestRepository;
+    }
+
+    @Override
+    public Class<StockLowEvent> eventType() {
+        return StockLowEvent.class;
+    }
+
+    @Override
+    public void handle(StockLowEvent event) {
+        handleBatch(List.of(event));
+    }
+
+    @Override
+    public void handleBatch(List<StockLowEvent> events) {
+        Set<UUID> productIds = new LinkedHashSet<>();
+        for (StockLowEvent event : events) {
+            productIds.add(event.productId());
+        }
+        restockRequestRepository.request(productIds);
+        log.info("Queued {} products for auto-restock", productIds.size());
+    }
+}
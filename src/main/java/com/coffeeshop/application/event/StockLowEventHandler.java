@@ -1,17 +1,22 @@
 package com.coffeeshop.application.event;
 
 import com.coffeeshop.domain.product.StockLowEvent;
+import com.coffeeshop.domain.shared.DomainEventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 @Component
-public class StockLowEventHandler {
+public class StockLowEventHandler implements DomainEventHandler<StockLowEvent> {
     private static final Logger log = LoggerFactory.getLogger(StockLowEventHandler.class);
 
-    @EventListener
-    public void handleStockLowEvent(StockLowEvent event) {
+    @Override
+    public Class<StockLowEvent> eventType() {
+        return StockLowEvent.class;
+    }
+
+    @Override
+    public void handle(StockLowEvent event) {
         log.warn(
                 "ALERT: Low stock detected for product: {} (ID: {}). Current stock: {}, Threshold: {}",
                 event.productName(),
@@ -21,11 +26,7 @@ public class StockLowEventHandler {
 
         // In a real application, this could:
         // - Send email notification
-        // - Create purchase order
         // - Update inventory management system
-        // - Trigger auto-restock workflow
+        // Restocking itself is handled by AutoRestockEventHandler.
     }
 }
-
-
-
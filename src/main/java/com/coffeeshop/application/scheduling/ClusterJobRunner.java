@@ -0,0 +1,27 @@
+package com.coffeeshop.application.scheduling;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Runs scheduled work at most once across the cluster.
+ *
+ * <p>Scheduled methods fire on every node; wrapping their body in {@link #runExclusive} makes only
+ * the node holding the job's lease run it, and never twice at the same time on one node.
+ */
+public interface ClusterJobRunner {
+    /**
+     * Runs {@code job} if this node can take the lease for {@code jobName}.
+     *
+     * @return false if the job was skipped because it is already running here or elsewhere
+     */
+    boolean runExclusive(String jobName, Runnable job);
+
+    /**
+     * Splits a job into {@code partitions} independently leased parts, so that nodes firing at
+     * the same time share the work. {@code partitionJob} receives the partition number, from
+     * {@code 0} to {@code partitions - 1}.
+     *
+     * @return the number of partitions run by this node
+     */
+    int runPartitioned(String jobName, int partitions, IntConsumer partitionJob);
+}
@@ -1,13 +1,24 @@
 package com.coffeeshop.application.service;
 
+import com.coffeeshop.application.scheduling.ClusterJobRunner;
 import com.coffeeshop.domain.product.Product;
 import com.coffeeshop.domain.product.ProductRepository;
-import com.coffeeshop.domain.product.StockLowEvent;
+import com.coffeeshop.domain.purchasing.PurchaseOrder;
+import com.coffeeshop.domain.purchasing.PurchaseOrderLine;
+import com.coffeeshop.domain.purchasing.PurchaseOrderRepository;
+import com.coffeeshop.domain.purchasing.RestockRequestRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,57 +26,118 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class InventoryService {
     private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
 
     private final ProductRepository productRepository;
-    private final ApplicationEventPublisher eventPublisher;
-
-    @Value("${app.inventory.low-stock-threshold}")
-    private int lowStockThreshold;
+    private final LowStockMonitor lowStockMonitor;
+    private final RestockRequestRepository restockRequestRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final ClusterJobRunner clusterJobRunner;
+    private final AtomicBoolean initialized = new AtomicBoolean();
 
     @Value("${app.inventory.restock-amount}")
     private int restockAmount;
 
+    @Value("${app.inventory.auto-restock.window:30s}")
+    private Duration autoRestockWindow;
+
+    @Value("${app.inventory.auto-restock.batch-size:500}")
+    private int autoRestockBatchSize;
+
+    @Value("${app.inventory.reconcile-chunk-size:500}")
+    private int reconcileChunkSize;
+
     public InventoryService(
-            ProductRepository productRepository, ApplicationEventPublisher eventPublisher) {
+            ProductRepository productRepository,
+            LowStockMonitor lowStockMonitor,
+            RestockRequestRepository restockRequestRepository,
+            PurchaseOrderRepository purchaseOrderRepository,
+            ClusterJobRunner clusterJobRunner) {
         this.productRepository = productRepository;
-        this.eventPublisher = eventPublisher;
+        this.lowStockMonitor = lowStockMonitor;
+        this.restockRequestRepository = restockRequestRepository;
+        this.purchaseOrderRepository = purchaseOrderRepository;
+        this.clusterJobRunner = clusterJobRunner;
     }
 
-    @Scheduled(cron = "${app.scheduler.restock-check-cron}")
-    @Transactional
-    public void checkLowStockProducts() {
-        log.info("Running scheduled low stock check with threshold: {}", lowStockThreshold);
-
-        List<Product> lowStockProducts = productRepository.findLowStockProducts(lowStockThreshold);
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLowStockView() {
+        reconcile();
+        initialized.set(true);
+    }
 
-        if (lowStockProducts.isEmpty()) {
-            log.info("No low stock products found");
+    /**
+     * Safety net for the live detection in {@link LowStockMonitor}: rebuilds the low-stock view
+     * from the database and announces products that went low without being seen. Every node
+     * rebuilds its own view; the node holding the job lease also announces, and the announced
+     * flag on each product keeps it from repeating crossings other nodes already published.
+     */
+    @Scheduled(cron = "${app.scheduler.low-stock-reconcile-cron}")
+    public void checkLowStockProducts() {
+        if (!initialized.get()) {
             return;
         }
+        reconcile();
+        clusterJobRunner.runExclusive("low-stock-reconcile", lowStockMonitor::announceMissed);
+    }
 
-        log.warn("Found {} products with low stock", lowStockProducts.size());
+    private void reconcile() {
+        int threshold = lowStockMonitor.getThreshold();
+        log.info("Reconciling low stock view with threshold: {}", threshold);
 
-        for (Product product : lowStockProducts) {
-            StockLowEvent event = StockLowEvent.of(product, lowStockThreshold);
-            eventPublisher.publishEvent(event);
-            log.warn(
-                    "Published StockLowEvent for product: {} (current: {}, threshold: {})",
-                    product.getName(),
-                    product.getStockQuantity(),
-                    lowStockThreshold);
-        }
+        List<Product> lowStockProducts = new ArrayList<>();
+        UUID afterId = LOWEST_ID;
+        List<Product> chunk;
+        do {
+            chunk = productRepository.findLowStockProducts(threshold, afterId, reconcileChunkSize);
+            lowStockProducts.addAll(chunk);
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == reconcileChunkSize);
+
+        lowStockMonitor.reconcile(lowStockProducts);
     }
 
+    /**
+     * Restocks products queued by {@link com.coffeeshop.application.event.AutoRestockEventHandler}.
+     *
+     * <p>Requests younger than the coalescing window are left for the next run so that products
+     * going low together share one purchase order. Stock is only added to products that are still
+     * below the threshold, so a repeated event or a manual restock in the meantime cannot restock
+     * twice. Requests are deleted in the same transaction as the stock update.
+     *
+     * @return the number of products restocked
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.auto-restock.window:30s}")
     @Transactional
-    public void autoRestock(Product product) {
-        log.info(
-                "Auto-restocking product: {} with {} units",
-                product.getName(),
-                restockAmount);
-        product.restock(restockAmount);
-        productRepository.save(product);
-    }
-}
+    public int autoRestock() {
+        List<UUID> requested = restockRequestRepository.claimDue(
+                Instant.now().minus(autoRestockWindow), autoRestockBatchSize);
+        if (requested.isEmpty()) {
+            return 0;
+        }
 
+        Map<UUID, Integer> restocked = productRepository.restockBelowThreshold(
+                requested, restockAmount, lowStockMonitor.getThreshold());
+        restockRequestRepository.delete(requested);
+        if (restocked.isEmpty()) {
+            log.info("{} restock requests were already satisfied", requested.size());
+            return 0;
+        }
 
+        List<PurchaseOrderLine> lines = restocked.keySet().stream()
+                .map(productId -> new PurchaseOrderLine(productId, restockAmount))
+                .toList();
+        PurchaseOrder purchaseOrder = PurchaseOrder.create(lines);
+        purchaseOrderRepository.save(purchaseOrder);
+        lowStockMonitor.stockRestored(restocked);
 
+        log.info(
+                "Auto-restocked {} products by {} units in purchase order {}",
+                restocked.size(),
+                restockAmount,
+                purchaseOrder.id());
+        return restocked.size();
+    }
+}
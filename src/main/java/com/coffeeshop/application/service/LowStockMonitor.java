@@ -0,0 +1,199 @@
+package com.coffeeshop.application.service;
+
+import com.coffeeshop.application.dto.LowStockProductDto;
+import com.coffeeshop.domain.product.Product;
+import com.coffeeshop.domain.product.ProductRepository;
+import com.coffeeshop.domain.product.StockLowEvent;
+import com.coffeeshop.domain.shared.DomainEventPublisher;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the set of products below the low-stock threshold in memory and publishes a
+ * {@link StockLowEvent} when a product's stock crosses below the threshold.
+ *
+ * <p>Stock changes are reported by the services that make them. The event for a crossing is
+ * published inside the reporting transaction, so it is stored in the outbox only if the change
+ * commits; the in-memory view is updated after commit. A product leaves the view when stock goes
+ * back to the threshold. {@link InventoryService} periodically reconciles the view with the
+ * database to pick up changes made by other nodes or outside the application.
+ *
+ * <p>Whether a product's current low stock has been announced is kept on its row, set in the
+ * transaction that publishes and cleared when stock recovers. Live detection on any node and the
+ * periodic {@link #announceMissed()} both claim that flag first, so each crossing is announced
+ * once across the cluster.
+ */
+@Service
+public class LowStockMonitor {
+    private static final Logger log = LoggerFactory.getLogger(LowStockMonitor.class);
+
+    private final DomainEventPublisher eventPublisher;
+    private final ProductRepository productRepository;
+    private final int threshold;
+    private final Map<UUID, LowStockProductDto> lowStock = new ConcurrentHashMap<>();
+
+    public LowStockMonitor(
+            DomainEventPublisher eventPublisher,
+            ProductRepository productRepository,
+            @Value("${app.inventory.low-stock-threshold}") int threshold) {
+        this.eventPublisher = eventPublisher;
+        this.productRepository = productRepository;
+        this.threshold = threshold;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Records a stock change of {@code product}, whose quantity was {@code previousQuantity}
+     * before the change.
+     */
+    public void stockChanged(Product product, int previousQuantity) {
+        LowStockProductDto snapshot = snapshot(product);
+        if (previousQuantity >= threshold && product.isLowStock(threshold)) {
+            if (productRepository.markLowStockAnnounced(product.getId())) {
+                publish(snapshot);
+            }
+        } else if (previousQuantity < threshold && !product.isLowStock(threshold)) {
+            productRepository.clearLowStockAnnounced(List.of(product.getId()));
+        }
+        runAfterCommit(() -> apply(snapshot));
+    }
+
+    /** Records new stock levels of products restocked in bulk, keyed by product id. */
+    public void stockRestored(Map<UUID, Integer> newQuantities) {
+        List<UUID> recovered = newQuantities.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!recovered.isEmpty()) {
+            productRepository.clearLowStockAnnounced(recovered);
+        }
+        runAfterCommit(() -> newQuantities.forEach((productId, quantity) -> {
+            if (quantity >= threshold) {
+                lowStock.remove(productId);
+            } else {
+                lowStock.computeIfPresent(productId, (id, current) -> new LowStockProductDto(
+                        id, current.name(), current.sku(), quantity, threshold, current.detectedAt()));
+            }
+        }));
+    }
+
+    public List<LowStockProductDto> getLowStockProducts() {
+        return lowStock.values().stream()
+                .sorted(Comparator.comparingInt(LowStockProductDto::stockQuantity)
+                        .thenComparing(LowStockProductDto::name))
+                .toList();
+    }
+
+    /** Replaces the view with {@code currentlyLow}, read from the database. */
+    void reconcile(Collection<Product> currentlyLow) {
+        Set<UUID> seen = new HashSet<>();
+        for (Product product : currentlyLow) {
+            seen.add(product.getId());
+            LowStockProductDto snapshot = snapshot(product);
+            LowStockProductDto previous = lowStock.putIfAbsent(product.getId(), snapshot);
+            if (previous != null) {
+                lowStock.put(product.getId(), withDetectedAt(snapshot, previous.detectedAt()));
+            }
+        }
+        int before = lowStock.size();
+        lowStock.keySet().retainAll(seen);
+
+        log.info(
+                "Low stock view reconciled: {} products below {}, {} cleared",
+                seen.size(), threshold, before - lowStock.size());
+    }
+
+    /**
+     * Announces products that went low without live detection, such as stock changed outside the
+     * application, and re-arms products whose stock recovered the same way.
+     *
+     * @return the number of products announced
+     */
+    @Transactional
+    public int announceMissed() {
+        int rearmed = productRepository.clearRecoveredLowStock(threshold);
+        List<UUID> unannounced = productRepository.claimUnannouncedLowStock(threshold);
+        if (!unannounced.isEmpty()) {
+            for (Product product : productRepository.findAllById(unannounced)) {
+                publish(snapshot(product));
+            }
+        }
+        log.info("Announced {} missed low stock products, re-armed {}", unannounced.size(), rearmed);
+        return unannounced.size();
+    }
+
+    private void apply(LowStockProductDto snapshot) {
+        if (snapshot.stockQuantity() >= threshold) {
+            lowStock.remove(snapshot.productId());
+            return;
+        }
+        lowStock.merge(
+                snapshot.productId(),
+                snapshot,
+                (previous, current) -> withDetectedAt(current, previous.detectedAt()));
+    }
+
+    private void publish(LowStockProductDto snapshot) {
+        eventPublisher.publish(new StockLowEvent(
+                snapshot.productId(),
+                snapshot.name(),
+                snapshot.stockQuantity(),
+                threshold,
+                snapshot.detectedAt()));
+        log.warn(
+                "Published StockLowEvent for product: {} (current: {}, threshold: {})",
+                snapshot.name(),
+                snapshot.stockQuantity(),
+                threshold);
+    }
+
+    private LowStockProductDto snapshot(Product product) {
+        return new LowStockProductDto(
+                product.getId(),
+                product.getName(),
+                product.getSku(),
+                product.getStockQuantity(),
+                threshold,
+                Instant.now());
+    }
+
+    private static LowStockProductDto withDetectedAt(LowStockProductDto snapshot, Instant detectedAt) {
+        return new LowStockProductDto(
+                snapshot.productId(),
+                snapshot.name(),
+                snapshot.sku(),
+                snapshot.stockQuantity(),
+                snapshot.threshold(),
+                detectedAt);
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.coffeeshop.application.service;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Names and tags of the order pipeline observations. Each one becomes a timer and, when tracing
+ * is enabled, a span.
+ *
+ * <ul>
+ *   <li>{@code order.operation}: a whole {@code createOrder}, {@code payOrder} or
+ *       {@code cancelOrder} call, including its transaction.
+ *   <li>{@code order.phase}: one step of such a call, including {@code connection_acquire}, the
+ *       wait for a pooled connection.
+ * </ul>
+ *
+ * <p>Tags are limited to {@code operation} and {@code phase}, both taken from the fixed constants
+ * below, so the number of time series stays bounded.
+ */
+public final class OrderObservations {
+    public static final String OPERATION = "order.operation";
+    public static final String PHASE = "order.phase";
+
+    public static final String OPERATION_KEY = "operation";
+    public static final String PHASE_KEY = "phase";
+
+    public static final String CREATE = "create";
+    public static final String PAY = "pay";
+    public static final String CANCEL = "cancel";
+
+    public static final String LOAD_PRODUCTS = "load_products";
+    public static final String DISCOUNT = "discount";
+    public static final String SHIPPING = "shipping";
+    public static final String VALIDATE = "validate";
+    public static final String LOAD_ORDER = "load_order";
+    public static final String UPDATE_STOCK = "update_stock";
+    public static final String PERSIST = "persist";
+    public static final String MAP = "map";
+    public static final String CONNECTION_ACQUIRE = "connection_acquire";
+
+    private OrderObservations() {}
+
+    public static Observation operation(ObservationRegistry registry, String operation) {
+        return Observation.createNotStarted(OPERATION, registry)
+                .lowCardinalityKeyValue(OPERATION_KEY, operation);
+    }
+
+    /** A phase of {@code operation}, nested under {@code parent} when there is one. */
+    public static Observation phase(
+            ObservationRegistry registry, Observation parent, String operation, String phase) {
+        return Observation.createNotStarted(PHASE, registry)
+                .parentObservation(parent)
+                .lowCardinalityKeyValue(OPERATION_KEY, operation)
+                .lowCardinalityKeyValue(PHASE_KEY, phase);
+    }
+
+    /**
+     * The operation that {@code observation} belongs to, or {@code null} when it is not part of
+     * the order pipeline.
+     */
+    public static String operationOf(Observation observation) {
+        if (observation == null) {
+            return null;
+        }
+        String name = observation.getContextView().getName();
+        if (!OPERATION.equals(name) && !PHASE.equals(name)) {
+            return null;
+        }
+        KeyValue operation = observation.getContextView().getLowCardinalityKeyValue(OPERATION_KEY);
+        return operation != null ? operation.getValue() : null;
+    }
+}
@@ -1,5 +1,7 @@
 package com.coffeeshop.application.service;
 
+import static com.coffeeshop.application.service.OrderObservations.*;
+
 import com.coffeeshop.application.dto.CreateOrderRequest;
 import com.coffeeshop.application.dto.OrderDto;
 import com.coffeeshop.application.exception.BusinessException;
@@ -9,46 +11,59 @@ import com.coffeeshop.application.mapper.OrderMapper;
 import com.coffeeshop.domain.order.Order;
 import com.coffeeshop.domain.order.OrderItem;
 import com.coffeeshop.domain.order.OrderRepository;
-import com.coffeeshop.domain.order.OrderStatus;
+import com.coffeeshop.domain.order.OrderSearchCriteria;
 import com.coffeeshop.domain.product.Product;
 import com.coffeeshop.domain.product.ProductRepository;
-import java.time.Instant;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import java.util.*;
 import java.util.concurrent.StructuredTaskScope;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class OrderService {
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
+    static final Set<String> SORTABLE_PROPERTIES = Set.of("createdAt", "totalAmount");
 
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final OrderMapper orderMapper;
     private final DiscountService discountService;
     private final ShippingService shippingService;
+    private final LowStockMonitor lowStockMonitor;
+    private final ObservationRegistry observationRegistry;
 
     public OrderService(
             OrderRepository orderRepository,
             ProductRepository productRepository,
             OrderMapper orderMapper,
             DiscountService discountService,
-            ShippingService shippingService) {
+            ShippingService shippingService,
+            LowStockMonitor lowStockMonitor,
+            ObservationRegistry observationRegistry) {
         this.orderRepository = orderRepository;
         this.productRepository = productRepository;
         this.orderMapper = orderMapper;
         this.discountService = discountService;
         this.shippingService = shippingService;
+        this.lowStockMonitor = lowStockMonitor;
+        this.observationRegistry = observationRegistry;
     }
 
     /**
      * Demonstrates Virtual Threads with Structured Concurrency
      * This method runs multiple I/O-bound tasks in parallel using StructuredTaskScope
+     *
+     * <p>Every phase is observed as {@link OrderObservations#PHASE}; the forked ones are parented
+     * explicitly because observations do not follow the task onto its virtual thread.
      */
     @Transactional
     public OrderDto createOrder(CreateOrderRequest request, String customerId) {
@@ -61,24 +76,25 @@ public class OrderService {
 
         // Using Virtual Threads with Structured Concurrency
         // Run multiple tasks in parallel and wait for all to complete
+        Observation parent = observationRegistry.getCurrentObservation();
         try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
             // Fork task 1: Load products
-            var productsFuture = scope.fork(() -> {
+            var productsFuture = scope.fork(() -> phase(parent, CREATE, LOAD_PRODUCTS, () -> {
                 log.info("Loading products on virtual thread: {}", Thread.currentThread());
                 return loadProducts(productIds);
-            });
+            }));
 
             // Fork task 2: Calculate discount (simulated I/O)
-            var discountFuture = scope.fork(() -> {
+            var discountFuture = scope.fork(() -> phase(parent, CREATE, DISCOUNT, () -> {
                 log.info("Calculating discount on virtual thread: {}", Thread.currentThread());
                 return discountService.calculateDiscount(customerId);
-            });
+            }));
 
             // Fork task 3: Get shipping estimate (simulated I/O)
-            var shippingFuture = scope.fork(() -> {
+            var shippingFuture = scope.fork(() -> phase(parent, CREATE, SHIPPING, () -> {
                 log.info("Calculating shipping on virtual thread: {}", Thread.currentThread());
                 return shippingService.estimateShipping(customerId);
-            });
+            }));
 
             // Wait for all tasks to complete or fail
             scope.join();
@@ -93,37 +109,17 @@ public class OrderService {
                     discountPercentage, shippingCost);
 
             // Validate stock and create order items
-            List<OrderItem> orderItems = new ArrayList<>();
-            for (CreateOrderRequest.OrderItemRequest itemRequest : request.items()) {
-                Product product = productsMap.get(itemRequest.productId());
-                if (product == null) {
-                    throw new ResourceNotFoundException(
-                            "Product not found: " + itemRequest.productId());
-                }
-
-                if (product.getStockQuantity() < itemRequest.quantity()) {
-                    throw new InsufficientStockException(
-                            product.getName(),
-                            product.getStockQuantity(),
-                            itemRequest.quantity());
-                }
-
-                OrderItem item = OrderItem.create(
-                        product.getId(),
-                        product.getName(),
-                        product.getPrice(),
-                        itemRequest.quantity());
-                orderItems.add(item);
-            }
+            List<OrderItem> orderItems =
+                    phase(parent, CREATE, VALIDATE, () -> toOrderItems(request, productsMap));
 
             // Create and save order
             Order order = Order.create(customerId, orderItems);
-            Order savedOrder = orderRepository.save(order);
+            Order savedOrder = phase(parent, CREATE, PERSIST, () -> orderRepository.create(order));
 
             log.info("Order created with ID: {} and number: {}",
                     savedOrder.getId(), savedOrder.getOrderNumber());
 
-            return orderMapper.toDto(savedOrder);
+            return phase(parent, CREATE, MAP, () -> orderMapper.toDto(savedOrder));
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -134,11 +130,59 @@ public class OrderService {
         }
     }
 
+    private List<OrderItem> toOrderItems(
+            CreateOrderRequest request, Map<UUID, Product> productsMap) {
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (CreateOrderRequest.OrderItemRequest itemRequest : request.items()) {
+            Product product = productsMap.get(itemRequest.productId());
+            if (product == null) {
+                throw new ResourceNotFoundException(
+                        "Product not found: " + itemRequest.productId());
+            }
+
+            if (product.getStockQuantity() < itemRequest.quantity()) {
+                throw new InsufficientStockException(
+                        product.getName(),
+                        product.getStockQuantity(),
+                        itemRequest.quantity());
+            }
+
+            OrderItem item = OrderItem.create(
+                    product.getId(),
+                    product.getName(),
+                    product.getPrice(),
+                    itemRequest.quantity());
+            orderItems.add(item);
+        }
+        return orderItems;
+    }
+
+    private <T> T phase(Observation parent, String operation, String phase, Supplier<T> work) {
+        return OrderObservations.phase(observationRegistry, parent, operation, phase).observe(work);
+    }
+
+    private <T> T phase(String operation, String phase, Supplier<T> work) {
+        return phase(observationRegistry.getCurrentObservation(), operation, phase, work);
+    }
+
     private Map<UUID, Product> loadProducts(List<UUID> productIds) {
         List<Product> products = productRepository.findAllById(productIds);
         return products.stream().collect(Collectors.toMap(Product::getId, p -> p));
     }
 
+    /** The products of all items in one query, so stock updates do not grow with item count. */
+    private Map<UUID, Product> loadOrderedProducts(Order order) {
+        List<UUID> productIds =
+                order.getItems().stream().map(OrderItem::getProductId).distinct().toList();
+        Map<UUID, Product> products = loadProducts(productIds);
+        for (UUID productId : productIds) {
+            if (!products.containsKey(productId)) {
+                throw new ResourceNotFoundException("Product", productId);
+            }
+        }
+        return products;
+    }
+
     @Transactional(readOnly = true)
     public OrderDto getOrder(UUID id) {
         Order order = orderRepository
@@ -147,30 +191,42 @@ public class OrderService {
         return orderMapper.toDto(order);
     }
 
+    /**
+     * Searches orders by any combination of criteria. Sorting is limited to
+     * {@link #SORTABLE_PROPERTIES}, the indexed columns, so a search never sorts the whole table.
+     */
     @Transactional(readOnly = true)
-    public Page<OrderDto> getAllOrders(Pageable pageable) {
-        return orderRepository.findAll(pageable).map(orderMapper::toDto);
-    }
-
-    @Transactional(readOnly = true)
-    public Page<OrderDto> getOrdersByStatus(OrderStatus status, Pageable pageable) {
-        return orderRepository.findByStatus(status, pageable).map(orderMapper::toDto);
+    public Page<OrderDto> searchOrders(OrderSearchCriteria criteria, Pageable pageable) {
+        validate(criteria);
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new BusinessException(
+                        "Orders cannot be sorted by " + order.getProperty()
+                                + "; sortable properties are " + SORTABLE_PROPERTIES,
+                        "INVALID_SORT");
+            }
+        }
+        return orderRepository.search(criteria, pageable).map(orderMapper::toDto);
     }
 
-    @Transactional(readOnly = true)
-    public Page<OrderDto> getOrdersByDateRange(
-            Instant startDate, Instant endDate, Pageable pageable) {
-        return orderRepository.findByCreatedAtBetween(startDate, endDate, pageable)
-                .map(orderMapper::toDto);
+    private static void validate(OrderSearchCriteria criteria) {
+        if (criteria.createdFrom() != null && criteria.createdTo() != null
+                && criteria.createdFrom().isAfter(criteria.createdTo())) {
+            throw new BusinessException("dateFrom must not be after dateTo", "INVALID_FILTER");
+        }
+        if (criteria.minTotal() != null && criteria.maxTotal() != null
+                && criteria.minTotal().isGreaterThan(criteria.maxTotal())) {
+            throw new BusinessException("minTotal must not be greater than maxTotal", "INVALID_FILTER");
+        }
     }
 
     @Transactional
     public OrderDto payOrder(UUID orderId) {
         log.info("Processing payment for order: {}", orderId);
 
-        Order order = orderRepository
+        Order order = phase(PAY, LOAD_ORDER, () -> orderRepository
                 .findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", orderId));
+                .orElseThrow(() -> new ResourceNotFoundException("Order", orderId)));
 
         if (!order.isCreated()) {
             throw new BusinessException(
@@ -179,30 +235,32 @@ public class OrderService {
         }
 
         // Deduct stock for each item
-        for (OrderItem item : order.getItems()) {
-            Product product = productRepository
-                    .findById(item.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Product", item.getProductId()));
-
-            product.decreaseStock(item.getQuantity());
-            productRepository.save(product);
-        }
+        phase(PAY, UPDATE_STOCK, () -> {
+            Map<UUID, Product> products = loadOrderedProducts(order);
+            for (OrderItem item : order.getItems()) {
+                Product product = products.get(item.getProductId());
+                int previousQuantity = product.getStockQuantity();
+                product.decreaseStock(item.getQuantity());
+                productRepository.save(product);
+                lowStockMonitor.stockChanged(product, previousQuantity);
+            }
+            return null;
+        });
 
         order.pay();
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder = phase(PAY, PERSIST, () -> orderRepository.save(order));
 
         log.info("Order {} paid successfully", orderId);
-        return orderMapper.toDto(savedOrder);
+        return phase(PAY, MAP, () -> orderMapper.toDto(savedOrder));
     }
 
     @Transactional
     public OrderDto cancelOrder(UUID orderId) {
         log.info("Canceling order: {}", orderId);
 
-        Order order = orderRepository
+        Order order = phase(CANCEL, LOAD_ORDER, () -> orderRepository
                 .findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", orderId));
+                .orElseThrow(() -> new ResourceNotFoundException("Order", orderId)));
 
         if (order.isCanceled()) {
             throw new BusinessException("Order is already canceled", "ORDER_ALREADY_CANCELED");
@@ -211,22 +269,24 @@ public class OrderService {
         // If order was not paid yet, we don't need to restore stock
         // If it was paid, restore the stock
         if (order.isPaid()) {
-            for (OrderItem item : order.getItems()) {
-                Product product = productRepository
-                        .findById(item.getProductId())
-                        .orElseThrow(() -> new ResourceNotFoundException(
-                                "Product", item.getProductId()));
-
-                product.increaseStock(item.getQuantity());
-                productRepository.save(product);
-            }
+            phase(CANCEL, UPDATE_STOCK, () -> {
+                Map<UUID, Product> products = loadOrderedProducts(order);
+                for (OrderItem item : order.getItems()) {
+                    Product product = products.get(item.getProductId());
+                    int previousQuantity = product.getStockQuantity();
+                    product.increaseStock(item.getQuantity());
+                    productRepository.save(product);
+                    lowStockMonitor.stockChanged(product, previousQuantity);
+                }
+                return null;
+            });
         }
 
         order.cancel();
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder = phase(CANCEL, PERSIST, () -> orderRepository.save(order));
 
         log.info("Order {} canceled successfully", orderId);
-        return orderMapper.toDto(savedOrder);
+        return phase(CANCEL, MAP, () -> orderMapper.toDto(savedOrder));
     }
 }
 
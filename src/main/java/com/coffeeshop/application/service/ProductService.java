@@ -22,10 +22,15 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final LowStockMonitor lowStockMonitor;
 
-    public ProductService(ProductRepository productRepository, ProductMapper productMapper) {
+    public ProductService(
+            ProductRepository productRepository,
+            ProductMapper productMapper,
+            LowStockMonitor lowStockMonitor) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.lowStockMonitor = lowStockMonitor;
     }
 
     @Transactional
@@ -70,8 +75,10 @@ public class ProductService {
                 .findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", id));
 
+        int previousQuantity = product.getStockQuantity();
         product.restock(quantity);
         Product saved = productRepository.save(product);
+        lowStockMonitor.stockChanged(saved, previousQuantity);
 
         log.info("Product {} restocked. New stock: {}", id, saved.getStockQuantity());
         return productMapper.toDto(saved);
@@ -55,9 +55,67 @@ public class Order {
     }
 
     private Money calculateTotal() {
-        return items.stream()
-                .map(OrderItem::getSubtotal)
-                .reduce(Money.zero(), Money::add);
+        long total = 0L;
+        for (OrderItem item : items) {
+            total = Math.addExact(total, subtotalMinorUnits(item));
+        }
+        return Money.ofMinorUnits(total);
+    }
+
+    private static long subtotalMinorUnits(OrderItem item) {
+        return Math.multiplyExact(item.getUnitPrice().minorUnits(), (long) item.getQuantity());
+    }
+
+    public void addItem(OrderItem item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Order item cannot be null");
+        }
+        ensureModifiable();
+        this.items.add(item);
+        this.totalAmount = Money.ofMinorUnits(
+                Math.addExact(getTotalAmount().minorUnits(), subtotalMinorUnits(item)));
+        this.updatedAt = Instant.now();
+    }
+
+    public void removeItem(UUID itemId) {
+        ensureModifiable();
+        int index = -1;
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getId().equals(itemId)) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("Order item not found: " + itemId);
+        }
+        if (items.size() == 1) {
+            throw new IllegalStateException("Order must have at least one item");
+        }
+        OrderItem removed = items.remove(index);
+        this.totalAmount = Money.ofMinorUnits(
+                Math.subtractExact(getTotalAmount().minorUnits(), subtotalMinorUnits(removed)));
+        this.updatedAt = Instant.now();
+    }
+
+    /**
+     * Recomputes the total from the items and checks it against the maintained total, e.g. after
+     * hydrating an order whose total was read from storage.
+     */
+    public void verifyTotal() {
+        Money expected = calculateTotal();
+        if (!expected.equals(getTotalAmount())) {
+            throw new IllegalStateException(
+                    "Total amount " + totalAmount + " of order " + orderNumber
+                            + " does not match its items: " + expected);
+        }
+    }
+
+    private void ensureModifiable() {
+        if (this.status != OrderStatus.CREATED) {
+            throw new IllegalStateException(
+                    "Cannot modify items of order with status: " + this.status);
+        }
     }
 
     public void pay() {
@@ -110,9 +168,15 @@ public class Order {
         return Collections.unmodifiableList(items);
     }
 
+    /**
+     * Hydration setter. A total already set through {@link #setTotalAmount(Money)} is trusted;
+     * otherwise it is computed from the items.
+     */
     public void setItems(List<OrderItem> items) {
-        this.items = items;
-        this.totalAmount = calculateTotal();
+        this.items = new ArrayList<>(items);
+        if (this.totalAmount == null) {
+            this.totalAmount = calculateTotal();
+        }
     }
 
     public Money getTotalAmount() {
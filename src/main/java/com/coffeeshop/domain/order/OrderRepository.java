@@ -1,12 +1,15 @@
 package com.coffeeshop.domain.order;
 
-import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface OrderRepository {
+    /** Inserts a new order without first checking whether it exists. */
+    Order create(Order order);
+
+    /** Updates an existing order. */
     Order save(Order order);
 
     Optional<Order> findById(UUID id);
@@ -17,12 +20,8 @@ public interface OrderRepository {
 
     Page<Order> findByCustomerId(String customerId, Pageable pageable);
 
-    Page<Order> findByStatus(OrderStatus status, Pageable pageable);
-
-    Page<Order> findByCreatedAtBetween(Instant start, Instant end, Pageable pageable);
-
-    Page<Order> findByStatusAndCreatedAtBetween(
-            OrderStatus status, Instant start, Instant end, Pageable pageable);
+    /** Orders matching all of the criteria, in one query. */
+    Page<Order> search(OrderSearchCriteria criteria, Pageable pageable);
 }
 
 
@@ -0,0 +1,18 @@
+package com.coffeeshop.domain.order;
+
+import com.coffeeshop.domain.shared.Money;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Filters for an order search; every {@code null} field is left out. Ranges are inclusive at both
+ * ends and may be open at either.
+ */
+public record OrderSearchCriteria(
+        OrderStatus status,
+        Instant createdFrom,
+        Instant createdTo,
+        String customerId,
+        Money minTotal,
+        Money maxTotal,
+        UUID productId) {}
@@ -1,6 +1,8 @@
 package com.coffeeshop.domain.product;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
@@ -19,6 +21,37 @@ public interface ProductRepository {
 
     List<Product> findLowStockProducts(int threshold);
 
+    /**
+     * Returns up to {@code limit} products below {@code threshold} with an id greater than
+     * {@code afterId}, ordered by id, so that callers can page through them by keyset.
+     */
+    List<Product> findLowStockProducts(int threshold, UUID afterId, int limit);
+
+    /**
+     * Adds {@code quantity} to every listed product that is still below {@code threshold}, in one
+     * statement, and returns the new stock of the products that were restocked.
+     */
+    Map<UUID, Integer> restockBelowThreshold(Collection<UUID> ids, int quantity, int threshold);
+
+    /**
+     * Records that the product's current low stock has been announced.
+     *
+     * @return false if it had already been announced
+     */
+    boolean markLowStockAnnounced(UUID id);
+
+    /**
+     * Marks every product below {@code threshold} that has not been announced yet as announced,
+     * in one statement, and returns their ids.
+     */
+    List<UUID> claimUnannouncedLowStock(int threshold);
+
+    /** Clears the announcement of the listed products so their next crossing is announced. */
+    void clearLowStockAnnounced(Collection<UUID> ids);
+
+    /** Clears the announcement of every product back at or above {@code threshold}. */
+    int clearRecoveredLowStock(int threshold);
+
     boolean existsBySku(String sku);
 
     void delete(Product product);
@@ -0,0 +1,18 @@
+package com.coffeeshop.domain.purchasing;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record PurchaseOrder(UUID id, List<PurchaseOrderLine> lines, Instant createdAt) {
+    public PurchaseOrder {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Purchase order must have at least one line");
+        }
+        lines = List.copyOf(lines);
+    }
+
+    public static PurchaseOrder create(List<PurchaseOrderLine> lines) {
+        return new PurchaseOrder(UUID.randomUUID(), lines, Instant.now());
+    }
+}
@@ -0,0 +1,14 @@
+package com.coffeeshop.domain.purchasing;
+
+import java.util.UUID;
+
+public record PurchaseOrderLine(UUID productId, int quantity) {
+    public PurchaseOrderLine {
+        if (productId == null) {
+            throw new IllegalArgumentException("Product ID cannot be null");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+    }
+}
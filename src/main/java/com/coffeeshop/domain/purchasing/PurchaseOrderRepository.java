@@ -0,0 +1,5 @@
+package com.coffeeshop.domain.purchasing;
+
+public interface PurchaseOrderRepository {
+    void save(PurchaseOrder purchaseOrder);
+}
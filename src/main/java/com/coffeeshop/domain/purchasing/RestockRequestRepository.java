@@ -0,0 +1,20 @@
+package com.coffeeshop.domain.purchasing;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/** Durable queue of products waiting for an automatic restock, at most one entry per product. */
+public interface RestockRequestRepository {
+    /** Adds the products to the queue; products already queued keep their original entry. */
+    void request(Collection<UUID> productIds);
+
+    /**
+     * Locks and returns up to {@code limit} products requested before {@code requestedBefore},
+     * skipping entries locked by another node.
+     */
+    List<UUID> claimDue(Instant requestedBefore, int limit);
+
+    void delete(Collection<UUID> productIds);
+}
@@ -0,0 +1,20 @@
+package com.coffeeshop.domain.shared;
+
+import java.util.List;
+
+/**
+ * Consumer of one type of {@link DomainEvent}. Events arrive in batches on a dedicated thread;
+ * handlers that can amortise work across events (one query, one notification) override
+ * {@link #handleBatch(List)}.
+ */
+public interface DomainEventHandler<E extends DomainEvent> {
+    Class<E> eventType();
+
+    void handle(E event);
+
+    default void handleBatch(List<E> events) {
+        for (E event : events) {
+            handle(event);
+        }
+    }
+}
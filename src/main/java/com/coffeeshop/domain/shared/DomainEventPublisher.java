@@ -0,0 +1,9 @@
+package com.coffeeshop.domain.shared;
+
+/**
+ * Hands domain events to their handlers. Implementations must not run handlers on the caller's
+ * thread, so publishing never adds handler latency to a request or transaction.
+ */
+public interface DomainEventPublisher {
+    void publish(DomainEvent event);
+}
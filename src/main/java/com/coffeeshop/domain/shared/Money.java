@@ -4,13 +4,24 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Objects;
 
-public record Money(BigDecimal amount) {
+/**
+ * Monetary amount stored as a count of minor units (cents).
+ *
+ * <p>Arithmetic stays on {@code long} and is overflow-checked; {@link BigDecimal} is only
+ * produced by {@link #amount()} at the persistence and JSON boundaries.
+ */
+public record Money(long minorUnits) {
+    private static final int SCALE = 2;
+    private static final Money ZERO = new Money(0L);
+
     public Money {
-        Objects.requireNonNull(amount, "Amount cannot be null");
-        if (amount.compareTo(BigDecimal.ZERO) < 0) {
+        if (minorUnits < 0) {
             throw new IllegalArgumentException("Amount cannot be negative");
         }
-        amount = amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public Money(BigDecimal amount) {
+        this(toMinorUnits(amount));
     }
 
     public static Money of(BigDecimal amount) {
@@ -21,31 +32,50 @@ public record Money(BigDecimal amount) {
         return new Money(new BigDecimal(amount));
     }
 
+    public static Money ofMinorUnits(long minorUnits) {
+        return minorUnits == 0L ? ZERO : new Money(minorUnits);
+    }
+
     public static Money zero() {
-        return new Money(BigDecimal.ZERO);
+        return ZERO;
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        Objects.requireNonNull(amount, "Amount cannot be null");
+        if (amount.signum() < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public BigDecimal amount() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
     }
 
     public Money add(Money other) {
-        return new Money(this.amount.add(other.amount));
+        if (other.minorUnits == 0L) {
+            return this;
+        }
+        return new Money(Math.addExact(this.minorUnits, other.minorUnits));
     }
 
     public Money multiply(int quantity) {
-        return new Money(this.amount.multiply(BigDecimal.valueOf(quantity)));
+        if (quantity == 1) {
+            return this;
+        }
+        return ofMinorUnits(Math.multiplyExact(this.minorUnits, (long) quantity));
     }
 
     public boolean isGreaterThan(Money other) {
-        return this.amount.compareTo(other.amount) > 0;
+        return this.minorUnits > other.minorUnits;
     }
 
     public boolean isZero() {
-        return this.amount.compareTo(BigDecimal.ZERO) == 0;
+        return this.minorUnits == 0L;
     }
 
     @Override
     public String toString() {
-        return amount.toString();
+        return amount().toString();
     }
 }
-
-
-
@@ -0,0 +1,31 @@
+package com.coffeeshop.infrastructure.capture;
+
+import java.util.UUID;
+
+/**
+ * One captured API request, written as a line of JSON. Carries no headers, so credentials, API
+ * keys and idempotency keys never reach the capture files.
+ *
+ * @param sequence arrival order since the application started
+ * @param capturedAt arrival time in epoch milliseconds
+ * @param gapMicros time since the previous captured request arrived
+ * @param path request path including the query string
+ * @param body request body, cut off at the configured limit, or {@code null} if there was none
+ * @param admin whether the caller had the ADMIN role, so a replay can pick a matching account
+ * @param durationMicros time to produce the response
+ * @param createdId id of the order or product created by the request, so that later requests
+ *     for it can be pointed at the one created during a replay
+ */
+public record CapturedRequest(
+        long sequence,
+        long capturedAt,
+        long gapMicros,
+        String method,
+        String path,
+        String contentType,
+        String body,
+        boolean bodyTruncated,
+        boolean admin,
+        int status,
+        long durationMicros,
+        UUID createdId) {}
@@ -0,0 +1,140 @@
+package com.coffeeshop.infrastructure.capture;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Records a {@code sampleRate} share of order and product requests for replay.
+ *
+ * <p>Only the method, path, body, arrival gap, caller role and outcome are kept, never headers.
+ * Bodies are copied as the application reads them, up to {@code maxBodyBytes}. Responses are
+ * buffered only for creates, to pick up the new id. Everything else happens on the
+ * {@link TrafficCaptureWriter}'s thread. Must run after authentication.
+ */
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+    private static final RequestMatcher CAPTURED = new OrRequestMatcher(
+            AntPathRequestMatcher.antMatcher("/api/v1/orders"),
+            AntPathRequestMatcher.antMatcher("/api/v1/orders/**"),
+            AntPathRequestMatcher.antMatcher("/api/v1/products"),
+            AntPathRequestMatcher.antMatcher("/api/v1/products/**"));
+
+    private static final RequestMatcher CREATES = new OrRequestMatcher(
+            AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/v1/orders"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/v1/products"));
+
+    private final TrafficCaptureWriter writer;
+    private final ObjectMapper objectMapper;
+    private final double sampleRate;
+    private final int maxBodyBytes;
+
+    private final ReentrantLock arrivals = new ReentrantLock();
+    private long sequence;
+    private long lastArrival = System.nanoTime();
+
+    public TrafficCaptureFilter(
+            TrafficCaptureWriter writer, ObjectMapper objectMapper, double sampleRate, int maxBodyBytes) {
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.sampleRate = sampleRate;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !CAPTURED.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        long seq;
+        long gap;
+        arrivals.lock();
+        try {
+            seq = ++sequence;
+            gap = start - lastArrival;
+            lastArrival = start;
+        } finally {
+            arrivals.unlock();
+        }
+        long capturedAt = System.currentTimeMillis();
+
+        ContentCachingRequestWrapper capturedRequest =
+                new ContentCachingRequestWrapper(request, maxBodyBytes);
+        ContentCachingResponseWrapper capturedResponse =
+                CREATES.matches(request) ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(
+                    capturedRequest, capturedResponse != null ? capturedResponse : response);
+        } finally {
+            long duration = System.nanoTime() - start;
+            UUID createdId = null;
+            if (capturedResponse != null) {
+                createdId = createdId(capturedResponse);
+                capturedResponse.copyBodyToResponse();
+            }
+            byte[] body = capturedRequest.getContentAsByteArray();
+            String query = request.getQueryString();
+            writer.offer(new CapturedRequest(
+                    seq,
+                    capturedAt,
+                    TimeUnit.NANOSECONDS.toMicros(gap),
+                    request.getMethod(),
+                    request.getRequestURI() + (query != null ? "?" + query : ""),
+                    request.getContentType(),
+                    body.length > 0 ? new String(body, StandardCharsets.UTF_8) : null,
+                    // The wrapper stops caching at the cap; chunked requests have no length to compare
+                    body.length >= maxBodyBytes,
+                    isAdmin(),
+                    response.getStatus(),
+                    TimeUnit.NANOSECONDS.toMicros(duration),
+                    createdId));
+        }
+    }
+
+    private UUID createdId(ContentCachingResponseWrapper response) {
+        if (response.getStatus() != HttpStatus.CREATED.value()) {
+            return null;
+        }
+        try {
+            JsonNode id = objectMapper.readTree(response.getContentAsByteArray()).path("id");
+            return id.isTextual() ? UUID.fromString(id.asText()) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null
+                && authentication.getAuthorities().stream()
+                        .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+}
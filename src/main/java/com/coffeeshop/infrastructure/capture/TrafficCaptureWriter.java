@@ -0,0 +1,233 @@
+package com.coffeeshop.infrastructure.capture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Writes {@link CapturedRequest}s as gzipped JSON lines to {@code app.capture.directory}.
+ *
+ * <p>Requests are handed over through a bounded buffer and written by a single background
+ * thread, so capturing never blocks a request: when the buffer is full the request is dropped
+ * and counted in {@code traffic.capture.dropped}. A file is closed and a new one started once it
+ * holds {@code max-file-size} of uncompressed JSON or is {@code rotate-interval} old; only the
+ * newest {@code max-files} files are kept.
+ */
+@Component
+@ConditionalOnProperty(name = "app.capture.enabled", havingValue = "true")
+public class TrafficCaptureWriter implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(TrafficCaptureWriter.class);
+    private static final String PREFIX = "capture-";
+    private static final String SUFFIX = ".jsonl.gz";
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+    private static final int BATCH_SIZE = 256;
+    private static final long POLL_INTERVAL_MS = 200;
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final long maxFileBytes;
+    private final Duration rotateInterval;
+    private final int maxFiles;
+    private final Clock clock;
+    private final BlockingQueue<CapturedRequest> buffer;
+    private final Counter written;
+    private final Counter dropped;
+
+    private OutputStream out;
+    private long fileBytes;
+    private long fileOpenedAt;
+    private int filesOpened;
+    private Thread consumer;
+    private volatile boolean running;
+
+    public TrafficCaptureWriter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.capture.directory:${java.io.tmpdir}/coffee-shop-capture}") Path directory,
+            @Value("${app.capture.max-file-size:64MB}") DataSize maxFileSize,
+            @Value("${app.capture.rotate-interval:1h}") Duration rotateInterval,
+            @Value("${app.capture.max-files:48}") int maxFiles,
+            @Value("${app.capture.buffer-size:10000}") int bufferSize) {
+        this(objectMapper, meterRegistry, directory, maxFileSize, rotateInterval, maxFiles, bufferSize,
+                Clock.systemUTC());
+    }
+
+    TrafficCaptureWriter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            Path directory,
+            DataSize maxFileSize,
+            Duration rotateInterval,
+            int maxFiles,
+            int bufferSize,
+            Clock clock) {
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.maxFileBytes = maxFileSize.toBytes();
+        this.rotateInterval = rotateInterval;
+        this.maxFiles = maxFiles;
+        this.clock = clock;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.written = Counter.builder("traffic.capture.requests")
+                .description("Requests written to capture files")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("traffic.capture.dropped")
+                .description("Captured requests dropped because the write buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("traffic.capture.buffered", buffer, BlockingQueue::size)
+                .description("Captured requests waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /** Queues a request for writing; never blocks. */
+    public void offer(CapturedRequest request) {
+        if (!running || !buffer.offer(request)) {
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public void start() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create capture directory " + directory, e);
+        }
+        running = true;
+        consumer = Thread.ofVirtual().name("traffic-capture").start(this::drain);
+        log.info("Capturing order and product traffic to {}", directory);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (consumer != null) {
+            try {
+                consumer.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Below the web server ({@code DEFAULT_PHASE - 2048}): start before it accepts requests and
+     * stop only after its graceful shutdown has drained them, so requests still in flight are written.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<CapturedRequest> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (running || !buffer.isEmpty()) {
+                CapturedRequest first = buffer.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, BATCH_SIZE - 1);
+                    write(batch);
+                    batch.clear();
+                }
+                if (out != null && clock.millis() - fileOpenedAt >= rotateInterval.toMillis()) {
+                    close();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close();
+        }
+    }
+
+    void write(List<CapturedRequest> batch) {
+        try {
+            for (CapturedRequest request : batch) {
+                if (out == null) {
+                    open();
+                }
+                byte[] line = objectMapper.writeValueAsBytes(request);
+                out.write(line);
+                out.write('\n');
+                fileBytes += line.length + 1;
+                if (fileBytes >= maxFileBytes) {
+                    close();
+                }
+            }
+            written.increment(batch.size());
+        } catch (IOException e) {
+            dropped.increment(batch.size());
+            log.warn("Failed to write captured requests", e);
+            close();
+        }
+    }
+
+    private void open() throws IOException {
+        Path file = directory.resolve(String.format(
+                "%s%s-%04d%s", PREFIX, FILE_TIME.format(clock.instant()), filesOpened++ % 10_000, SUFFIX));
+        out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file)), 64 * 1024);
+        fileBytes = 0;
+        fileOpenedAt = clock.millis();
+        prune();
+    }
+
+    void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Failed to close capture file", e);
+        }
+        out = null;
+    }
+
+    /** Deletes the oldest files beyond {@code max-files}, counting the one just opened. */
+    private void prune() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+}
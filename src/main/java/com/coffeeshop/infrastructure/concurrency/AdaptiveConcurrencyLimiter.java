@@ -0,0 +1,142 @@
+package com.coffeeshop.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * AIMD concurrency limit shared by all {@link EndpointClass}es.
+ *
+ * <p>The limit grows by one per limit's worth of fast, successful requests and is cut by
+ * {@code backoff-ratio} whenever a request is slower than {@code latency-threshold} or fails with
+ * an overload status. It therefore settles close to the concurrency the connection pool can serve
+ * without queueing, and excess requests are rejected at once instead of waiting for a connection.
+ * State is kept in atomics so that admission never blocks a virtual thread.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private final AtomicLong limitBits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ShedWindow orderWriteShedding;
+    private final Map<EndpointClass, AtomicInteger> inFlightByClass =
+            new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+
+    public AdaptiveConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${app.concurrency.initial-limit:32}") int initialLimit,
+            @Value("${app.concurrency.min-limit:8}") int minLimit,
+            @Value("${app.concurrency.max-limit:256}") int maxLimit,
+            @Value("${app.concurrency.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${app.concurrency.latency-threshold:1s}") Duration latencyThreshold,
+            @Value("${app.concurrency.saturation-window:5s}") Duration saturationWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+        this.orderWriteShedding = new ShedWindow(saturationWindow);
+
+        Gauge.builder("http.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            AtomicInteger count = new AtomicInteger();
+            inFlightByClass.put(endpointClass, count);
+            String tag = endpointClass.name().toLowerCase();
+            Gauge.builder("http.concurrency.in_flight", count, AtomicInteger::get)
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            rejections.put(endpointClass, Counter.builder("http.concurrency.rejected")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /** Admits a request of {@code endpointClass}, or returns null if it must be shed. */
+    public Permit tryAcquire(EndpointClass endpointClass) {
+        int ceiling = Math.max(1, (int) (getLimit() * endpointClass.share()));
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= ceiling) {
+                rejections.get(endpointClass).increment();
+                if (endpointClass == EndpointClass.ORDER_WRITES) {
+                    orderWriteShedding.recordShed();
+                }
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        if (endpointClass == EndpointClass.ORDER_WRITES) {
+            orderWriteShedding.recordAdmitted();
+        }
+        inFlightByClass.get(endpointClass).incrementAndGet();
+        return new Permit(endpointClass, System.nanoTime());
+    }
+
+    public double getLimit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Order writes admitted and shed within {@code saturation-window}. Only the highest-priority
+     * class is tracked: shedding the others is the limiter working as intended.
+     */
+    ShedWindow.Counts orderWriteShedding() {
+        return orderWriteShedding.counts();
+    }
+
+    private void release(Permit permit, boolean overloaded) {
+        long latency = System.nanoTime() - permit.startedAtNanos;
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        inFlightByClass.get(permit.endpointClass).decrementAndGet();
+
+        if (overloaded || latency > latencyThresholdNanos) {
+            updateLimit(limit -> Math.max(minLimit, limit * backoffRatio));
+        } else if (inFlightAtRelease * 2 >= getLimit()) {
+            // Only grow while the limit is actually being used
+            updateLimit(limit -> Math.min(maxLimit, limit + 1.0 / limit));
+        }
+    }
+
+    private void updateLimit(DoubleUnaryOperator update) {
+        long current;
+        long next;
+        do {
+            current = limitBits.get();
+            next = Double.doubleToLongBits(update.applyAsDouble(Double.longBitsToDouble(current)));
+        } while (!limitBits.compareAndSet(current, next));
+    }
+
+    public final class Permit {
+        private final EndpointClass endpointClass;
+        private final long startedAtNanos;
+
+        private Permit(EndpointClass endpointClass, long startedAtNanos) {
+            this.endpointClass = endpointClass;
+            this.startedAtNanos = startedAtNanos;
+        }
+
+        /** Ends the request; {@code overloaded} marks a failure caused by lack of capacity. */
+        public void release(boolean overloaded) {
+            AdaptiveConcurrencyLimiter.this.release(this, overloaded);
+        }
+    }
+}
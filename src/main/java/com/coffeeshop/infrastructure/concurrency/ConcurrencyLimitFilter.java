@@ -0,0 +1,76 @@
+package com.coffeeshop.infrastructure.concurrency;
+
+import com.coffeeshop.api.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds API requests beyond the {@link AdaptiveConcurrencyLimiter} with 503 before they reach the
+ * security chain or wait for a database connection. Runs ahead of Spring Security so that
+ * rejected requests cost as little as possible.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final String PROBLEM_TYPE = "https://api.coffee-shop.com/problems/overloaded";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        if (endpointClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(endpointClass);
+        if (permit == null) {
+            reject(request, response);
+            return;
+        }
+
+        boolean overloaded = true;
+        try {
+            filterChain.doFilter(request, response);
+            int status = response.getStatus();
+            overloaded = status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || status == HttpStatus.GATEWAY_TIMEOUT.value();
+        } finally {
+            permit.release(overloaded);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        ErrorResponse error = ErrorResponse.of(
+                PROBLEM_TYPE,
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Server is at capacity, retry shortly",
+                request.getRequestURI());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,45 @@
+package com.coffeeshop.infrastructure.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports OUT_OF_SERVICE while order writes are shed at a sustained rate, so that the instance
+ * drops out of the readiness group and the load balancer sends traffic elsewhere until the
+ * pressure clears.
+ *
+ * <p>Shedding reads and admin listings leaves readiness alone, and so do a few shed writes: during
+ * a fleet-wide burst every node sheds a little, and taking them all out together would only make
+ * readiness flap.
+ */
+@Component("concurrencyLimit")
+public class ConcurrencyLimitHealthIndicator implements HealthIndicator {
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final double saturationShedRatio;
+    private final long saturationMinShed;
+
+    public ConcurrencyLimitHealthIndicator(
+            AdaptiveConcurrencyLimiter limiter,
+            @Value("${app.concurrency.saturation-shed-ratio:0.2}") double saturationShedRatio,
+            @Value("${app.concurrency.saturation-min-shed:20}") long saturationMinShed) {
+        this.limiter = limiter;
+        this.saturationShedRatio = saturationShedRatio;
+        this.saturationMinShed = saturationMinShed;
+    }
+
+    @Override
+    public Health health() {
+        ShedWindow.Counts orderWrites = limiter.orderWriteShedding();
+        boolean saturated = orderWrites.shed() >= saturationMinShed
+                && orderWrites.shedRatio() >= saturationShedRatio;
+        Health.Builder builder = saturated ? Health.outOfService() : Health.up();
+        return builder
+                .withDetail("limit", (int) limiter.getLimit())
+                .withDetail("inFlight", limiter.getInFlight())
+                .withDetail("orderWritesAdmitted", orderWrites.admitted())
+                .withDetail("orderWritesShed", orderWrites.shed())
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.coffeeshop.infrastructure.concurrency;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * Groups of API endpoints that share the adaptive concurrency limit, in priority order.
+ *
+ * <p>{@code share} is the fraction of the current limit a class may fill. Lower-priority classes
+ * hit their ceiling first as the limit shrinks, so they are shed before order writes.
+ */
+public enum EndpointClass {
+    ORDER_WRITES(1.0, new OrRequestMatcher(
+            AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/v1/orders"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/v1/orders/*/pay"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/v1/orders/*/cancel"))),
+    READS(0.8, new OrRequestMatcher(
+            AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/v1/products/**"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/v1/orders/*"))),
+    ADMIN_LISTING(0.5, new OrRequestMatcher(
+            AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/v1/orders"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/v1/inventory/**")));
+
+    private final double share;
+    private final RequestMatcher matcher;
+
+    EndpointClass(double share, RequestMatcher matcher) {
+        this.share = share;
+        this.matcher = matcher;
+    }
+
+    public double share() {
+        return share;
+    }
+
+    /** Returns the class of {@code request}, or null if it is not concurrency limited. */
+    public static EndpointClass of(HttpServletRequest request) {
+        for (EndpointClass endpointClass : values()) {
+            if (endpointClass.matcher.matches(request)) {
+                return endpointClass;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.coffeeshop.infrastructure.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admitted and shed requests over a sliding window of one-second buckets, so that readiness can
+ * look at a sustained shed rate instead of at single rejections.
+ */
+final class ShedWindow {
+    private static final long BUCKET_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    ShedWindow(Duration window) {
+        this.buckets = new AtomicReferenceArray<>((int) Math.max(1, window.toSeconds()));
+    }
+
+    void recordAdmitted() {
+        current().admitted().increment();
+    }
+
+    void recordShed() {
+        current().shed().increment();
+    }
+
+    Counts counts() {
+        long now = System.nanoTime() / BUCKET_NANOS;
+        long admitted = 0;
+        long shed = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && now - bucket.epoch() < buckets.length()) {
+                admitted += bucket.admitted().sum();
+                shed += bucket.shed().sum();
+            }
+        }
+        return new Counts(admitted, shed);
+    }
+
+    private Bucket current() {
+        long epoch = System.nanoTime() / BUCKET_NANOS;
+        int index = (int) Math.floorMod(epoch, (long) buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.epoch() == epoch) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(epoch, new LongAdder(), new LongAdder());
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    record Counts(long admitted, long shed) {
+        double shedRatio() {
+            long total = admitted + shed;
+            return total == 0 ? 0.0 : (double) shed / total;
+        }
+    }
+
+    private record Bucket(long epoch, LongAdder admitted, LongAdder shed) {}
+}
@@ -1,11 +1,34 @@
 package com.coffeeshop.infrastructure.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+/**
+ * Runs {@code @Scheduled} methods on virtual threads.
+ *
+ * <p>A thread pool scheduler re-arms a cron or fixed-delay task only after its previous run has
+ * returned, so a slow run never overlaps the next one. Its workers are virtual threads, so jobs
+ * blocked on the database do not tie up platform threads; the pool size only bounds how many
+ * different jobs run at once. Use {@link com.coffeeshop.application.scheduling.ClusterJobRunner}
+ * inside jobs that must run on one node only.
+ */
 @Configuration
 @EnableScheduling
-public class SchedulingConfig {}
-
-
+public class SchedulingConfig {
 
+    @Bean
+    public TaskScheduler taskScheduler(
+            @Value("${app.scheduling.pool-size:8}") int poolSize,
+            @Value("${app.scheduling.shutdown-timeout-seconds:30}") int shutdownTimeoutSeconds) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadFactory(Thread.ofVirtual().name("scheduling-", 0).factory());
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(shutdownTimeoutSeconds);
+        return scheduler;
+    }
+}
@@ -0,0 +1,168 @@
+package com.coffeeshop.infrastructure.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Always-on JFR stream that turns virtual-thread pinning, submit failures, GC pauses and
+ * safepoints into Micrometer meters, and keeps the most expensive pinning stacks.
+ *
+ * <p>Pinning below {@code app.diagnostics.jfr.pinned-threshold} is not recorded by the JVM at
+ * all, which keeps the overhead negligible. The stream retains the last
+ * {@code app.diagnostics.jfr.max-age} of events so that {@link #dump()} can write them out.
+ */
+@Component
+@ConditionalOnProperty(name = "app.diagnostics.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrDiagnostics implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(JfrDiagnostics.class);
+
+    static final String PINNED = "jdk.VirtualThreadPinned";
+    static final String SUBMIT_FAILED = "jdk.VirtualThreadSubmitFailed";
+    static final String GARBAGE_COLLECTION = "jdk.GarbageCollection";
+    static final String SAFEPOINT = "jdk.SafepointBegin";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration pinnedThreshold;
+    private final Duration maxAge;
+    private final int stackDepth;
+    private final Path dumpDirectory;
+    private final PinningHotSpots hotSpots;
+
+    private final Timer pinned;
+    private final Counter submitFailed;
+    private final Timer safepoints;
+    private final Map<String, Timer> gcPauses = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+    private volatile boolean running;
+
+    public JfrDiagnostics(
+            MeterRegistry meterRegistry,
+            @Value("${app.diagnostics.jfr.pinned-threshold:20ms}") Duration pinnedThreshold,
+            @Value("${app.diagnostics.jfr.max-age:5m}") Duration maxAge,
+            @Value("${app.diagnostics.jfr.stack-depth:12}") int stackDepth,
+            @Value("${app.diagnostics.jfr.max-hot-spots:200}") int maxHotSpots,
+            @Value("${app.diagnostics.jfr.dump-directory:${java.io.tmpdir}}") Path dumpDirectory) {
+        this.meterRegistry = meterRegistry;
+        this.pinnedThreshold = pinnedThreshold;
+        this.maxAge = maxAge;
+        this.stackDepth = stackDepth;
+        this.dumpDirectory = dumpDirectory;
+        this.hotSpots = new PinningHotSpots(maxHotSpots);
+
+        this.pinned = Timer.builder("jvm.virtual_threads.pinned")
+                .description("Time virtual threads spent pinned to their carrier")
+                .register(meterRegistry);
+        this.submitFailed = Counter.builder("jvm.virtual_threads.submit_failed")
+                .description("Virtual threads that could not be scheduled or unparked")
+                .register(meterRegistry);
+        this.safepoints = Timer.builder("jvm.safepoint")
+                .description("Time to reach safepoints, from JFR")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED).withThreshold(pinnedThreshold).withStackTrace();
+        stream.enable(SUBMIT_FAILED).withStackTrace();
+        stream.enable(GARBAGE_COLLECTION);
+        stream.enable(SAFEPOINT);
+        stream.setMaxAge(maxAge);
+        stream.onEvent(PINNED, this::onPinned);
+        stream.onEvent(SUBMIT_FAILED, this::onSubmitFailed);
+        stream.onEvent(GARBAGE_COLLECTION, this::onGarbageCollection);
+        stream.onEvent(SAFEPOINT, event -> safepoints.record(event.getDuration()));
+        stream.startAsync();
+        running = true;
+        log.info("JFR diagnostics started, recording pinning above {}", pinnedThreshold);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public PinningHotSpots getHotSpots() {
+        return hotSpots;
+    }
+
+    public double getSubmitFailedCount() {
+        return submitFailed.count();
+    }
+
+    /** Writes the retained events to a new JFR file and returns its path. */
+    public Path dump() throws IOException {
+        if (!running) {
+            throw new IllegalStateException("JFR diagnostics are not running");
+        }
+        Files.createDirectories(dumpDirectory);
+        Path file = dumpDirectory.resolve("coffee-shop-" + Instant.now().toEpochMilli() + ".jfr");
+        stream.dump(file);
+        log.info("Wrote JFR dump to {}", file);
+        return file;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        hotSpots.record(format(event.getStackTrace()), event.getDuration());
+    }
+
+    private void onSubmitFailed(RecordedEvent event) {
+        submitFailed.increment();
+        log.warn("Virtual thread submit failed: {}", event.getString("exceptionMessage"));
+    }
+
+    private void onGarbageCollection(RecordedEvent event) {
+        gcPauses.computeIfAbsent(event.getString("name"), name -> Timer.builder("jvm.gc.jfr.pause")
+                        .description("Longest pause of each garbage collection, from JFR")
+                        .tag("gc", name)
+                        .register(meterRegistry))
+                .record(event.getDuration("longestPause"));
+    }
+
+    private String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "<no stack trace>";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < Math.min(stackDepth, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            builder.append(frame.getMethod().getType().getName())
+                    .append('.')
+                    .append(frame.getMethod().getName())
+                    .append(':')
+                    .append(frame.getLineNumber())
+                    .append('\n');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package com.coffeeshop.infrastructure.diagnostics;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates virtual-thread pinning events by stack trace. The number of distinct stacks is
+ * bounded; pinning at further stacks is only counted in {@link #untrackedCount()}.
+ */
+public class PinningHotSpots {
+    private final int maxStacks;
+    private final Map<String, Stats> byStack = new ConcurrentHashMap<>();
+    private final LongAdder untracked = new LongAdder();
+
+    public PinningHotSpots(int maxStacks) {
+        this.maxStacks = maxStacks;
+    }
+
+    public void record(String stackTrace, Duration duration) {
+        Stats stats = byStack.get(stackTrace);
+        if (stats == null) {
+            if (byStack.size() >= maxStacks) {
+                untracked.increment();
+                return;
+            }
+            stats = byStack.computeIfAbsent(stackTrace, key -> new Stats());
+        }
+        stats.record(duration.toNanos());
+    }
+
+    public record HotSpot(String stackTrace, long count, Duration total, Duration max) {}
+
+    /** Returns the {@code limit} stacks that pinned for the longest in total. */
+    public List<HotSpot> top(int limit) {
+        return byStack.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparing(HotSpot::total).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public long untrackedCount() {
+        return untracked.sum();
+    }
+
+    public void clear() {
+        byStack.clear();
+        untracked.reset();
+    }
+
+    private static final class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        HotSpot snapshot(String stackTrace) {
+            return new HotSpot(
+                    stackTrace,
+                    count.sum(),
+                    Duration.ofNanos(totalNanos.sum()),
+                    Duration.ofNanos(maxNanos.get()));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.coffeeshop.infrastructure.diagnostics;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/slowqueries}: GET returns the statements collected by {@link SlowQueryLog},
+ * slowest in total first, with their latest plan; DELETE clears them.
+ */
+@Component
+@ConditionalOnProperty(name = "app.diagnostics.slow-queries.enabled", havingValue = "true", matchIfMissing = true)
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+    private static final int TOP_QUERIES = 20;
+
+    private final SlowQueryLog slowQueries;
+    private final Duration threshold;
+
+    public SlowQueriesEndpoint(
+            SlowQueryLog slowQueries,
+            @Value("${app.diagnostics.slow-queries.threshold:250ms}") Duration threshold) {
+        this.slowQueries = slowQueries;
+        this.threshold = threshold;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowQueries() {
+        return Map.of(
+                "threshold", threshold.toString(),
+                "queries", slowQueries.top(TOP_QUERIES),
+                "evictedQueries", slowQueries.evictedCount());
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueries.clear();
+    }
+}
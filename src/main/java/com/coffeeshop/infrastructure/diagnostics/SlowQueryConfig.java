@@ -0,0 +1,72 @@
+package com.coffeeshop.infrastructure.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.diagnostics.slow-queries.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+    private static final int PENDING_PLANS = 16;
+
+    @Bean
+    public SlowQueryLog slowQueryLog(
+            @Value("${app.diagnostics.slow-queries.max-queries:50}") int maxQueries,
+            @Value("${app.diagnostics.slow-queries.plan-ttl:10m}") Duration planTtl) {
+        return new SlowQueryLog(maxQueries, planTtl);
+    }
+
+    /**
+     * Wraps the application {@link DataSource} in a {@link SlowQueryDataSource}. Static and lazy
+     * for the same reason as the connection-acquire post-processor in {@code ObservabilityConfig}.
+     *
+     * <p>EXPLAINs run one at a time off the request path; once {@value #PENDING_PLANS} are
+     * waiting, further plans are skipped rather than queued. The executor is not a bean so it does
+     * not replace Spring Boot's default task executor.
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(
+            ObjectProvider<SlowQueryLog> slowQueryLog,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.diagnostics.slow-queries.threshold:250ms}") Duration threshold,
+            @Value("${app.diagnostics.slow-queries.sample-rate:1.0}") double sampleRate) {
+        ExecutorService explainExecutor = new ThreadPoolExecutor(
+                1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(PENDING_PLANS),
+                Thread.ofVirtual().name("slow-query-explain-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        return new SlowQueryDataSourcePostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+                    return new SlowQueryDataSource(
+                            dataSource,
+                            slowQueryLog.getObject(),
+                            threshold,
+                            sampleRate,
+                            explainExecutor,
+                            meterRegistry.getObject());
+                }
+                return bean;
+            }
+
+            @Override
+            public void destroy() {
+                explainExecutor.shutdownNow();
+            }
+        };
+    }
+
+    private interface SlowQueryDataSourcePostProcessor extends BeanPostProcessor, DisposableBean {}
+}
@@ -0,0 +1,249 @@
+package com.coffeeshop.infrastructure.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Times every JDBC statement and reports those at or above {@code threshold} to a
+ * {@link SlowQueryLog}: the normalized SQL and the types of its bind parameters, never their
+ * values.
+ *
+ * <p>The first time a statement is reported, and again once its plan is older than the log's TTL,
+ * {@code EXPLAIN (ANALYZE off)} runs on {@code explainExecutor} with the bind values of that
+ * execution. It uses a connection of the target data source, so it is not timed itself, and does
+ * not execute the statement.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch",
+            "executeLargeBatch");
+    private static final Set<String> EXPLAINABLE = Set.of("select", "insert", "update", "delete", "with");
+    private static final int EXPLAIN_TIMEOUT_SECONDS = 5;
+
+    private final SlowQueryLog slowQueries;
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final Executor explainExecutor;
+    private final Timer slowStatements;
+
+    public SlowQueryDataSource(
+            DataSource target,
+            SlowQueryLog slowQueries,
+            Duration threshold,
+            double sampleRate,
+            Executor explainExecutor,
+            MeterRegistry meterRegistry) {
+        super(target);
+        this.slowQueries = slowQueries;
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.explainExecutor = explainExecutor;
+        this.slowStatements = Timer.builder("jdbc.statements.slow")
+                .description("Statements that took at least app.diagnostics.slow-queries.threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private void executed(String sql, Object[] binds, long nanos) {
+        if (nanos < thresholdNanos
+                || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        slowStatements.record(Duration.ofNanos(nanos));
+        String normalized = SlowQueryLog.normalize(sql);
+        if (!slowQueries.record(normalized, bindShape(binds), Duration.ofNanos(nanos))) {
+            return;
+        }
+        if (!isExplainable(sql)) {
+            slowQueries.planFailed(normalized, "only SELECT, INSERT, UPDATE and DELETE are explained");
+            return;
+        }
+        Object[] values = binds.clone();
+        try {
+            explainExecutor.execute(() -> explain(sql, normalized, values));
+        } catch (RejectedExecutionException e) {
+            slowQueries.planFailed(normalized, "too many plans pending");
+        }
+    }
+
+    private void explain(String sql, String normalized, Object[] binds) {
+        try (Connection connection = obtainTargetDataSource().getConnection();
+                PreparedStatement statement =
+                        connection.prepareStatement("EXPLAIN (ANALYZE off) " + sql)) {
+            statement.setQueryTimeout(EXPLAIN_TIMEOUT_SECONDS);
+            for (int i = 0; i < binds.length; i++) {
+                if (binds[i] instanceof NullValue nullValue) {
+                    statement.setNull(i + 1, nullValue.sqlType());
+                } else if (binds[i] == null) {
+                    statement.setNull(i + 1, Types.NULL);
+                } else {
+                    statement.setObject(i + 1, binds[i]);
+                }
+            }
+            StringJoiner plan = new StringJoiner("\n");
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.add(rows.getString(1));
+                }
+            }
+            slowQueries.planCaptured(normalized, plan.toString());
+        } catch (SQLException | RuntimeException e) {
+            slowQueries.planFailed(normalized, e.getMessage());
+        }
+    }
+
+    static boolean isExplainable(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return EXPLAINABLE.contains(trimmed.substring(0, end).toLowerCase(Locale.ROOT));
+    }
+
+    /** {@code (UUID, Timestamp, null)}: the Java types the parameters were bound as. */
+    static String bindShape(Object[] binds) {
+        StringJoiner shape = new StringJoiner(", ", "(", ")");
+        for (Object bind : binds) {
+            shape.add(bind == null || bind instanceof NullValue ? "null" : bind.getClass().getSimpleName());
+        }
+        return shape.toString();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** A parameter bound with {@code setNull}, keeping its type for the EXPLAIN. */
+    private record NullValue(int sqlType) {}
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "unwrap" -> {
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : target.unwrap((Class<?>) args[0]);
+                }
+                case "isWrapperFor" -> {
+                    return ((Class<?>) args[0]).isInstance(proxy) || target.isWrapperFor((Class<?>) args[0]);
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                    Object result = SlowQueryDataSource.invoke(target, method, args);
+                    if (result instanceof Statement statement) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        return wrapStatement(statement, sql);
+                    }
+                    return result;
+                }
+            }
+        }
+
+        private Statement wrapStatement(Statement statement, String sql) {
+            Class<?> type = statement instanceof CallableStatement
+                    ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return (Statement) Proxy.newProxyInstance(
+                    type.getClassLoader(), new Class<?>[] {type}, new StatementHandler(statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private Object[] binds = new Object[0];
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? new NullValue((Integer) args[1]) : args[1]);
+            } else if (name.equals("clearParameters")) {
+                binds = new Object[0];
+            } else if (name.equals("unwrap")) {
+                return ((Class<?>) args[0]).isInstance(proxy) ? proxy : target.unwrap((Class<?>) args[0]);
+            } else if (name.equals("isWrapperFor")) {
+                return ((Class<?>) args[0]).isInstance(proxy) || target.isWrapperFor((Class<?>) args[0]);
+            } else if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            } else if (EXECUTE_METHODS.contains(name)) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                long start = System.nanoTime();
+                try {
+                    return SlowQueryDataSource.invoke(target, method, args);
+                } finally {
+                    if (sql != null) {
+                        executed(sql, sql == preparedSql ? binds : new Object[0], System.nanoTime() - start);
+                    }
+                }
+            }
+            return SlowQueryDataSource.invoke(target, method, args);
+        }
+
+        private void bind(int index, Object value) {
+            if (index > binds.length) {
+                binds = Arrays.copyOf(binds, index);
+            }
+            binds[index - 1] = value;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.coffeeshop.infrastructure.diagnostics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Aggregates slow SQL statements by their normalized text, with the shapes of their bind
+ * parameters and the latest {@code EXPLAIN} plan.
+ *
+ * <p>At most {@code maxQueries} statements are kept. A statement not seen before replaces the one
+ * with the least total time when that is less than its own duration; evicted statements are
+ * counted in {@link #evictedCount()}.
+ */
+public class SlowQueryLog {
+    private static final int MAX_BIND_SHAPES = 5;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int maxQueries;
+    private final Duration planTtl;
+    private final Clock clock;
+    private final Map<String, Stats> bySql = new ConcurrentHashMap<>();
+    private final ReentrantLock admission = new ReentrantLock();
+    private final LongAdder evicted = new LongAdder();
+
+    public SlowQueryLog(int maxQueries, Duration planTtl) {
+        this(maxQueries, planTtl, Clock.systemUTC());
+    }
+
+    SlowQueryLog(int maxQueries, Duration planTtl, Clock clock) {
+        this.maxQueries = maxQueries;
+        this.planTtl = planTtl;
+        this.clock = clock;
+    }
+
+    /**
+     * Collapses literals and {@code IN} lists to {@code ?} and whitespace to single spaces, so
+     * executions of the same statement are counted together.
+     */
+    public static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    /**
+     * Records one slow execution.
+     *
+     * @return whether a plan should be captured for the statement: it has none, or it is older
+     *     than the plan TTL, and no capture is in progress. The caller must then report back
+     *     through {@link #planCaptured} or {@link #planFailed}.
+     */
+    public boolean record(String normalizedSql, String bindShape, Duration duration) {
+        Stats stats = bySql.get(normalizedSql);
+        if (stats == null) {
+            stats = admit(normalizedSql, duration.toNanos());
+            if (stats == null) {
+                return false;
+            }
+        }
+        stats.record(bindShape, duration.toNanos(), clock.instant());
+        return stats.claimPlan(clock.instant(), planTtl);
+    }
+
+    private Stats admit(String normalizedSql, long nanos) {
+        admission.lock();
+        try {
+            Stats existing = bySql.get(normalizedSql);
+            if (existing != null) {
+                return existing;
+            }
+            if (bySql.size() >= maxQueries) {
+                Map.Entry<String, Stats> least = bySql.entrySet().stream()
+                        .min(Comparator.comparingLong(entry -> entry.getValue().totalNanos.sum()))
+                        .orElseThrow();
+                if (least.getValue().totalNanos.sum() >= nanos) {
+                    evicted.increment();
+                    return null;
+                }
+                bySql.remove(least.getKey());
+                evicted.increment();
+            }
+            Stats stats = new Stats();
+            bySql.put(normalizedSql, stats);
+            return stats;
+        } finally {
+            admission.unlock();
+        }
+    }
+
+    public void planCaptured(String normalizedSql, String plan) {
+        Stats stats = bySql.get(normalizedSql);
+        if (stats != null) {
+            stats.plan = plan;
+            stats.planCapturedAt = clock.instant();
+            stats.planPending.set(false);
+        }
+    }
+
+    /** Keeps the error in place of a plan; it is retried once the plan TTL has passed. */
+    public void planFailed(String normalizedSql, String error) {
+        planCaptured(normalizedSql, "EXPLAIN failed: " + error);
+    }
+
+    public record SlowQuery(
+            String sql,
+            long count,
+            Duration total,
+            Duration max,
+            Instant lastSeen,
+            Set<String> bindShapes,
+            String plan,
+            Instant planCapturedAt) {}
+
+    /** Returns the {@code limit} statements with the most total time. */
+    public List<SlowQuery> top(int limit) {
+        return bySql.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparing(SlowQuery::total).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /** Statements dropped to make room, or not admitted because the log was full. */
+    public long evictedCount() {
+        return evicted.sum();
+    }
+
+    public void clear() {
+        bySql.clear();
+        evicted.reset();
+    }
+
+    private static final class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final Set<String> bindShapes = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean planPending = new AtomicBoolean();
+        private volatile Instant lastSeen;
+        private volatile String plan;
+        private volatile Instant planCapturedAt;
+
+        void record(String bindShape, long nanos, Instant now) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            lastSeen = now;
+            if (bindShapes.size() < MAX_BIND_SHAPES) {
+                bindShapes.add(bindShape);
+            }
+        }
+
+        boolean claimPlan(Instant now, Duration planTtl) {
+            Instant capturedAt = planCapturedAt;
+            boolean stale = capturedAt == null || capturedAt.plus(planTtl).isBefore(now);
+            return stale && planPending.compareAndSet(false, true);
+        }
+
+        SlowQuery snapshot(String sql) {
+            return new SlowQuery(
+                    sql,
+                    count.sum(),
+                    Duration.ofNanos(totalNanos.sum()),
+                    Duration.ofNanos(maxNanos.get()),
+                    lastSeen,
+                    Set.copyOf(bindShapes),
+                    plan,
+                    planCapturedAt);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.coffeeshop.infrastructure.diagnostics;
+
+import java.io.IOException;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/virtualthreads}: GET returns the pinning hot spots collected by
+ * {@link JfrDiagnostics}; POST writes a JFR dump of the recent events and returns its path.
+ */
+@Component
+@ConditionalOnProperty(name = "app.diagnostics.jfr.enabled", havingValue = "true", matchIfMissing = true)
+@Endpoint(id = "virtualthreads")
+public class VirtualThreadsEndpoint {
+    private static final int TOP_HOT_SPOTS = 20;
+
+    private final JfrDiagnostics diagnostics;
+
+    public VirtualThreadsEndpoint(JfrDiagnostics diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> hotSpots() {
+        PinningHotSpots hotSpots = diagnostics.getHotSpots();
+        return Map.of(
+                "pinningHotSpots", hotSpots.top(TOP_HOT_SPOTS),
+                "untrackedPinnedEvents", hotSpots.untrackedCount(),
+                "submitFailed", (long) diagnostics.getSubmitFailedCount());
+    }
+
+    @WriteOperation
+    public Map<String, Object> dump() throws IOException {
+        return Map.of("file", diagnostics.dump().toString());
+    }
+}
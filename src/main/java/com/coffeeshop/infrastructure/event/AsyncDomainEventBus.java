@@ -0,0 +1,298 @@
+package com.coffeeshop.infrastructure.event;
+
+import com.coffeeshop.domain.shared.DomainEvent;
+import com.coffeeshop.domain.shared.DomainEventHandler;
+import com.coffeeshop.domain.shared.DomainEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * In-process {@link DomainEventPublisher} that gives every {@link DomainEventHandler} its own
+ * bounded buffer and consumer virtual thread.
+ *
+ * <p>Publishing only enqueues, so a slow handler delays its own backlog and nothing else. When a
+ * buffer is full the {@link OverflowPolicy} decides whether the publisher waits briefly or an
+ * event is dropped; drops are counted. Consumers drain up to {@code app.events.batch-size}
+ * events at a time and pass them to {@link DomainEventHandler#handleBatch(List)}.
+ *
+ * <p>{@link #deliver(DomainEvent)} reports when every handler has processed the event, so a
+ * caller that must not lose it can wait for the handlers and retry on failure.
+ *
+ * <p>Buffer size and overflow policy can be overridden per handler under
+ * {@code app.events.handlers.<HandlerClassName>}.
+ */
+@Component
+public class AsyncDomainEventBus implements DomainEventPublisher, SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(AsyncDomainEventBus.class);
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final ObjectProvider<DomainEventHandler<?>> handlerProvider;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final int bufferSize;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration blockTimeout;
+    private final Duration shutdownTimeout;
+
+    private final Map<Class<?>, List<Subscription>> routes = new ConcurrentHashMap<>();
+    private volatile List<Subscription> subscriptions = List.of();
+    private volatile boolean running;
+
+    public AsyncDomainEventBus(
+            ObjectProvider<DomainEventHandler<?>> handlerProvider,
+            MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${app.events.buffer-size:1024}") int bufferSize,
+            @Value("${app.events.batch-size:64}") int batchSize,
+            @Value("${app.events.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+            @Value("${app.events.block-timeout:50ms}") Duration blockTimeout,
+            @Value("${app.events.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.handlerProvider = handlerProvider;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.bufferSize = bufferSize;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = blockTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        deliver(event);
+    }
+
+    /**
+     * Enqueues {@code event} for every handler of its type.
+     *
+     * @return completes once every handler has processed the event, or exceptionally if the bus
+     *     is stopped, a buffer rejected or evicted the event, or a handler threw
+     */
+    public CompletableFuture<Void> deliver(DomainEvent event) {
+        List<Subscription> targets = routes.computeIfAbsent(event.getClass(), this::subscribersOf);
+        if (targets.isEmpty()) {
+            log.debug("No handler for {}", event.getClass().getSimpleName());
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!running) {
+            log.warn("Event bus is not running, dropping {}", event);
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Event bus is not running"));
+        }
+        CompletableFuture<?>[] handled = new CompletableFuture<?>[targets.size()];
+        for (int i = 0; i < handled.length; i++) {
+            handled[i] = targets.get(i).offer(event);
+        }
+        return CompletableFuture.allOf(handled);
+    }
+
+    private List<Subscription> subscribersOf(Class<?> eventType) {
+        return subscriptions.stream()
+                .filter(subscription -> subscription.handler.eventType().isAssignableFrom(eventType))
+                .toList();
+    }
+
+    @Override
+    public void start() {
+        List<Subscription> created = new ArrayList<>();
+        handlerProvider.orderedStream().forEach(handler -> created.add(new Subscription(handler)));
+        subscriptions = List.copyOf(created);
+        routes.clear();
+        running = true;
+        subscriptions.forEach(Subscription::start);
+        log.info("Domain event bus started with {} handlers", subscriptions.size());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Subscription subscription : subscriptions) {
+            subscription.awaitTermination(deadline);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Below the web server ({@code DEFAULT_PHASE - 2048}): start before it accepts requests and
+     * stop only after its graceful shutdown has drained them, so in-flight requests can still publish.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private record Envelope(
+            DomainEvent event, long enqueuedAtNanos, CompletableFuture<Void> handled) {}
+
+    private final class Subscription {
+        private final DomainEventHandler<DomainEvent> handler;
+        private final String name;
+        private final ArrayBlockingQueue<Envelope> buffer;
+        private final OverflowPolicy policy;
+        private final Timer latency;
+        private final Timer lag;
+        private final Counter handled;
+        private final Counter failures;
+        private final Counter dropped;
+        private Thread consumer;
+
+        @SuppressWarnings("unchecked")
+        Subscription(DomainEventHandler<?> handler) {
+            this.handler = (DomainEventHandler<DomainEvent>) handler;
+            this.name = ClassUtils.getUserClass(handler).getSimpleName();
+            String prefix = "app.events.handlers." + name + ".";
+            this.buffer = new ArrayBlockingQueue<>(
+                    environment.getProperty(prefix + "buffer-size", Integer.class, bufferSize));
+            this.policy = environment.getProperty(
+                    prefix + "overflow-policy", OverflowPolicy.class, overflowPolicy);
+
+            String event = handler.eventType().getSimpleName();
+            this.latency = Timer.builder("domain.events.handler.latency")
+                    .description("Time spent in a handler per batch")
+                    .tag("handler", name)
+                    .tag("event", event)
+                    .register(meterRegistry);
+            this.lag = Timer.builder("domain.events.handler.lag")
+                    .description("Time from publish until a handler starts on the event")
+                    .tag("handler", name)
+                    .tag("event", event)
+                    .register(meterRegistry);
+            this.handled = Counter.builder("domain.events.handled")
+                    .tag("handler", name)
+                    .register(meterRegistry);
+            this.failures = Counter.builder("domain.events.handler.failures")
+                    .tag("handler", name)
+                    .register(meterRegistry);
+            this.dropped = Counter.builder("domain.events.dropped")
+                    .tag("handler", name)
+                    .tag("policy", policy.name())
+                    .register(meterRegistry);
+            Gauge.builder("domain.events.buffer.size", buffer, ArrayBlockingQueue::size)
+                    .description("Events waiting for a handler")
+                    .tag("handler", name)
+                    .register(meterRegistry);
+        }
+
+        CompletableFuture<Void> offer(DomainEvent event) {
+            Envelope envelope = new Envelope(event, System.nanoTime(), new CompletableFuture<>());
+            boolean accepted = switch (policy) {
+                case DROP_NEWEST -> buffer.offer(envelope);
+                case DROP_OLDEST -> offerEvictingOldest(envelope);
+                case BLOCK -> offerWaiting(envelope);
+            };
+            if (!accepted) {
+                drop(envelope);
+            }
+            return envelope.handled();
+        }
+
+        private boolean offerEvictingOldest(Envelope envelope) {
+            while (!buffer.offer(envelope)) {
+                Envelope evicted = buffer.poll();
+                if (evicted != null) {
+                    drop(evicted);
+                }
+            }
+            return true;
+        }
+
+        private void drop(Envelope envelope) {
+            dropped.increment();
+            log.warn("Buffer of {} is full, dropped {}", name, envelope.event());
+            envelope.handled().completeExceptionally(
+                    new IllegalStateException("Buffer of " + name + " is full"));
+        }
+
+        private boolean offerWaiting(Envelope envelope) {
+            try {
+                return buffer.offer(envelope, blockTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        void start() {
+            consumer = Thread.ofVirtual().name("event-handler-" + name).start(this::consume);
+        }
+
+        private void consume() {
+            List<Envelope> batch = new ArrayList<>(batchSize);
+            while (running || !buffer.isEmpty()) {
+                try {
+                    Envelope first = buffer.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    buffer.drainTo(batch, batchSize - 1);
+                    dispatch(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        private void dispatch(List<Envelope> batch) {
+            long startedAt = System.nanoTime();
+            List<DomainEvent> events = new ArrayList<>(batch.size());
+            for (Envelope envelope : batch) {
+                lag.record(startedAt - envelope.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+                events.add(envelope.event());
+            }
+            try {
+                handler.handleBatch(events);
+                handled.increment(events.size());
+                batch.forEach(envelope -> envelope.handled().complete(null));
+            } catch (Exception e) {
+                failures.increment(events.size());
+                log.error("Handler {} failed on a batch of {} events", name, events.size(), e);
+                batch.forEach(envelope -> envelope.handled().completeExceptionally(e));
+            } finally {
+                latency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void awaitTermination(long deadlineNanos) {
+            if (consumer == null) {
+                return;
+            }
+            try {
+                long remaining = deadlineNanos - System.nanoTime();
+                if (remaining <= 0 || !consumer.join(Duration.ofNanos(remaining))) {
+                    log.warn("Handler {} did not finish, {} events left", name, buffer.size());
+                    consumer.interrupt();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
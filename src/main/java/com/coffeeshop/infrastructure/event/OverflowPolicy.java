@@ -0,0 +1,11 @@
+package com.coffeeshop.infrastructure.event;
+
+/** What {@link AsyncDomainEventBus} does when a handler's buffer is full. */
+public enum OverflowPolicy {
+    /** Wait up to {@code app.events.block-timeout} for space, then drop the new event. */
+    BLOCK,
+    /** Drop the event being published. */
+    DROP_NEWEST,
+    /** Evict the oldest buffered event to make room. */
+    DROP_OLDEST
+}
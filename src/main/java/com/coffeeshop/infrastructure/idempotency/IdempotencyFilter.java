@@ -0,0 +1,223 @@
+package com.coffeeshop.infrastructure.idempotency;
+
+import com.coffeeshop.api.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Makes order creation and payment safe to retry by honouring the {@value #IDEMPOTENCY_KEY_HEADER}
+ * header.
+ *
+ * <p>Keys are scoped to the authenticated principal. A retry with the same key and body replays
+ * the recorded response; the same key with a different request is rejected with 422. Responses
+ * with a 5xx status are not recorded, so the client can retry them.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String PROBLEM_TYPE_BASE = "https://api.coffee-shop.com/problems/";
+
+    private static final RequestMatcher IDEMPOTENT_ENDPOINTS = new OrRequestMatcher(
+            AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/v1/orders"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/v1/orders/*/pay"));
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !IDEMPOTENT_ENDPOINTS.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeProblem(request, response, HttpStatus.BAD_REQUEST, "invalid-idempotency-key",
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        String key = sha256(authentication.getName() + ":" + idempotencyKey);
+        String requestHash = sha256(
+                request.getMethod() + " " + request.getRequestURI() + "\n"
+                        + new String(body, StandardCharsets.UTF_8));
+
+        switch (idempotencyStore.begin(key, requestHash)) {
+            case IdempotencyStore.Outcome.Replay replay -> {
+                log.debug("Replaying response for idempotency key {}", idempotencyKey);
+                StoredResponse stored = replay.response();
+                response.setStatus(stored.statusCode());
+                response.setHeader(REPLAYED_HEADER, "true");
+                if (stored.body() != null) {
+                    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                    response.getWriter().write(stored.body());
+                }
+            }
+            case IdempotencyStore.Outcome.Mismatch mismatch -> writeProblem(
+                    request, response, HttpStatus.UNPROCESSABLE_ENTITY, "idempotency-key-reused",
+                    "Idempotency-Key was already used for a different request");
+            case IdempotencyStore.Outcome.InProgress inProgress -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                writeProblem(request, response, HttpStatus.CONFLICT, "idempotency-key-in-progress",
+                        "A request with this Idempotency-Key is still being processed");
+            }
+            case IdempotencyStore.Outcome.Claimed claimed ->
+                    execute(new CachedBodyRequest(request, body), response, filterChain, key, requestHash);
+        }
+    }
+
+    private void execute(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain,
+            String key,
+            String requestHash)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean recorded = false;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            int status = responseWrapper.getStatus();
+            if (status < 500) {
+                String responseBody = new String(
+                        responseWrapper.getContentAsByteArray(), StandardCharsets.UTF_8);
+                idempotencyStore.complete(key, new StoredResponse(requestHash, status, responseBody));
+                recorded = true;
+            }
+        } finally {
+            if (!recorded) {
+                idempotencyStore.abandon(key);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void writeProblem(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            HttpStatus status,
+            String type,
+            String detail)
+            throws IOException {
+        ErrorResponse error = ErrorResponse.of(
+                PROBLEM_TYPE_BASE + type,
+                status.getReasonPhrase(),
+                status.value(),
+                detail,
+                request.getRequestURI());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /** The body is already buffered, so it is available, and then read, right away. */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
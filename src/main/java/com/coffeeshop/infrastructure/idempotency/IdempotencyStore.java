@@ -0,0 +1,211 @@
+package com.coffeeshop.infrastructure.idempotency;
+
+import com.coffeeshop.application.scheduling.ClusterJobRunner;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records responses per idempotency key in the {@code idempotency_keys} table.
+ *
+ * <p>Completed responses are kept in an in-memory cache in front of the table. A key is claimed
+ * with a single upsert before the request runs, so only one node executes it; duplicates arriving
+ * on the same node wait for that execution instead of polling the table. A claim whose node died
+ * can be taken over once it is older than {@code app.idempotency.in-flight-timeout}.
+ */
+@Component
+public class IdempotencyStore {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, StoredResponse> completed;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final long ttlHours;
+    private final Duration inFlightTimeout;
+    private final Duration waitTimeout;
+    private final int sweepBatchSize;
+    private final int sweepPartitions;
+    private final ClusterJobRunner clusterJobRunner;
+
+    public IdempotencyStore(
+            JdbcTemplate jdbcTemplate,
+            ClusterJobRunner clusterJobRunner,
+            @Value("${app.idempotency.ttl-hours}") long ttlHours,
+            @Value("${app.idempotency.in-flight-timeout:60s}") Duration inFlightTimeout,
+            @Value("${app.idempotency.wait-timeout:30s}") Duration waitTimeout,
+            @Value("${app.idempotency.cache-size:10000}") long cacheSize,
+            @Value("${app.idempotency.sweep-batch-size:1000}") int sweepBatchSize,
+            @Value("${app.idempotency.sweep-partitions:4}") int sweepPartitions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlHours = ttlHours;
+        this.inFlightTimeout = inFlightTimeout;
+        this.waitTimeout = waitTimeout;
+        this.sweepBatchSize = sweepBatchSize;
+        this.sweepPartitions = sweepPartitions;
+        this.clusterJobRunner = clusterJobRunner;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofHours(ttlHours))
+                .build();
+    }
+
+    /** Outcome of {@link #begin}. */
+    public sealed interface Outcome {
+        /** The caller owns the key and must call {@link #complete} or {@link #abandon}. */
+        record Claimed() implements Outcome {}
+
+        /** A response for this key exists and was produced by the same request. */
+        record Replay(StoredResponse response) implements Outcome {}
+
+        /** The key was already used for a different request. */
+        record Mismatch() implements Outcome {}
+
+        /** Another node is still executing the request for this key. */
+        record InProgress() implements Outcome {}
+    }
+
+    public Outcome begin(String key, String requestHash) {
+        StoredResponse cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return replayOrMismatch(cached, requestHash);
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return awaitLocal(existing, requestHash);
+        }
+
+        int claimed = jdbcTemplate.update(
+                "INSERT INTO idempotency_keys (key, request_hash, created_at, expires_at) "
+                        + "VALUES (?, ?, now(), now() + make_interval(hours => ?)) "
+                        + "ON CONFLICT (key) DO UPDATE SET request_hash = EXCLUDED.request_hash, "
+                        + "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at, "
+                        + "status_code = NULL, response_body = NULL "
+                        + "WHERE idempotency_keys.expires_at < now() "
+                        + "OR (idempotency_keys.status_code IS NULL "
+                        + "AND idempotency_keys.created_at < now() - make_interval(secs => ?))",
+                key,
+                requestHash,
+                (int) ttlHours,
+                (double) inFlightTimeout.toSeconds());
+        if (claimed == 1) {
+            return new Outcome.Claimed();
+        }
+
+        StoredResponse stored = findCompleted(key);
+        inFlight.remove(key, mine);
+        mine.complete(stored);
+        if (stored == null) {
+            return new Outcome.InProgress();
+        }
+        // Not cached: the row may be close to expires_at, and the cache would keep it a full TTL
+        return replayOrMismatch(stored, requestHash);
+    }
+
+    public void complete(String key, StoredResponse response) {
+        try {
+            jdbcTemplate.update(
+                    "UPDATE idempotency_keys SET status_code = ?, response_body = ? WHERE key = ?",
+                    response.statusCode(),
+                    response.body(),
+                    key);
+            completed.put(key, response);
+        } finally {
+            CompletableFuture<StoredResponse> future = inFlight.remove(key);
+            if (future != null) {
+                future.complete(response);
+            }
+        }
+    }
+
+    /**
+     * Releases a claim without recording a response, so that a retry executes the request again.
+     */
+    public void abandon(String key) {
+        try {
+            jdbcTemplate.update(
+                    "DELETE FROM idempotency_keys WHERE key = ? AND status_code IS NULL", key);
+        } finally {
+            CompletableFuture<StoredResponse> future = inFlight.remove(key);
+            if (future != null) {
+                future.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Deletes expired keys in batches, walking the {@code expires_at} index. Keys are split into
+     * {@code app.idempotency.sweep-partitions} hash partitions that nodes sweep in parallel.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.sweep-interval:5m}")
+    public void sweepExpired() {
+        clusterJobRunner.runPartitioned("idempotency-sweep", sweepPartitions, this::sweepPartition);
+    }
+
+    private void sweepPartition(int partition) {
+        int total = 0;
+        int deleted;
+        do {
+            // Masking the sign bit keeps the hash non-negative; abs() overflows on the smallest
+            // integer and would fail that key's partition on every sweep
+            deleted = jdbcTemplate.update(
+                    "DELETE FROM idempotency_keys WHERE key IN ("
+                            + "SELECT key FROM idempotency_keys WHERE expires_at < now() "
+                            + "AND mod(hashtext(key) & 2147483647, ?) = ? "
+                            + "ORDER BY expires_at LIMIT ?)",
+                    sweepPartitions,
+                    partition,
+                    sweepBatchSize);
+            total += deleted;
+        } while (deleted == sweepBatchSize);
+
+        if (total > 0) {
+            log.info("Deleted {} expired idempotency keys from partition {}", total, partition);
+        }
+    }
+
+    private Outcome awaitLocal(CompletableFuture<StoredResponse> execution, String requestHash) {
+        try {
+            StoredResponse response =
+                    execution.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return response == null ? new Outcome.InProgress() : replayOrMismatch(response, requestHash);
+        } catch (TimeoutException | ExecutionException e) {
+            return new Outcome.InProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Outcome.InProgress();
+        }
+    }
+
+    private StoredResponse findCompleted(String key) {
+        List<StoredResponse> rows = jdbcTemplate.query(
+                "SELECT request_hash, status_code, response_body FROM idempotency_keys "
+                        + "WHERE key = ? AND status_code IS NOT NULL AND expires_at > now()",
+                (rs, rowNum) -> new StoredResponse(
+                        rs.getString("request_hash"),
+                        rs.getInt("status_code"),
+                        rs.getString("response_body")),
+                key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private static Outcome replayOrMismatch(StoredResponse response, String requestHash) {
+        return response.requestHash().equals(requestHash)
+                ? new Outcome.Replay(response)
+                : new Outcome.Mismatch();
+    }
+}
@@ -0,0 +1,7 @@
+package com.coffeeshop.infrastructure.idempotency;
+
+/**
+ * Response recorded for an idempotency key, together with the hash of the request that produced
+ * it.
+ */
+public record StoredResponse(String requestHash, int statusCode, String body) {}
@@ -0,0 +1,54 @@
+package com.coffeeshop.infrastructure.observability;
+
+import com.coffeeshop.application.service.OrderObservations;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Observes borrowing a connection as the {@link OrderObservations#CONNECTION_ACQUIRE} phase when
+ * it happens inside an order operation. Other callers pass straight through; the pool's own
+ * {@code hikaricp.connections.acquire} timer still covers them.
+ */
+public class ConnectionAcquireObservingDataSource extends DelegatingDataSource {
+    private final ObservationRegistry observationRegistry;
+
+    public ConnectionAcquireObservingDataSource(
+            DataSource target, ObservationRegistry observationRegistry) {
+        super(target);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Observation current = observationRegistry.getCurrentObservation();
+        String operation = OrderObservations.operationOf(current);
+        if (operation == null) {
+            return super.getConnection();
+        }
+        return OrderObservations.phase(
+                        observationRegistry,
+                        current,
+                        operation,
+                        OrderObservations.CONNECTION_ACQUIRE)
+                .<Connection, SQLException>observeChecked(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Observation current = observationRegistry.getCurrentObservation();
+        String operation = OrderObservations.operationOf(current);
+        if (operation == null) {
+            return super.getConnection(username, password);
+        }
+        return OrderObservations.phase(
+                        observationRegistry,
+                        current,
+                        operation,
+                        OrderObservations.CONNECTION_ACQUIRE)
+                .<Connection, SQLException>observeChecked(() -> super.getConnection(username, password));
+    }
+}
@@ -0,0 +1,45 @@
+package com.coffeeshop.infrastructure.observability;
+
+import com.coffeeshop.application.service.OrderObservations;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the order phases that call other services (discount and shipping) to the current
+ * {@link RequestTiming}. The phases run on forked virtual threads, which inherit the request's
+ * scoped timing.
+ */
+@Component
+public class ExternalCallTimingHandler implements ObservationHandler<Observation.Context> {
+    private static final Set<String> EXTERNAL_PHASES =
+            Set.of(OrderObservations.DISCOUNT, OrderObservations.SHIPPING);
+    private static final String START = ExternalCallTimingHandler.class.getName() + ".start";
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        if (!OrderObservations.PHASE.equals(context.getName())) {
+            return false;
+        }
+        KeyValue phase = context.getLowCardinalityKeyValue(OrderObservations.PHASE_KEY);
+        return phase != null && EXTERNAL_PHASES.contains(phase.getValue());
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        context.put(START, System.nanoTime());
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        RequestTiming timing = RequestTiming.current();
+        Long start = context.get(START);
+        if (timing != null && start != null) {
+            timing.recordExternal(
+                    context.getLowCardinalityKeyValue(OrderObservations.PHASE_KEY).getValue(),
+                    System.nanoTime() - start);
+        }
+    }
+}
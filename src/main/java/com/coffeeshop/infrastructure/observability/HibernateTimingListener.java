@@ -0,0 +1,55 @@
+package com.coffeeshop.infrastructure.observability;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Adds the JDBC work of a Hibernate session to the current {@link RequestTiming}: every statement
+ * or batch execution with its duration, and the wait for a pooled connection. Hibernate creates
+ * one instance per session, so the start timestamps need no synchronization.
+ *
+ * <p>Registered through {@code hibernate.session.events.auto}.
+ */
+public class HibernateTimingListener extends BaseSessionEventListener {
+    private long acquisitionStart;
+    private long executionStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquisitionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.recordPoolWait(System.nanoTime() - acquisitionStart);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        recordExecution();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        recordExecution();
+    }
+
+    private void recordExecution() {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.recordStatement(System.nanoTime() - executionStart);
+        }
+    }
+}
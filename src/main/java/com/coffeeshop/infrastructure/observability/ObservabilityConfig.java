@@ -0,0 +1,42 @@
+package com.coffeeshop.infrastructure.observability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+@Configuration
+public class ObservabilityConfig {
+
+    /**
+     * Wraps the application {@link DataSource} so connection waits inside order operations are
+     * observed. Static, and resolving the registry lazily, so that registering the post-processor
+     * does not initialize other beans early.
+     */
+    @Bean
+    public static BeanPostProcessor connectionAcquireObservingDataSourcePostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource
+                        && !(bean instanceof ConnectionAcquireObservingDataSource)) {
+                    return new ConnectionAcquireObservingDataSource(
+                            dataSource, observationRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /** Replaces Spring Boot's Jackson converter so serialization shows up in Server-Timing. */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+}
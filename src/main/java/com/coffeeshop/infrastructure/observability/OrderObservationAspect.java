@@ -0,0 +1,48 @@
+package com.coffeeshop.infrastructure.observability;
+
+import com.coffeeshop.application.service.OrderObservations;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observes whole {@code OrderService} write operations as {@link OrderObservations#OPERATION}.
+ *
+ * <p>Ordered ahead of the transaction interceptor so that the observation is already current
+ * when the transaction borrows its connection; {@link ConnectionAcquireObservingDataSource} then
+ * attributes the pool wait to the operation.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OrderObservationAspect {
+    private final ObservationRegistry observationRegistry;
+
+    public OrderObservationAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Around("execution(* com.coffeeshop.application.service.OrderService.createOrder(..))")
+    public Object createOrder(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(OrderObservations.CREATE, joinPoint);
+    }
+
+    @Around("execution(* com.coffeeshop.application.service.OrderService.payOrder(..))")
+    public Object payOrder(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(OrderObservations.PAY, joinPoint);
+    }
+
+    @Around("execution(* com.coffeeshop.application.service.OrderService.cancelOrder(..))")
+    public Object cancelOrder(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(OrderObservations.CANCEL, joinPoint);
+    }
+
+    private Object observe(String operation, ProceedingJoinPoint joinPoint) throws Throwable {
+        return OrderObservations.operation(observationRegistry, operation)
+                .<Object, Throwable>observeChecked(joinPoint::proceed);
+    }
+}
@@ -0,0 +1,107 @@
+package com.coffeeshop.infrastructure.observability;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Where the time of one request went: database, pool wait, external calls and response
+ * serialization.
+ *
+ * <p>Bound to a {@link ScopedValue} by {@link ServerTimingFilter}, so it is also visible to
+ * subtasks forked with {@code StructuredTaskScope}; all counters are therefore thread-safe.
+ */
+public final class RequestTiming {
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    static final ScopedValue<RequestTiming> CURRENT = ScopedValue.newInstance();
+
+    private final long startNanos = System.nanoTime();
+    private final boolean headerRequested;
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder dbNanos = new LongAdder();
+    private final LongAdder poolWaitNanos = new LongAdder();
+    private final LongAdder serializationNanos = new LongAdder();
+    private final Map<String, LongAdder> externalNanos = new ConcurrentHashMap<>();
+    private volatile boolean headerWritten;
+
+    RequestTiming(boolean headerRequested) {
+        this.headerRequested = headerRequested;
+    }
+
+    /** The timing of the current request, or {@code null} when it is not being timed. */
+    public static RequestTiming current() {
+        return CURRENT.isBound() ? CURRENT.get() : null;
+    }
+
+    public void recordStatement(long nanos) {
+        statements.increment();
+        dbNanos.add(nanos);
+    }
+
+    public void recordPoolWait(long nanos) {
+        poolWaitNanos.add(nanos);
+    }
+
+    public void recordExternal(String call, long nanos) {
+        externalNanos.computeIfAbsent(call, key -> new LongAdder()).add(nanos);
+    }
+
+    public void recordSerialization(long nanos) {
+        serializationNanos.add(nanos);
+    }
+
+    public boolean isHeaderRequested() {
+        return headerRequested;
+    }
+
+    public long statements() {
+        return statements.sum();
+    }
+
+    public long dbNanos() {
+        return dbNanos.sum();
+    }
+
+    public long poolWaitNanos() {
+        return poolWaitNanos.sum();
+    }
+
+    public long serializationNanos() {
+        return serializationNanos.sum();
+    }
+
+    public Map<String, Long> externalNanos() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        externalNanos.forEach((call, nanos) -> snapshot.put(call, nanos.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Renders the {@code Server-Timing} value and marks the header as written, so the filter
+     * does not add it a second time.
+     */
+    public String writeHeader() {
+        headerWritten = true;
+        StringBuilder value = new StringBuilder();
+        value.append("db;dur=").append(millis(dbNanos()))
+                .append(";desc=\"").append(statements()).append(" statements\"")
+                .append(", pool;dur=").append(millis(poolWaitNanos()));
+        externalNanos().forEach((call, nanos) ->
+                value.append(", ").append(call).append(";dur=").append(millis(nanos)));
+        value.append(", ser;dur=").append(millis(serializationNanos()))
+                .append(", total;dur=").append(millis(System.nanoTime() - startNanos));
+        return value.toString();
+    }
+
+    public boolean isHeaderWritten() {
+        return headerWritten;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
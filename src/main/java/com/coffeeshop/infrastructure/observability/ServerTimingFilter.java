@@ -0,0 +1,123 @@
+package com.coffeeshop.infrastructure.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times where each request spends its time (see {@link RequestTiming}) and reports it as a
+ * {@code Server-Timing} response header, as metrics per controller method, or both.
+ *
+ * <p>The header is added for admins who send {@value #REQUEST_HEADER}{@code : true} and for a
+ * random {@code sampleRate} share of all requests. Must run after authentication.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+
+    private final double sampleRate;
+    private final MeterRegistry meterRegistry;
+    private final boolean recordMetrics;
+
+    /**
+     * @param meterRegistry where the breakdown is recorded per controller method, or {@code null}
+     *     to only report it in the header
+     */
+    public ServerTimingFilter(double sampleRate, MeterRegistry meterRegistry) {
+        this.sampleRate = sampleRate;
+        this.meterRegistry = meterRegistry;
+        this.recordMetrics = meterRegistry != null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean headerRequested = isRequestedByAdmin(request) || isSampled();
+        if (!headerRequested && !recordMetrics) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTiming timing = new RequestTiming(headerRequested);
+        try {
+            ScopedValue.where(RequestTiming.CURRENT, timing).call(() -> {
+                filterChain.doFilter(request, response);
+                return null;
+            });
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        } finally {
+            if (headerRequested && !timing.isHeaderWritten() && !response.isCommitted()) {
+                response.setHeader(RequestTiming.SERVER_TIMING, timing.writeHeader());
+            }
+            if (recordMetrics) {
+                record(request, timing);
+            }
+        }
+    }
+
+    private boolean isRequestedByAdmin(HttpServletRequest request) {
+        if (!Boolean.parseBoolean(request.getHeader(REQUEST_HEADER))) {
+            return false;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null
+                && authentication.getAuthorities().stream()
+                        .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    private boolean isSampled() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private void record(HttpServletRequest request, RequestTiming timing) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)
+                instanceof HandlerMethod handler)) {
+            return;
+        }
+        Tags tags = Tags.of(
+                "controller", handler.getBeanType().getSimpleName(),
+                "method", handler.getMethod().getName());
+        Timer.builder("http.server.breakdown.db")
+                .description("Time spent executing SQL statements per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(timing.dbNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("http.server.breakdown.db.statements")
+                .description("SQL statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(timing.statements());
+        Timer.builder("http.server.breakdown.pool_wait")
+                .description("Time spent waiting for pooled connections per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(timing.poolWaitNanos(), TimeUnit.NANOSECONDS);
+        timing.externalNanos().forEach((call, nanos) -> Timer.builder("http.server.breakdown.external")
+                .description("Time spent in calls to other services per request")
+                .tags(tags)
+                .tag("call", call)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS));
+        Timer.builder("http.server.breakdown.serialization")
+                .description("Time spent serializing the response body per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(timing.serializationNanos(), TimeUnit.NANOSECONDS);
+    }
+}
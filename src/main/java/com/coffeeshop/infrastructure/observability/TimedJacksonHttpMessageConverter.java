@@ -0,0 +1,59 @@
+package com.coffeeshop.infrastructure.observability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Times JSON serialization for the current {@link RequestTiming}. When the request asked for
+ * {@code Server-Timing}, the body is serialized into a buffer first so that the header, which
+ * includes the serialization time, can still be set before the response is committed.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        if (!timing.isHeaderRequested()) {
+            long start = System.nanoTime();
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                timing.recordSerialization(System.nanoTime() - start);
+            }
+            return;
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        long start = System.nanoTime();
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        timing.recordSerialization(System.nanoTime() - start);
+        outputMessage.getHeaders().set(RequestTiming.SERVER_TIMING, timing.writeHeader());
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,20 @@
+package com.coffeeshop.infrastructure.outbox;
+
+import com.coffeeshop.infrastructure.event.AsyncDomainEventBus;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.stereotype.Component;
+
+/** Delivers messages to the event bus and completes once every handler has processed them. */
+@Component
+public class DomainEventBusSink implements OutboxSink {
+    private final AsyncDomainEventBus eventBus;
+
+    public DomainEventBusSink(AsyncDomainEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    @Override
+    public CompletableFuture<Void> send(OutboxMessage message) {
+        return eventBus.deliver(message.event());
+    }
+}
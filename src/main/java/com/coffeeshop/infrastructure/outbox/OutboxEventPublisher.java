@@ -0,0 +1,45 @@
+package com.coffeeshop.infrastructure.outbox;
+
+import com.coffeeshop.domain.shared.DomainEvent;
+import com.coffeeshop.domain.shared.DomainEventPublisher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Timestamp;
+import java.time.Instant;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link DomainEventPublisher} that writes events to the {@code outbox} table. Inside a
+ * transaction the insert shares its connection, so the event is stored if and only if the state
+ * change commits; {@link OutboxRelay} delivers it afterwards.
+ */
+@Primary
+@Component
+public class OutboxEventPublisher implements DomainEventPublisher {
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxEventPublisher(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + event.getClass().getName(), e);
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(
+                "INSERT INTO outbox (event_type, payload, created_at, available_at) VALUES (?, ?, ?, ?)",
+                event.getClass().getName(),
+                payload,
+                now,
+                now);
+    }
+}
@@ -0,0 +1,7 @@
+package com.coffeeshop.infrastructure.outbox;
+
+import com.coffeeshop.domain.shared.DomainEvent;
+import java.time.Instant;
+
+/** A domain event read back from the outbox, with the bookkeeping of its row. */
+public record OutboxMessage(long id, DomainEvent event, Instant createdAt, int attempts) {}
@@ -0,0 +1,234 @@
+package com.coffeeshop.infrastructure.outbox;
+
+import com.coffeeshop.application.scheduling.ClusterJobRunner;
+import com.coffeeshop.domain.shared.DomainEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains the {@code outbox} table into the {@link OutboxSink}.
+ *
+ * <p>Each batch is claimed with {@code FOR UPDATE SKIP LOCKED} in its own transaction, so several
+ * nodes can relay concurrently without handing out the same row twice. Failed messages are
+ * retried with exponential backoff and given up on after {@code app.outbox.max-attempts}.
+ *
+ * <p>The whole batch is handed to the sink first and then awaited, so handlers still see it as
+ * one batch. A row is marked processed only after the sink reports it delivered; a handler
+ * failure or a {@code app.outbox.delivery-timeout} expiry counts as a failed attempt. Delivery is
+ * at least once: a crash before the commit relays the batch again, and a retried event reaches
+ * handlers that already processed it.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxSink sink;
+    private final ClusterJobRunner clusterJobRunner;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration deliveryTimeout;
+    private final Duration retention;
+    private final int pruneBatchSize;
+
+    private final Timer batchTimer;
+    private final Timer lag;
+    private final Counter relayed;
+    private final Counter retried;
+    private final Counter deadLettered;
+
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            OutboxSink sink,
+            ClusterJobRunner clusterJobRunner,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.batch-size:100}") int batchSize,
+            @Value("${app.outbox.max-batches-per-run:50}") int maxBatchesPerRun,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${app.outbox.delivery-timeout:30s}") Duration deliveryTimeout,
+            @Value("${app.outbox.retention:7d}") Duration retention,
+            @Value("${app.outbox.prune-batch-size:1000}") int pruneBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.sink = sink;
+        this.clusterJobRunner = clusterJobRunner;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.deliveryTimeout = deliveryTimeout;
+        this.retention = retention;
+        this.pruneBatchSize = pruneBatchSize;
+
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to claim, deliver and mark one outbox batch")
+                .register(meterRegistry);
+        this.lag = Timer.builder("outbox.lag")
+                .description("Time from an event being stored until it is relayed")
+                .register(meterRegistry);
+        this.relayed = Counter.builder("outbox.relayed").register(meterRegistry);
+        this.retried = Counter.builder("outbox.retried").register(meterRegistry);
+        this.deadLettered = Counter.builder("outbox.dead_lettered").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:500ms}")
+    public void relay() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer claimed =
+                    batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+            if (claimed == null || claimed < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /** Relays one batch inside the caller's transaction and returns the number of rows claimed. */
+    int relayBatch() {
+        List<Row> rows = jdbcTemplate.query(
+                "SELECT id, event_type, payload, created_at, attempts FROM outbox "
+                        + "WHERE processed_at IS NULL AND available_at <= ? "
+                        + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                OutboxRelay::mapRow,
+                Timestamp.from(Instant.now()),
+                batchSize);
+
+        List<Sent> sent = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            try {
+                OutboxMessage message = new OutboxMessage(
+                        row.id(), deserialize(row), row.createdAt(), row.attempts());
+                sent.add(new Sent(row, sink.send(message)));
+            } catch (Exception e) {
+                fail(row, e);
+            }
+        }
+
+        List<Object[]> delivered = new ArrayList<>();
+        long deadline = System.nanoTime() + deliveryTimeout.toNanos();
+        for (Sent message : sent) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                message.delivery().get(remaining, TimeUnit.NANOSECONDS);
+                Instant now = Instant.now();
+                delivered.add(new Object[] {Timestamp.from(now), message.row().id()});
+                lag.record(Duration.between(message.row().createdAt(), now));
+            } catch (ExecutionException e) {
+                fail(message.row(), e.getCause());
+            } catch (TimeoutException e) {
+                fail(message.row(), new TimeoutException("Not delivered within " + deliveryTimeout));
+            } catch (InterruptedException e) {
+                // Undelivered rows are left as they are and relayed again by the next run
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE outbox SET processed_at = ? WHERE id = ?", delivered);
+            relayed.increment(delivered.size());
+        }
+        return rows.size();
+    }
+
+    private DomainEvent deserialize(Row row) throws Exception {
+        Class<?> type = Class.forName(row.eventType());
+        if (!DomainEvent.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException(row.eventType() + " is not a domain event");
+        }
+        return (DomainEvent) objectMapper.readValue(row.payload(), type);
+    }
+
+    private void fail(Row row, Throwable e) {
+        int attempts = row.attempts() + 1;
+        String error = truncate(e.toString());
+        if (attempts >= maxAttempts) {
+            log.error(
+                    "Giving up on outbox message {} ({}) after {} attempts",
+                    row.id(), row.eventType(), attempts, e);
+            jdbcTemplate.update(
+                    "UPDATE outbox SET attempts = ?, last_error = ?, processed_at = ? WHERE id = ?",
+                    attempts, error, Timestamp.from(Instant.now()), row.id());
+            deadLettered.increment();
+            return;
+        }
+
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 16));
+        log.warn("Outbox message {} failed (attempt {}), retrying in {}", row.id(), attempts, backoff, e);
+        jdbcTemplate.update(
+                "UPDATE outbox SET attempts = ?, last_error = ?, available_at = ? WHERE id = ?",
+                attempts, error, Timestamp.from(Instant.now().plus(backoff)), row.id());
+        retried.increment();
+    }
+
+    /** Deletes processed messages older than {@code app.outbox.retention} in batches. */
+    @Scheduled(cron = "${app.scheduler.outbox-prune-cron}")
+    public void pruneProcessed() {
+        clusterJobRunner.runExclusive("outbox-prune", this::deleteProcessed);
+    }
+
+    private void deleteProcessed() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(retention));
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                    "DELETE FROM outbox WHERE id IN ("
+                            + "SELECT id FROM outbox WHERE processed_at < ? "
+                            + "ORDER BY processed_at LIMIT ?)",
+                    cutoff,
+                    pruneBatchSize);
+            total += deleted;
+        } while (deleted == pruneBatchSize);
+
+        if (total > 0) {
+            log.info("Pruned {} processed outbox messages", total);
+        }
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_ERROR_LENGTH ? value : value.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record Row(long id, String eventType, String payload, Instant createdAt, int attempts) {}
+
+    private record Sent(Row row, CompletableFuture<Void> delivery) {}
+
+    private static Row mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Row(
+                rs.getLong("id"),
+                rs.getString("event_type"),
+                rs.getString("payload"),
+                rs.getTimestamp("created_at").toInstant(),
+                rs.getInt("attempts"));
+    }
+}
@@ -0,0 +1,15 @@
+package com.coffeeshop.infrastructure.outbox;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Destination of relayed outbox messages. The default sink hands events to the in-process event
+ * bus; declare a {@code @Primary} bean to forward them to a broker instead.
+ *
+ * <p>A message is marked processed only once the returned future completes. Throwing from
+ * {@link #send}, failing the future or not completing it within {@code app.outbox.delivery-timeout}
+ * leaves the message in the outbox to be retried with backoff.
+ */
+public interface OutboxSink {
+    CompletableFuture<Void> send(OutboxMessage message);
+}
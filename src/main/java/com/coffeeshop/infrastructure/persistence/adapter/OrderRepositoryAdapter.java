@@ -2,12 +2,13 @@ package com.coffeeshop.infrastructure.persistence.adapter;
 
 import com.coffeeshop.domain.order.Order;
 import com.coffeeshop.domain.order.OrderRepository;
-import com.coffeeshop.domain.order.OrderStatus;
+import com.coffeeshop.domain.order.OrderSearchCriteria;
 import com.coffeeshop.infrastructure.persistence.entity.OrderEntity;
 import com.coffeeshop.infrastructure.persistence.jpa.JpaOrderRepository;
-import java.time.Instant;
+import com.coffeeshop.infrastructure.persistence.jpa.OrderSpecifications;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
@@ -15,56 +16,64 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class OrderRepositoryAdapter implements OrderRepository {
     private final JpaOrderRepository jpaRepository;
+    private final boolean verifyTotals;
 
-    public OrderRepositoryAdapter(JpaOrderRepository jpaRepository) {
+    public OrderRepositoryAdapter(
+            JpaOrderRepository jpaRepository,
+            @Value("${app.orders.verify-totals:false}") boolean verifyTotals) {
         this.jpaRepository = jpaRepository;
+        this.verifyTotals = verifyTotals;
     }
 
+    @Override
+    public Order create(Order order) {
+        return toDomain(jpaRepository.save(OrderEntity.fromDomain(order)));
+    }
+
+    /**
+     * Updates the managed entity, which is free to load when the order was read in the same
+     * transaction.
+     */
     @Override
     public Order save(Order order) {
-        OrderEntity entity = OrderEntity.fromDomain(order);
-        OrderEntity saved = jpaRepository.save(entity);
-        return saved.toDomain();
+        OrderEntity entity = jpaRepository.findById(order.getId())
+                .orElseThrow(() -> new IllegalStateException(
+                        "Order " + order.getId() + " does not exist; use create"))
+                .updateFrom(order);
+        return toDomain(jpaRepository.save(entity));
     }
 
     @Override
     public Optional<Order> findById(UUID id) {
-        return jpaRepository.findById(id).map(OrderEntity::toDomain);
+        return jpaRepository.findById(id).map(this::toDomain);
     }
 
     @Override
     public Optional<Order> findByOrderNumber(String orderNumber) {
-        return jpaRepository.findByOrderNumber(orderNumber).map(OrderEntity::toDomain);
+        return jpaRepository.findByOrderNumber(orderNumber).map(this::toDomain);
     }
 
     @Override
     public Page<Order> findAll(Pageable pageable) {
-        return jpaRepository.findAll(pageable).map(OrderEntity::toDomain);
+        return jpaRepository.findAll(pageable).map(this::toDomain);
     }
 
     @Override
     public Page<Order> findByCustomerId(String customerId, Pageable pageable) {
-        return jpaRepository.findByCustomerId(customerId, pageable).map(OrderEntity::toDomain);
-    }
-
-    @Override
-    public Page<Order> findByStatus(OrderStatus status, Pageable pageable) {
-        return jpaRepository.findByStatus(status, pageable).map(OrderEntity::toDomain);
+        return jpaRepository.findByCustomerId(customerId, pageable).map(this::toDomain);
     }
 
     @Override
-    public Page<Order> findByCreatedAtBetween(Instant start, Instant end, Pageable pageable) {
-        return jpaRepository.findByCreatedAtBetween(start, end, pageable)
-                .map(OrderEntity::toDomain);
+    public Page<Order> search(OrderSearchCriteria criteria, Pageable pageable) {
+        return jpaRepository.findAll(OrderSpecifications.matching(criteria), pageable)
+                .map(this::toDomain);
     }
 
-    @Override
-    public Page<Order> findByStatusAndCreatedAtBetween(
-            OrderStatus status, Instant start, Instant end, Pageable pageable) {
-        return jpaRepository.findByStatusAndCreatedAtBetween(status, start, end, pageable)
-                .map(OrderEntity::toDomain);
+    private Order toDomain(OrderEntity entity) {
+        Order order = entity.toDomain();
+        if (verifyTotals) {
+            order.verifyTotal();
+        }
+        return order;
     }
 }
-
-
-
@@ -4,20 +4,30 @@ import com.coffeeshop.domain.product.Product;
 import com.coffeeshop.domain.product.ProductRepository;
 import com.coffeeshop.infrastructure.persistence.entity.ProductEntity;
 import com.coffeeshop.infrastructure.persistence.jpa.JpaProductRepository;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class ProductRepositoryAdapter implements ProductRepository {
     private final JpaProductRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
 
-    public ProductRepositoryAdapter(JpaProductRepository jpaRepository) {
+    public ProductRepositoryAdapter(JpaProductRepository jpaRepository, JdbcTemplate jdbcTemplate) {
         this.jpaRepository = jpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -56,6 +66,67 @@ public class ProductRepositoryAdapter implements ProductRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Product> findLowStockProducts(int threshold, UUID afterId, int limit) {
+        return jpaRepository
+                .findLowStockProductsAfter(threshold, afterId, PageRequest.of(0, limit))
+                .stream()
+                .map(ProductEntity::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<UUID, Integer> restockBelowThreshold(
+            Collection<UUID> ids, int quantity, int threshold) {
+        Map<UUID, Integer> restocked = new HashMap<>();
+        jdbcTemplate.query(
+                "UPDATE products SET stock_quantity = stock_quantity + ?, updated_at = ? "
+                        + "WHERE id = ANY(?) AND stock_quantity < ? "
+                        + "RETURNING id, stock_quantity",
+                ps -> {
+                    ps.setInt(1, quantity);
+                    ps.setTimestamp(2, Timestamp.from(Instant.now()));
+                    ps.setArray(3, ps.getConnection().createArrayOf("uuid", ids.toArray()));
+                    ps.setInt(4, threshold);
+                },
+                (RowCallbackHandler) rs ->
+                        restocked.put(rs.getObject("id", UUID.class), rs.getInt("stock_quantity")));
+        return restocked;
+    }
+
+    @Override
+    public boolean markLowStockAnnounced(UUID id) {
+        return jdbcTemplate.update(
+                "UPDATE products SET low_stock_announced = TRUE "
+                        + "WHERE id = ? AND NOT low_stock_announced",
+                id) > 0;
+    }
+
+    @Override
+    public List<UUID> claimUnannouncedLowStock(int threshold) {
+        return jdbcTemplate.queryForList(
+                "UPDATE products SET low_stock_announced = TRUE "
+                        + "WHERE stock_quantity < ? AND NOT low_stock_announced RETURNING id",
+                UUID.class,
+                threshold);
+    }
+
+    @Override
+    public void clearLowStockAnnounced(Collection<UUID> ids) {
+        jdbcTemplate.update(
+                "UPDATE products SET low_stock_announced = FALSE "
+                        + "WHERE id = ANY(?) AND low_stock_announced",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())));
+    }
+
+    @Override
+    public int clearRecoveredLowStock(int threshold) {
+        return jdbcTemplate.update(
+                "UPDATE products SET low_stock_announced = FALSE "
+                        + "WHERE low_stock_announced AND stock_quantity >= ?",
+                threshold);
+    }
+
     @Override
     public boolean existsBySku(String sku) {
         return jpaRepository.existsBySku(sku);
@@ -0,0 +1,37 @@
+package com.coffeeshop.infrastructure.persistence.adapter;
+
+import com.coffeeshop.domain.purchasing.PurchaseOrder;
+import com.coffeeshop.domain.purchasing.PurchaseOrderLine;
+import com.coffeeshop.domain.purchasing.PurchaseOrderRepository;
+import java.sql.Timestamp;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class PurchaseOrderRepositoryAdapter implements PurchaseOrderRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public PurchaseOrderRepositoryAdapter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void save(PurchaseOrder purchaseOrder) {
+        jdbcTemplate.update(
+                "INSERT INTO purchase_orders (id, created_at) VALUES (?, ?)",
+                purchaseOrder.id(),
+                Timestamp.from(purchaseOrder.createdAt()));
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO purchase_order_lines (id, purchase_order_id, product_id, quantity) "
+                        + "VALUES (?, ?, ?, ?)",
+                purchaseOrder.lines(),
+                purchaseOrder.lines().size(),
+                (ps, line) -> {
+                    ps.setObject(1, UUID.randomUUID());
+                    ps.setObject(2, purchaseOrder.id());
+                    ps.setObject(3, line.productId());
+                    ps.setInt(4, line.quantity());
+                });
+    }
+}
@@ -0,0 +1,52 @@
+package com.coffeeshop.infrastructure.persistence.adapter;
+
+import com.coffeeshop.domain.purchasing.RestockRequestRepository;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class RestockRequestRepositoryAdapter implements RestockRequestRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public RestockRequestRepositoryAdapter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void request(Collection<UUID> productIds) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO restock_requests (product_id, requested_at) SELECT ?, ? "
+                        + "WHERE EXISTS (SELECT 1 FROM products WHERE id = ?) "
+                        + "ON CONFLICT (product_id) DO NOTHING",
+                List.copyOf(productIds),
+                productIds.size(),
+                (ps, productId) -> {
+                    ps.setObject(1, productId);
+                    ps.setTimestamp(2, now);
+                    ps.setObject(3, productId);
+                });
+    }
+
+    @Override
+    public List<UUID> claimDue(Instant requestedBefore, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT product_id FROM restock_requests WHERE requested_at <= ? "
+                        + "ORDER BY requested_at LIMIT ? FOR UPDATE SKIP LOCKED",
+                UUID.class,
+                Timestamp.from(requestedBefore),
+                limit);
+    }
+
+    @Override
+    public void delete(Collection<UUID> productIds) {
+        jdbcTemplate.update(
+                "DELETE FROM restock_requests WHERE product_id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", productIds.toArray())));
+    }
+}
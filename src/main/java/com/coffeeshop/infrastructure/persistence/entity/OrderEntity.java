@@ -11,17 +11,20 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Table(
         name = "orders",
         indexes = {
             @Index(name = "idx_order_number", columnList = "order_number", unique = true),
-            @Index(name = "idx_order_customer", columnList = "customer_id"),
-            @Index(name = "idx_order_status", columnList = "status"),
-            @Index(name = "idx_order_created_at", columnList = "created_at")
+            @Index(name = "idx_order_created_at", columnList = "created_at"),
+            @Index(name = "idx_order_total_amount", columnList = "total_amount"),
+            @Index(name = "idx_order_status_created_at", columnList = "status, created_at"),
+            @Index(name = "idx_order_customer_created_at", columnList = "customer_id, created_at"),
+            @Index(name = "idx_order_status_total_amount", columnList = "status, total_amount")
         })
-public class OrderEntity {
+public class OrderEntity implements Persistable<UUID> {
     @Id
     @Column(name = "id", columnDefinition = "UUID")
     private UUID id;
@@ -49,6 +52,13 @@ public class OrderEntity {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    /**
+     * Ids are assigned by the domain, so Spring Data cannot tell a new order from a detached one
+     * and would merge, selecting the order and every item before inserting them.
+     */
+    @Transient
+    private boolean isNew;
+
     public OrderEntity() {}
 
     public static OrderEntity fromDomain(Order order) {
@@ -65,10 +75,29 @@ public class OrderEntity {
                 .map(OrderItemEntity::fromDomain)
                 .collect(Collectors.toList());
         entity.setItems(itemEntities);
+        entity.isNew = true;
 
         return entity;
     }
 
+    /** Copies the state an order can change after it was created onto this managed entity. */
+    public OrderEntity updateFrom(Order order) {
+        setTotalAmount(order.getTotalAmount().amount());
+        setStatus(order.getStatus());
+        setUpdatedAt(order.getUpdatedAt());
+
+        List<UUID> itemIds = order.getItems().stream().map(OrderItem::getId).toList();
+        if (!itemIds.equals(items.stream().map(OrderItemEntity::getId).toList())) {
+            items.removeIf(item -> !itemIds.contains(item.getId()));
+            List<UUID> existing = items.stream().map(OrderItemEntity::getId).toList();
+            order.getItems().stream()
+                    .filter(item -> !existing.contains(item.getId()))
+                    .map(OrderItemEntity::fromDomain)
+                    .forEach(items::add);
+        }
+        return this;
+    }
+
     public Order toDomain() {
         Order order = new Order();
         order.setId(this.id);
@@ -87,6 +116,17 @@ public class OrderEntity {
         return order;
     }
 
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    protected void markNotNew() {
+        isNew = false;
+    }
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
@@ -101,6 +141,7 @@ public class OrderEntity {
     }
 
     // Getters and setters
+    @Override
     public UUID getId() {
         return id;
     }
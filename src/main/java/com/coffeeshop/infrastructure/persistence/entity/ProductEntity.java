@@ -10,7 +10,10 @@ import java.util.UUID;
 @Entity
 @Table(
         name = "products",
-        indexes = {@Index(name = "idx_product_sku", columnList = "sku", unique = true)})
+        indexes = {
+            @Index(name = "idx_product_sku", columnList = "sku", unique = true),
+            @Index(name = "idx_product_stock_quantity", columnList = "stock_quantity")
+        })
 public class ProductEntity {
     @Id
     @Column(name = "id", columnDefinition = "UUID")
@@ -19,6 +19,11 @@ public interface JpaProductRepository extends JpaRepository<ProductEntity, UUID>
 
     @Query("SELECT p FROM ProductEntity p WHERE p.stockQuantity < :threshold")
     List<ProductEntity> findLowStockProducts(@Param("threshold") int threshold);
+
+    @Query("SELECT p FROM ProductEntity p WHERE p.stockQuantity < :threshold AND p.id > :afterId "
+            + "ORDER BY p.id")
+    List<ProductEntity> findLowStockProductsAfter(
+            @Param("threshold") int threshold, @Param("afterId") UUID afterId, Pageable pageable);
 }
 
 
@@ -0,0 +1,58 @@
+package com.coffeeshop.infrastructure.persistence.jpa;
+
+import com.coffeeshop.domain.order.OrderSearchCriteria;
+import com.coffeeshop.infrastructure.persistence.entity.OrderEntity;
+import com.coffeeshop.infrastructure.persistence.entity.OrderItemEntity;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Translates {@link OrderSearchCriteria} into a single {@code WHERE} clause. The product filter is
+ * an {@code EXISTS} subquery rather than a join, so an order with several matching items is still
+ * returned once and the page count stays a plain {@code count(*)}.
+ *
+ * <p>The composite indexes in {@code V8__order_search_indexes.sql} are matched to these
+ * predicates: equality on status or customer first, then the created-at or total range.
+ */
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {}
+
+    public static Specification<OrderEntity> matching(OrderSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.status() != null) {
+                predicates.add(cb.equal(root.get("status"), criteria.status()));
+            }
+            if (criteria.customerId() != null) {
+                predicates.add(cb.equal(root.get("customerId"), criteria.customerId()));
+            }
+            if (criteria.createdFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), criteria.createdFrom()));
+            }
+            if (criteria.createdTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), criteria.createdTo()));
+            }
+            if (criteria.minTotal() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("totalAmount"), criteria.minTotal().amount()));
+            }
+            if (criteria.maxTotal() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("totalAmount"), criteria.maxTotal().amount()));
+            }
+            if (criteria.productId() != null) {
+                Subquery<Integer> containsProduct = query.subquery(Integer.class);
+                Root<OrderEntity> order = containsProduct.correlate(root);
+                Join<OrderEntity, OrderItemEntity> item = order.join("items");
+                containsProduct.select(cb.literal(1))
+                        .where(cb.equal(item.get("productId"), criteria.productId()));
+                predicates.add(cb.exists(containsProduct));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -0,0 +1,215 @@
+package com.coffeeshop.infrastructure.scheduling;
+
+import com.coffeeshop.application.scheduling.ClusterJobRunner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link ClusterJobRunner} backed by PostgreSQL session advisory locks.
+ *
+ * <p>Leases are taken on one dedicated connection outside the Hikari pool, so a long job does not
+ * hold a pooled connection and a node that dies loses its leases with its session. A lease is kept
+ * for at least {@code app.scheduling.min-lease} after the job starts; otherwise a node whose clock
+ * fires slightly later could take the lease of a short job that just finished and run it again.
+ */
+@Component
+public class AdvisoryLockJobRunner implements ClusterJobRunner, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(AdvisoryLockJobRunner.class);
+
+    private final DataSourceProperties dataSourceProperties;
+    private final MeterRegistry meterRegistry;
+    private final Duration minLease;
+
+    private final Set<String> runningLocally = ConcurrentHashMap.newKeySet();
+    private final Map<String, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> failureTimers = new ConcurrentHashMap<>();
+    private final ReentrantLock connectionLock = new ReentrantLock();
+    private Connection connection;
+
+    public AdvisoryLockJobRunner(
+            DataSourceProperties dataSourceProperties,
+            MeterRegistry meterRegistry,
+            @Value("${app.scheduling.min-lease:10s}") Duration minLease) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.meterRegistry = meterRegistry;
+        this.minLease = minLease;
+    }
+
+    @Override
+    public boolean runExclusive(String jobName, Runnable job) {
+        if (!runningLocally.add(jobName)) {
+            skipped(jobName, "running");
+            return false;
+        }
+        try {
+            Lease lease = tryAcquire(jobName);
+            if (lease == null) {
+                skipped(jobName, "leased");
+                return false;
+            }
+            long startedAt = System.nanoTime();
+            try {
+                job.run();
+                timer(successTimers, jobName, "success")
+                        .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                return true;
+            } catch (RuntimeException e) {
+                timer(failureTimers, jobName, "failure")
+                        .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                throw e;
+            } finally {
+                releaseAfterMinLease(lease, startedAt);
+            }
+        } finally {
+            runningLocally.remove(jobName);
+        }
+    }
+
+    @Override
+    public int runPartitioned(String jobName, int partitions, IntConsumer partitionJob) {
+        // Start at a random partition so that nodes firing together spread over the partitions
+        int offset = ThreadLocalRandom.current().nextInt(partitions);
+        int ran = 0;
+        for (int i = 0; i < partitions; i++) {
+            int partition = (offset + i) % partitions;
+            if (runExclusive(jobName + "#" + partition, () -> partitionJob.accept(partition))) {
+                ran++;
+            }
+        }
+        return ran;
+    }
+
+    private record Lease(long key, Connection connection) {}
+
+    private Lease tryAcquire(String jobName) {
+        long key = lockKey(jobName);
+        connectionLock.lock();
+        try {
+            Connection current = connection();
+            try (PreparedStatement statement =
+                    current.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                statement.setLong(1, key);
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    return rs.getBoolean(1) ? new Lease(key, current) : null;
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("Could not take lease for job {}, skipping this run", jobName, e);
+            closeConnection();
+            return null;
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+    private void releaseAfterMinLease(Lease lease, long startedAt) {
+        long remainingNanos = minLease.toNanos() - (System.nanoTime() - startedAt);
+        if (remainingNanos <= 0) {
+            release(lease);
+            return;
+        }
+        CompletableFuture.runAsync(
+                () -> release(lease),
+                CompletableFuture.delayedExecutor(
+                        remainingNanos, TimeUnit.NANOSECONDS, Thread.ofVirtual()::start));
+    }
+
+    private void release(Lease lease) {
+        connectionLock.lock();
+        try {
+            if (lease.connection() != connection) {
+                // The session that held the lease is gone, and the lock with it
+                return;
+            }
+            try (PreparedStatement statement =
+                    connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                statement.setLong(1, lease.key());
+                statement.execute();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not release job lease, dropping the lease connection", e);
+            closeConnection();
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+    private Connection connection() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword());
+            connection.setAutoCommit(true);
+        }
+        return connection;
+    }
+
+    private void closeConnection() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Error closing lease connection", e);
+        }
+        connection = null;
+    }
+
+    @Override
+    public void destroy() {
+        connectionLock.lock();
+        try {
+            closeConnection();
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+    private Timer timer(Map<String, Timer> timers, String jobName, String outcome) {
+        return timers.computeIfAbsent(jobName, name -> Timer.builder("scheduled.job")
+                .description("Duration of scheduled jobs run under a cluster lease")
+                .tag("job", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private void skipped(String jobName, String reason) {
+        log.debug("Skipping job {}: {}", jobName, reason);
+        Counter.builder("scheduled.job.skipped")
+                .tag("job", jobName)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    static long lockKey(String jobName) {
+        return UUID.nameUUIDFromBytes(("coffeeshop:job:" + jobName).getBytes(StandardCharsets.UTF_8))
+                .getMostSignificantBits();
+    }
+}
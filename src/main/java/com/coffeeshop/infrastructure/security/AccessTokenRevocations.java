@@ -0,0 +1,80 @@
+package com.coffeeshop.infrastructure.security;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-user cut-offs for access tokens, kept in memory so the JWT filter needs no user lookup.
+ *
+ * <p>Disabling a user or changing their roles stores {@code users.tokens_revoked_at}; tokens
+ * issued before it are refused. Cut-offs are loaded when the application starts, reloaded for a
+ * user when {@link UserCacheInvalidationListener} receives an invalidation and reloaded in full
+ * after it reconnects. Only cut-offs younger than the token lifetime matter, since older tokens
+ * have expired anyway. Token issue times have second precision, so a token issued in the same
+ * second as a cut-off is refused as well.
+ */
+@Component
+public class AccessTokenRevocations {
+    private static final Logger log = LoggerFactory.getLogger(AccessTokenRevocations.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration tokenLifetime;
+    private final Map<String, Instant> revokedAt = new ConcurrentHashMap<>();
+
+    public AccessTokenRevocations(
+            JdbcTemplate jdbcTemplate, @Value("${security.jwt.expiration}") long jwtExpirationMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tokenLifetime = Duration.ofMillis(jwtExpirationMs);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        Instant cutoff = revokedAt.get(token.email());
+        return cutoff != null && token.issuedAt().isBefore(cutoff);
+    }
+
+    /** Refuses the user's tokens issued before {@code cutoff} on this node. */
+    public void revokeLocal(String email, Instant cutoff) {
+        revokedAt.merge(email, cutoff, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reloadAll();
+    }
+
+    public void reloadAll() {
+        Timestamp since = Timestamp.from(Instant.now().minus(tokenLifetime));
+        Map<String, Instant> loaded = new ConcurrentHashMap<>();
+        jdbcTemplate.query(
+                "SELECT email, tokens_revoked_at FROM users WHERE tokens_revoked_at > ?",
+                rs -> {
+                    Instant cutoff = rs.getTimestamp("tokens_revoked_at").toInstant();
+                    loaded.put(rs.getString("email"), cutoff);
+                },
+                since);
+        revokedAt.keySet().retainAll(loaded.keySet());
+        loaded.forEach(this::revokeLocal);
+        log.info("Loaded {} access token revocations", loaded.size());
+    }
+
+    public void reload(String email) {
+        List<Timestamp> cutoffs = jdbcTemplate.queryForList(
+                "SELECT tokens_revoked_at FROM users WHERE email = ? AND tokens_revoked_at IS NOT NULL",
+                Timestamp.class,
+                email);
+        if (!cutoffs.isEmpty()) {
+            revokeLocal(email, cutoffs.get(0).toInstant());
+        }
+    }
+}
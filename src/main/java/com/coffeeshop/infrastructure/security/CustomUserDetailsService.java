@@ -11,19 +11,24 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(
+            UserRepository userRepository, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return userDetailsCache.get(email, this::loadFromDatabase);
+    }
+
+    private UserDetails loadFromDatabase(String email) {
         UserEntity user = userRepository
                 .findByEmail(email)
                 .orElseThrow(
@@ -41,6 +46,3 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .build();
     }
 }
-
-
-
@@ -0,0 +1,65 @@
+package com.coffeeshop.infrastructure.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Authenticates POS terminals and other machine clients by the {@value #API_KEY_HEADER} header.
+ * Like {@link JwtAuthenticationFilter}, an unknown key or a request outside the device's scopes
+ * simply leaves the request unauthenticated.
+ */
+@Component
+public class DeviceApiKeyFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(DeviceApiKeyFilter.class);
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private final DeviceKeyIndex deviceKeyIndex;
+
+    public DeviceApiKeyFilter(DeviceKeyIndex deviceKeyIndex) {
+        this.deviceKeyIndex = deviceKeyIndex;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+
+        if (StringUtils.hasText(apiKey)) {
+            Optional<DeviceCredential> credential = deviceKeyIndex.authenticate(apiKey);
+            if (credential.isEmpty()) {
+                log.warn("Rejected unknown device API key");
+            } else if (!credential.get().permits(request)) {
+                log.warn(
+                        "Device {} is not allowed to call {} {}",
+                        credential.get().deviceName(),
+                        request.getMethod(),
+                        request.getRequestURI());
+            } else {
+                DeviceCredential device = credential.get();
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(
+                                device.principalName(), null, device.authorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                log.debug("Set authentication for device: {}", device.deviceName());
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,26 @@
+package com.coffeeshop.infrastructure.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * An active device key as held in {@link DeviceKeyIndex}, with its authorities precomputed.
+ */
+public record DeviceCredential(
+        UUID id, String deviceName, Set<DeviceScope> scopes, List<GrantedAuthority> authorities) {
+    public String principalName() {
+        return "device:" + deviceName;
+    }
+
+    public boolean permits(HttpServletRequest request) {
+        for (DeviceScope scope : scopes) {
+            if (scope.covers(request)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
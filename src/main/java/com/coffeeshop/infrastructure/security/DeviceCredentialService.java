@@ -0,0 +1,86 @@
+package com.coffeeshop.infrastructure.security;
+
+import com.coffeeshop.application.exception.BusinessException;
+import com.coffeeshop.application.exception.ResourceNotFoundException;
+import com.coffeeshop.infrastructure.security.entity.DeviceApiKeyEntity;
+import com.coffeeshop.infrastructure.security.repository.DeviceApiKeyRepository;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class DeviceCredentialService {
+    private static final Logger log = LoggerFactory.getLogger(DeviceCredentialService.class);
+
+    private static final String KEY_PREFIX = "csk_";
+    private static final int KEY_BYTES = 32;
+
+    private final DeviceApiKeyRepository deviceApiKeyRepository;
+    private final DeviceKeyIndex deviceKeyIndex;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public DeviceCredentialService(
+            DeviceApiKeyRepository deviceApiKeyRepository, DeviceKeyIndex deviceKeyIndex) {
+        this.deviceApiKeyRepository = deviceApiKeyRepository;
+        this.deviceKeyIndex = deviceKeyIndex;
+    }
+
+    public record RegisteredDevice(UUID id, String deviceName, Set<String> scopes, String apiKey) {}
+
+    /**
+     * Registers a device and returns its raw API key. The key is not stored and cannot be
+     * retrieved again.
+     */
+    @Transactional
+    public RegisteredDevice register(String deviceName, Set<String> scopes) {
+        for (String scope : scopes) {
+            if (DeviceScope.fromValue(scope).isEmpty()) {
+                throw new BusinessException("Unknown device scope: " + scope, "INVALID_SCOPE");
+            }
+        }
+
+        byte[] bytes = new byte[KEY_BYTES];
+        secureRandom.nextBytes(bytes);
+        String apiKey = KEY_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        DeviceApiKeyEntity entity = new DeviceApiKeyEntity();
+        entity.setDeviceName(deviceName);
+        entity.setKeyHash(deviceKeyIndex.hash(apiKey));
+        entity.setScopeSet(scopes);
+        DeviceApiKeyEntity saved = deviceApiKeyRepository.save(entity);
+
+        reloadIndexAfterCommit();
+        log.info("Registered device {} with scopes {}", deviceName, scopes);
+        return new RegisteredDevice(saved.getId(), deviceName, saved.getScopeSet(), apiKey);
+    }
+
+    @Transactional
+    public void revoke(UUID id) {
+        DeviceApiKeyEntity entity = deviceApiKeyRepository
+                .findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Device", id));
+        if (entity.getRevokedAt() == null) {
+            entity.setRevokedAt(Instant.now());
+            deviceApiKeyRepository.save(entity);
+            reloadIndexAfterCommit();
+            log.info("Revoked device {} ({})", entity.getDeviceName(), id);
+        }
+    }
+
+    private void reloadIndexAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deviceKeyIndex.reload();
+            }
+        });
+    }
+}
@@ -0,0 +1,117 @@
+package com.coffeeshop.infrastructure.security;
+
+import com.coffeeshop.infrastructure.security.entity.DeviceApiKeyEntity;
+import com.coffeeshop.infrastructure.security.repository.DeviceApiKeyRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of active device keys, keyed by the HMAC of the raw key.
+ *
+ * <p>Verifying a key costs one HMAC-SHA256 and one map lookup. The index is loaded when the
+ * application starts and swapped atomically whenever the {@code device_api_keys} table changes,
+ * so registrations and revocations on any node take effect within one reload interval.
+ */
+@Component
+public class DeviceKeyIndex {
+    private static final Logger log = LoggerFactory.getLogger(DeviceKeyIndex.class);
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final DeviceApiKeyRepository deviceApiKeyRepository;
+    private final Mac macPrototype;
+
+    private volatile Map<String, DeviceCredential> byKeyHash = Map.of();
+    private volatile Instant loadedVersion;
+
+    public DeviceKeyIndex(
+            DeviceApiKeyRepository deviceApiKeyRepository,
+            @Value("${security.device-keys.pepper}") String pepper) {
+        this.deviceApiKeyRepository = deviceApiKeyRepository;
+        try {
+            this.macPrototype = Mac.getInstance(HMAC_ALGORITHM);
+            this.macPrototype.init(
+                    new SecretKeySpec(pepper.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize device key HMAC", e);
+        }
+    }
+
+    public Optional<DeviceCredential> authenticate(String rawKey) {
+        return Optional.ofNullable(byKeyHash.get(hash(rawKey)));
+    }
+
+    public String hash(String rawKey) {
+        Mac mac;
+        try {
+            mac = (Mac) macPrototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC provider does not support cloning", e);
+        }
+        return HexFormat.of().formatHex(mac.doFinal(rawKey.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${security.device-keys.reload-interval:30s}",
+            initialDelayString = "${security.device-keys.reload-interval:30s}")
+    public void reloadIfChanged() {
+        Instant latest = deviceApiKeyRepository.findLatestUpdate().orElse(null);
+        if (latest != null && !latest.equals(loadedVersion)) {
+            reload();
+        }
+    }
+
+    public synchronized void reload() {
+        Instant version = deviceApiKeyRepository.findLatestUpdate().orElse(null);
+        Map<String, DeviceCredential> index = new HashMap<>();
+        for (DeviceApiKeyEntity entity : deviceApiKeyRepository.findByRevokedAtIsNull()) {
+            index.put(entity.getKeyHash(), toCredential(entity));
+        }
+        this.byKeyHash = Map.copyOf(index);
+        this.loadedVersion = version;
+        log.info("Loaded {} active device keys", index.size());
+    }
+
+    private static DeviceCredential toCredential(DeviceApiKeyEntity entity) {
+        Set<DeviceScope> scopes = EnumSet.noneOf(DeviceScope.class);
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority("ROLE_DEVICE"));
+        for (String value : entity.getScopeSet()) {
+            DeviceScope.fromValue(value).ifPresentOrElse(
+                    scope -> {
+                        scopes.add(scope);
+                        authorities.add(new SimpleGrantedAuthority("SCOPE_" + scope.value()));
+                    },
+                    () -> log.warn("Ignoring unknown scope '{}' for device {}", value, entity.getId()));
+        }
+        return new DeviceCredential(
+                entity.getId(),
+                entity.getDeviceName(),
+                Set.copyOf(scopes),
+                List.copyOf(authorities));
+    }
+}
@@ -0,0 +1,52 @@
+package com.coffeeshop.infrastructure.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * Scopes a device API key can be granted, each covering a fixed set of routes. A device request
+ * outside all of its scopes is not authenticated.
+ */
+public enum DeviceScope {
+    ORDERS_WRITE(
+            "orders:write",
+            AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/v1/orders"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/v1/orders/*/pay"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/v1/orders/*/cancel")),
+    ORDERS_READ(
+            "orders:read",
+            AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/v1/orders/*")),
+    PRODUCTS_READ(
+            "products:read",
+            AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/v1/products/**"));
+
+    private final String value;
+    private final List<RequestMatcher> matchers;
+
+    DeviceScope(String value, RequestMatcher... matchers) {
+        this.value = value;
+        this.matchers = List.of(matchers);
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public boolean covers(HttpServletRequest request) {
+        for (RequestMatcher matcher : matchers) {
+            if (matcher.matches(request)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Optional<DeviceScope> fromValue(String value) {
+        return Arrays.stream(values()).filter(scope -> scope.value.equals(value)).findFirst();
+    }
+}
@@ -0,0 +1,9 @@
+package com.coffeeshop.infrastructure.security;
+
+import org.springframework.security.core.AuthenticationException;
+
+public class InvalidRefreshTokenException extends AuthenticationException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -9,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -20,12 +21,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     private final JwtTokenProvider tokenProvider;
-    private final CustomUserDetailsService userDetailsService;
+    private final AccessTokenRevocations revocations;
 
     public JwtAuthenticationFilter(
-            JwtTokenProvider tokenProvider, CustomUserDetailsService userDetailsService) {
+            JwtTokenProvider tokenProvider, AccessTokenRevocations revocations) {
         this.tokenProvider = tokenProvider;
-        this.userDetailsService = userDetailsService;
+        this.revocations = revocations;
     }
 
     @Override
@@ -35,17 +36,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
+            if (StringUtils.hasText(jwt)) {
+                // Roles come from the signed token itself, so no user lookup is needed here; only
+                // tokens issued before the user was disabled or their roles changed are refused
+                tokenProvider.verify(jwt).filter(this::notRevoked).ifPresent(token -> {
+                    UserDetails userDetails = new User(token.email(), "", token.authorities());
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails, null, token.authorities());
+                    authentication.setDetails(
+                            new WebAuthenticationDetailsSource().buildDetails(request));
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Set authentication for user: {}", email);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("Set authentication for user: {}", token.email());
+                });
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -54,6 +58,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private boolean notRevoked(VerifiedToken token) {
+        if (revocations.isRevoked(token)) {
+            log.debug("Rejected revoked token for user: {}", token.email());
+            return false;
+        }
+        return true;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -1,9 +1,19 @@
 package com.coffeeshop.infrastructure.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import javax.crypto.SecretKey;
 import org.slf4j.Logger;
@@ -11,6 +21,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -19,12 +30,20 @@ public class JwtTokenProvider {
 
     private final SecretKey secretKey;
     private final long jwtExpirationMs;
+    private final JwtParser jwtParser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
     public JwtTokenProvider(
             @Value("${security.jwt.secret}") String secret,
-            @Value("${security.jwt.expiration}") long jwtExpirationMs) {
+            @Value("${security.jwt.expiration}") long jwtExpirationMs,
+            @Value("${security.jwt.verified-cache-size:10000}") long verifiedCacheSize) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.jwtExpirationMs = jwtExpirationMs;
+        this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -45,19 +64,48 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Verifies the token once and returns its subject and roles. Successfully verified tokens
+     * are cached until they expire, so repeated requests with the same token skip the HMAC check.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(Instant.now())) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.invalidate(token);
+            return Optional.empty();
+        }
+
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            VerifiedToken verified = new VerifiedToken(
+                    claims.getSubject(),
+                    toAuthorities(claims.get("roles")),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : Instant.EPOCH,
+                    claims.getExpiration().toInstant());
+            verifiedTokens.put(token, verified);
+            return Optional.of(verified);
+        } catch (ExpiredJwtException ex) {
+            log.error("Expired JWT token");
+        } catch (JwtException ex) {
+            log.error("Invalid JWT token: {}", ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            log.error("JWT claims string is empty");
+        }
+        return Optional.empty();
+    }
+
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
 
         return claims.getSubject();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
+            jwtParser.parseSignedClaims(token);
             return true;
         } catch (MalformedJwtException ex) {
             log.error("Invalid JWT token");
@@ -70,7 +118,34 @@ public class JwtTokenProvider {
         }
         return false;
     }
-}
 
+    private static List<GrantedAuthority> toAuthorities(Object rolesClaim) {
+        if (!(rolesClaim instanceof Collection<?> roles)) {
+            return Collections.emptyList();
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (Object role : roles) {
+            authorities.add(new SimpleGrantedAuthority(String.valueOf(role)));
+        }
+        return Collections.unmodifiableList(authorities);
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+            return Math.max(0L, Duration.between(Instant.now(), verified.expiresAt()).toNanos());
+        }
 
+        @Override
+        public long expireAfterUpdate(
+                String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
 
+        @Override
+        public long expireAfterRead(
+                String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.coffeeshop.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs a CPU-heavy {@link PasswordEncoder} on a dedicated, bounded platform-thread pool.
+ *
+ * <p>The calling (virtual) thread parks while it waits, so a burst of logins occupies the hashing
+ * pool instead of the carrier threads that serve order traffic. When the pool's queue is full the
+ * call fails fast with {@link PasswordHashingRejectedException}. The encoder owns the pool and
+ * shuts it down on {@link #close()}.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder, AutoCloseable {
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejections;
+
+    public OffloadingPasswordEncoder(
+            PasswordEncoder delegate, ExecutorService executor, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .description("Time spent hashing or verifying passwords")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .description("Time spent hashing or verifying passwords")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("auth.password.rejected")
+                .description("Password operations rejected because the hashing pool was saturated")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return offload(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Shuts down the hashing pool; invoked by Spring when the context closes.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T offload(Callable<T> task, Timer timer) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException ex) {
+            rejections.increment();
+            throw new PasswordHashingRejectedException();
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password hashing was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.coffeeshop.infrastructure.security;
+
+/**
+ * Thrown when the password hashing pool is saturated and cannot accept more work.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+    public PasswordHashingRejectedException() {
+        super("Too many concurrent login attempts");
+    }
+}
@@ -0,0 +1,127 @@
+package com.coffeeshop.infrastructure.security;
+
+import com.coffeeshop.api.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Applies the first matching {@link RateLimitRule} per caller: the authenticated principal
+ * (customer or device), or the client IP for anonymous requests. Rejected requests get 429 with
+ * {@code Retry-After}.
+ *
+ * <p>Buckets live in a size-bounded Caffeine cache and expire once idle for longer than their
+ * rule's period, by which time they would be full again anyway.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String PROBLEM_TYPE = "https://api.coffee-shop.com/problems/rate-limited";
+
+    private final List<LimitedRoute> routes;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(
+            List<RateLimitRule> rules,
+            long maxBucketsPerRule,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.routes = rules.stream()
+                .map(rule -> new LimitedRoute(rule, maxBucketsPerRule, meterRegistry))
+                .toList();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        LimitedRoute route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.nanoTime();
+        long waitNanos = route.buckets
+                .get(callerKey(request), key -> route.newBucket(now))
+                .tryConsume(now);
+        if (waitNanos == 0L) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        route.rejected.increment();
+        reject(request, response, waitNanos);
+    }
+
+    private LimitedRoute match(HttpServletRequest request) {
+        for (LimitedRoute route : routes) {
+            if (route.rule.matcher().matches(request)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String callerKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+        ErrorResponse error = ErrorResponse.of(
+                PROBLEM_TYPE,
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Rate limit exceeded, retry in " + retryAfterSeconds + " seconds",
+                request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static final class LimitedRoute {
+        private final RateLimitRule rule;
+        private final Cache<String, TokenBucket> buckets;
+        private final Counter rejected;
+
+        LimitedRoute(RateLimitRule rule, long maxBuckets, MeterRegistry meterRegistry) {
+            this.rule = rule;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxBuckets)
+                    .expireAfterAccess(rule.period().plus(Duration.ofSeconds(1)))
+                    .build();
+            this.rejected = Counter.builder("http.rate_limit.rejected")
+                    .tag("rule", rule.name())
+                    .register(meterRegistry);
+        }
+
+        TokenBucket newBucket(long nowNanos) {
+            return new TokenBucket(rule.capacity(), rule.period().toNanos(), nowNanos);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.coffeeshop.infrastructure.security;
+
+import java.time.Duration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/** Allows {@code capacity} requests per {@code period} for each caller on matching routes. */
+public record RateLimitRule(String name, RequestMatcher matcher, int capacity, Duration period) {
+    public RateLimitRule {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity must be positive: " + name);
+        }
+    }
+
+    public static RateLimitRule of(
+            String name, HttpMethod method, String pattern, int capacity, Duration period) {
+        return new RateLimitRule(
+                name, AntPathRequestMatcher.antMatcher(method, pattern), capacity, period);
+    }
+}
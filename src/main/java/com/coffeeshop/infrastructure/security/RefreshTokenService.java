@@ -0,0 +1,138 @@
+package com.coffeeshop.infrastructure.security;
+
+import com.coffeeshop.application.scheduling.ClusterJobRunner;
+import com.coffeeshop.infrastructure.security.entity.RefreshTokenEntity;
+import com.coffeeshop.infrastructure.security.repository.RefreshTokenRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Issues, rotates and revokes opaque refresh tokens.
+ *
+ * <p>Refresh tokens are random values; only their SHA-256 hash is stored, so a lookup is a single
+ * unique-index probe and no password check is needed to mint a new access token. Every refresh
+ * rotates the token. Presenting a token that was already rotated or revoked is treated as theft
+ * and revokes its whole family.
+ */
+@Service
+public class RefreshTokenService {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final JwtTokenProvider tokenProvider;
+    private final ClusterJobRunner clusterJobRunner;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${security.jwt.refresh-expiration}")
+    private long refreshExpirationMs;
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            CustomUserDetailsService userDetailsService,
+            JwtTokenProvider tokenProvider,
+            ClusterJobRunner clusterJobRunner) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userDetailsService = userDetailsService;
+        this.tokenProvider = tokenProvider;
+        this.clusterJobRunner = clusterJobRunner;
+    }
+
+    public record IssuedTokens(String accessToken, String refreshToken) {}
+
+    @Transactional
+    public String issue(String email) {
+        return store(email, UUID.randomUUID());
+    }
+
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public IssuedTokens refresh(String rawToken) {
+        Instant now = Instant.now();
+        RefreshTokenEntity current = refreshTokenRepository
+                .findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+
+        if (current.isRevoked()) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn(
+                    "Reuse of revoked refresh token for user {}; revoked {} tokens in family {}",
+                    current.getUserEmail(),
+                    revoked,
+                    current.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        }
+        if (current.isExpired(now)) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+
+        UserDetails user = userDetailsService.loadUserByUsername(current.getUserEmail());
+        if (!user.isEnabled()) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("User account is disabled");
+        }
+
+        current.setRevokedAt(now);
+        String rotated = store(current.getUserEmail(), current.getFamilyId());
+        String accessToken = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        log.debug("Rotated refresh token for user: {}", current.getUserEmail());
+        return new IssuedTokens(accessToken, rotated);
+    }
+
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository
+                .findByTokenHash(hash(rawToken))
+                .ifPresent(token ->
+                        refreshTokenRepository.revokeFamily(token.getFamilyId(), Instant.now()));
+    }
+
+    @Scheduled(cron = "${app.scheduler.refresh-token-cleanup-cron}")
+    @Transactional
+    public void deleteExpiredTokens() {
+        clusterJobRunner.runExclusive("refresh-token-cleanup", () -> {
+            int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+            log.info("Deleted {} expired refresh tokens", deleted);
+        });
+    }
+
+    private String store(String email, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshTokenEntity entity = new RefreshTokenEntity();
+        entity.setTokenHash(hash(rawToken));
+        entity.setFamilyId(familyId);
+        entity.setUserEmail(email);
+        entity.setExpiresAt(Instant.now().plusMillis(refreshExpirationMs));
+        refreshTokenRepository.save(entity);
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
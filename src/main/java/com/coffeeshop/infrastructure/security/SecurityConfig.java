@@ -1,5 +1,20 @@
 package com.coffeeshop.infrastructure.security;
 
+import com.coffeeshop.infrastructure.capture.TrafficCaptureFilter;
+import com.coffeeshop.infrastructure.capture.TrafficCaptureWriter;
+import com.coffeeshop.infrastructure.observability.ServerTimingFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,19 +29,76 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
+    /**
+     * ASYNC dispatches that complete the reactive benchmark endpoint's responses; the request was
+     * authorized on its original dispatch.
+     */
+    private static final RequestMatcher REACTIVE_BENCH_ASYNC_DISPATCH = new AndRequestMatcher(
+            new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+            AntPathRequestMatcher.antMatcher("/api/v1/reactive/**"));
+
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final DeviceApiKeyFilter deviceApiKeyFilter;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<TrafficCaptureWriter> trafficCaptureWriter;
+
+    @Value("${security.password-hashing.threads:2}")
+    private int passwordHashingThreads;
+
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${security.rate-limit.order-writes-per-minute:30}")
+    private int orderWritesPerMinute;
+
+    @Value("${security.rate-limit.order-reads-per-minute:120}")
+    private int orderReadsPerMinute;
+
+    @Value("${security.rate-limit.menu-reads-per-minute:300}")
+    private int menuReadsPerMinute;
+
+    @Value("${security.rate-limit.auth-per-minute:20}")
+    private int authPerMinute;
+
+    @Value("${security.rate-limit.max-callers:100000}")
+    private long rateLimitMaxCallers;
+
+    @Value("${app.server-timing.sample-rate:0.0}")
+    private double serverTimingSampleRate;
+
+    @Value("${app.server-timing.record-metrics:true}")
+    private boolean serverTimingMetrics;
+
+    @Value("${app.capture.sample-rate:1.0}")
+    private double captureSampleRate;
+
+    @Value("${app.capture.max-body-bytes:16384}")
+    private int captureMaxBodyBytes;
 
     public SecurityConfig(
             CustomUserDetailsService userDetailsService,
-            JwtAuthenticationFilter jwtAuthenticationFilter) {
+            JwtAuthenticationFilter jwtAuthenticationFilter,
+            DeviceApiKeyFilter deviceApiKeyFilter,
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            ObjectProvider<TrafficCaptureWriter> trafficCaptureWriter) {
         this.userDetailsService = userDetailsService;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.deviceApiKeyFilter = deviceApiKeyFilter;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.trafficCaptureWriter = trafficCaptureWriter;
     }
 
     @Bean
@@ -36,8 +108,12 @@ public class SecurityConfig {
                         session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(
                         auth ->
-                                auth.requestMatchers("/api/v1/auth/**")
+                                auth.requestMatchers(REACTIVE_BENCH_ASYNC_DISPATCH)
+                                        .permitAll()
+                                        .requestMatchers("/api/v1/auth/**")
                                         .permitAll()
+                                        .requestMatchers("/actuator/virtualthreads/**", "/actuator/slowqueries/**")
+                                        .hasRole("ADMIN")
                                         .requestMatchers("/actuator/**")
                                         .permitAll()
                                         .requestMatchers(
@@ -54,11 +130,58 @@ public class SecurityConfig {
                                         .anyRequest()
                                         .authenticated())
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(deviceApiKeyFilter, JwtAuthenticationFilter.class);
+        trafficCaptureWriter.ifAvailable(writer ->
+                http.addFilterAfter(trafficCaptureFilter(writer), JwtAuthenticationFilter.class));
+        http.addFilterAfter(rateLimitFilter(), JwtAuthenticationFilter.class)
+                .addFilterAfter(serverTimingFilter(), RateLimitFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Per-caller limits, checked after authentication so that customers and devices are limited
+     * by identity and anonymous callers by IP. The first matching rule applies. Not a bean, so it
+     * is only registered in the security chain and not as a servlet filter as well.
+     */
+    private RateLimitFilter rateLimitFilter() {
+        Duration minute = Duration.ofMinutes(1);
+        List<RateLimitRule> rules = List.of(
+                RateLimitRule.of(
+                        "auth", HttpMethod.POST, "/api/v1/auth/**", authPerMinute, minute),
+                RateLimitRule.of(
+                        "order-writes",
+                        HttpMethod.POST,
+                        "/api/v1/orders/**",
+                        orderWritesPerMinute,
+                        minute),
+                RateLimitRule.of(
+                        "order-reads", HttpMethod.GET, "/api/v1/orders/**", orderReadsPerMinute, minute),
+                RateLimitRule.of(
+                        "menu-reads",
+                        HttpMethod.GET,
+                        "/api/v1/products/**",
+                        menuReadsPerMinute,
+                        minute));
+        return new RateLimitFilter(rules, rateLimitMaxCallers, objectMapper, meterRegistry);
+    }
+
+    /** After authentication, so that admins can ask for the Server-Timing header. */
+    private ServerTimingFilter serverTimingFilter() {
+        return new ServerTimingFilter(
+                serverTimingSampleRate, serverTimingMetrics ? meterRegistry : null);
+    }
+
+    /**
+     * Only registered when {@code app.capture.enabled} is set. Ahead of rate limiting, so the
+     * capture holds the traffic that was offered rather than what was let through.
+     */
+    private TrafficCaptureFilter trafficCaptureFilter(TrafficCaptureWriter writer) {
+        return new TrafficCaptureFilter(
+                writer, objectMapper, captureSampleRate, captureMaxBodyBytes);
+    }
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
@@ -75,7 +198,25 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+        return new OffloadingPasswordEncoder(
+                new BCryptPasswordEncoder(12), passwordHashingExecutor(), meterRegistry);
+    }
+
+    /**
+     * Platform threads sized independently of the virtual-thread carriers, so BCrypt work during a
+     * login storm cannot starve request handling. Excess work is rejected rather than queued.
+     * Not exposed as a bean so it does not replace Spring Boot's default task executor.
+     */
+    private ExecutorService passwordHashingExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                passwordHashingThreads,
+                passwordHashingThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(passwordHashingQueueCapacity),
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
     }
 }
 
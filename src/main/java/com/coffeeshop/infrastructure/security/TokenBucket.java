@@ -0,0 +1,37 @@
+package com.coffeeshop.infrastructure.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single "theoretical arrival time" (the GCRA formulation).
+ *
+ * <p>Each permit pushes the arrival time forward by one refill interval; a request is allowed
+ * while the arrival time is less than {@code capacity} intervals ahead of now. One CAS per
+ * request replaces the usual tokens-plus-timestamp pair and its lock.
+ */
+final class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int capacity, long refillPeriodNanos, long nowNanos) {
+        this.intervalNanos = Math.max(1L, refillPeriodNanos / capacity);
+        this.burstNanos = intervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /** Takes one token, returning 0 on success or the nanoseconds until a token is available. */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+}
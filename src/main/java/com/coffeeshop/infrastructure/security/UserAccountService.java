@@ -0,0 +1,68 @@
+package com.coffeeshop.infrastructure.security;
+
+import com.coffeeshop.application.exception.ResourceNotFoundException;
+import com.coffeeshop.infrastructure.security.entity.UserEntity;
+import com.coffeeshop.infrastructure.security.repository.UserRepository;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Account changes that must not be masked by {@link UserDetailsCache} or by access tokens issued
+ * before them, made through {@code /api/v1/users}.
+ */
+@Service
+public class UserAccountService {
+    private static final Logger log = LoggerFactory.getLogger(UserAccountService.class);
+
+    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final AccessTokenRevocations accessTokenRevocations;
+
+    public UserAccountService(
+            UserRepository userRepository,
+            UserDetailsCache userDetailsCache,
+            AccessTokenRevocations accessTokenRevocations) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.accessTokenRevocations = accessTokenRevocations;
+    }
+
+    @Transactional
+    public void setEnabled(String email, boolean enabled) {
+        UserEntity user = findUser(email);
+        user.setEnabled(enabled);
+        if (!enabled) {
+            revokeTokens(user);
+        }
+        userRepository.save(user);
+        userDetailsCache.invalidate(email);
+        log.info("User {} {}", email, enabled ? "enabled" : "disabled");
+    }
+
+    @Transactional
+    public void updateRoles(String email, Set<String> roles) {
+        UserEntity user = findUser(email);
+        user.setRoles(new HashSet<>(roles));
+        revokeTokens(user);
+        userRepository.save(user);
+        userDetailsCache.invalidate(email);
+        log.info("Updated roles for user {}: {}", email, roles);
+    }
+
+    private void revokeTokens(UserEntity user) {
+        Instant now = Instant.now();
+        user.setTokensRevokedAt(now);
+        accessTokenRevocations.revokeLocal(user.getEmail(), now);
+    }
+
+    private UserEntity findUser(String email) {
+        return userRepository
+                .findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+    }
+}
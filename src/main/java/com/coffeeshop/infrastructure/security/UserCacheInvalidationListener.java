@@ -0,0 +1,109 @@
+package com.coffeeshop.infrastructure.security;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies user cache invalidations broadcast by other nodes, together with the user's
+ * {@link AccessTokenRevocations access token cut-off}.
+ *
+ * <p>Holds one dedicated connection outside the Hikari pool and {@code LISTEN}s on
+ * {@link UserDetailsCache#INVALIDATION_CHANNEL}. Notifications missed while disconnected cannot
+ * be replayed, so the whole cache is cleared and all cut-offs are reloaded after every reconnect.
+ */
+@Component
+@ConditionalOnProperty(
+        name = "security.user-cache.cluster-invalidation.enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class UserCacheInvalidationListener implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(UserCacheInvalidationListener.class);
+
+    private static final int POLL_TIMEOUT_MS = 1000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    private final UserDetailsCache userDetailsCache;
+    private final AccessTokenRevocations accessTokenRevocations;
+    private final DataSourceProperties dataSourceProperties;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public UserCacheInvalidationListener(
+            UserDetailsCache userDetailsCache,
+            AccessTokenRevocations accessTokenRevocations,
+            DataSourceProperties dataSourceProperties) {
+        this.userDetailsCache = userDetailsCache;
+        this.accessTokenRevocations = accessTokenRevocations;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofVirtual().name("user-cache-invalidation").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + UserDetailsCache.INVALIDATION_CHANNEL);
+                }
+                userDetailsCache.invalidateAllLocal();
+                accessTokenRevocations.reloadAll();
+                log.info("Listening for user cache invalidations");
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        userDetailsCache.invalidateLocal(notification.getParameter());
+                        accessTokenRevocations.reload(notification.getParameter());
+                        log.debug("Invalidated cached user: {}", notification.getParameter());
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("User cache invalidation listener disconnected, retrying", ex);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
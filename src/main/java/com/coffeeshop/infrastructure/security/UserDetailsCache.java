@@ -0,0 +1,73 @@
+package com.coffeeshop.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, TTL-based cache of {@link UserDetails} keyed by email.
+ *
+ * <p>Entries expire after {@code security.user-cache.ttl}, which bounds how long a disabled user
+ * or a role change can go unnoticed. Explicit invalidations are applied locally and broadcast to
+ * the other nodes through PostgreSQL {@code NOTIFY}; see {@link UserCacheInvalidationListener}.
+ */
+@Component
+public class UserDetailsCache {
+    private static final Logger log = LoggerFactory.getLogger(UserDetailsCache.class);
+
+    static final String INVALIDATION_CHANNEL = "user_cache_invalidation";
+
+    private final Cache<String, UserDetails> cache;
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserDetailsCache(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${security.user-cache.max-size:10000}") long maxSize,
+            @Value("${security.user-cache.ttl:5m}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    /**
+     * Returns a copy of the cached user, loading it on a miss. A copy is handed out because
+     * authentication erases the credentials of the principal it was given.
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        return User.withUserDetails(cache.get(email, loader)).build();
+    }
+
+    /**
+     * Evicts the user on this node and notifies the other nodes. When called inside a
+     * transaction the notification is delivered on commit.
+     */
+    public void invalidate(String email) {
+        invalidateLocal(email);
+        jdbcTemplate.queryForObject(
+                "SELECT pg_notify(?, ?)", Object.class, INVALIDATION_CHANNEL, email);
+        log.debug("Broadcast user cache invalidation for: {}", email);
+    }
+
+    void invalidateLocal(String email) {
+        cache.invalidate(email);
+    }
+
+    void invalidateAllLocal() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,11 @@
+package com.coffeeshop.infrastructure.security;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been checked.
+ */
+public record VerifiedToken(
+        String email, List<GrantedAuthority> authorities, Instant issuedAt, Instant expiresAt) {}
@@ -32,6 +32,9 @@ public class UserEntity {
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    @Column(name = "tokens_revoked_at")
+    private Instant tokensRevokedAt;
+
     @PrePersist
     protected void onCreate() {
         if (id == null) {
@@ -90,7 +93,12 @@ public class UserEntity {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
-}
-
 
+    public Instant getTokensRevokedAt() {
+        return tokensRevokedAt;
+    }
 
+    public void setTokensRevokedAt(Instant tokensRevokedAt) {
+        this.tokensRevokedAt = tokensRevokedAt;
+    }
+}
@@ -0,0 +1,16 @@
+package com.coffeeshop.infrastructure.security.repository;
+
+import com.coffeeshop.infrastructure.security.entity.DeviceApiKeyEntity;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface DeviceApiKeyRepository extends JpaRepository<DeviceApiKeyEntity, UUID> {
+    List<DeviceApiKeyEntity> findByRevokedAtIsNull();
+
+    @Query("SELECT MAX(d.updatedAt) FROM DeviceApiKeyEntity d")
+    Optional<Instant> findLatestUpdate();
+}
@@ -0,0 +1,26 @@
+package com.coffeeshop.infrastructure.security.repository;
+
+import com.coffeeshop.infrastructure.security.entity.RefreshTokenEntity;
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, UUID> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenEntity t SET t.revokedAt = :now "
+            + "WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenEntity t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
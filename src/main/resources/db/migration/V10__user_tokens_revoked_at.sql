@@ -0,0 +1,3 @@
+-- Access tokens are verified from their own claims without a user lookup, so disabling a user or
+-- changing their roles records a cut-off instead: tokens issued before it are refused.
+ALTER TABLE users ADD COLUMN tokens_revoked_at TIMESTAMP;
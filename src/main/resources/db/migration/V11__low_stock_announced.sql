@@ -0,0 +1,7 @@
+-- Whether a StockLowEvent has been published for the product's current stay below the low-stock
+-- threshold. It is set in the transaction that publishes the event and cleared when stock
+-- recovers, so live detection on any node and the periodic reconciliation announce each crossing
+-- once. Products already low when this runs are announced by the first reconciliation.
+ALTER TABLE products ADD COLUMN low_stock_announced BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX idx_product_low_stock_announced ON products(id) WHERE low_stock_announced;
@@ -0,0 +1,15 @@
+-- Create refresh_tokens table
+-- Only a SHA-256 hash of each token is stored; tokens issued by rotating the same
+-- login share a family_id so that reuse of a rotated token revokes the whole chain.
+CREATE TABLE refresh_tokens (
+    id UUID PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
+    family_id UUID NOT NULL,
+    user_email VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP
+);
+
+CREATE INDEX idx_refresh_token_family ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_token_expires_at ON refresh_tokens(expires_at);
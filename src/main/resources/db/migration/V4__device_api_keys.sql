@@ -0,0 +1,14 @@
+-- Create device_api_keys table
+-- key_hash is an HMAC-SHA256 of the raw key under a server-side pepper; the raw key
+-- is only shown once when the device is registered.
+CREATE TABLE device_api_keys (
+    id UUID PRIMARY KEY,
+    device_name VARCHAR(100) NOT NULL,
+    key_hash VARCHAR(64) NOT NULL UNIQUE,
+    scopes VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP
+);
+
+CREATE INDEX idx_device_api_keys_updated_at ON device_api_keys(updated_at);
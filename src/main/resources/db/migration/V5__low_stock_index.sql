@@ -0,0 +1,4 @@
+-- Partial index for low-stock reconciliation. It only covers the handful of products below the
+-- default app.inventory.low-stock-threshold (10), so the periodic scan walks a tiny index by id
+-- instead of reading the whole products table. Raise the predicate together with the threshold.
+CREATE INDEX idx_product_low_stock ON products(id) WHERE stock_quantity < 10;
@@ -0,0 +1,26 @@
+-- Pending auto-restock requests, one row per product. Repeated StockLowEvents for the same
+-- product collapse onto the primary key until the next restock run picks the row up.
+CREATE TABLE restock_requests (
+    product_id UUID PRIMARY KEY,
+    requested_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_restock_requests_requested_at ON restock_requests(requested_at);
+
+-- Create purchase_orders table
+CREATE TABLE purchase_orders (
+    id UUID PRIMARY KEY,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Create purchase_order_lines table
+CREATE TABLE purchase_order_lines (
+    id UUID PRIMARY KEY,
+    purchase_order_id UUID NOT NULL,
+    product_id UUID NOT NULL,
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    FOREIGN KEY (purchase_order_id) REFERENCES purchase_orders(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_purchase_order_lines_order ON purchase_order_lines(purchase_order_id);
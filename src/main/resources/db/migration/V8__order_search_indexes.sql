@@ -0,0 +1,15 @@
+-- Composite indexes for GET /api/v1/orders searches. The equality filters (status, customer)
+-- lead and the range filters follow, so a filtered search reads one contiguous index range and,
+-- for the default created_at sort, returns rows already in order. The single-column status and
+-- customer indexes are prefixes of the new ones and are dropped.
+CREATE INDEX idx_order_status_created_at ON orders(status, created_at);
+CREATE INDEX idx_order_customer_created_at ON orders(customer_id, created_at);
+CREATE INDEX idx_order_status_total_amount ON orders(status, total_amount);
+CREATE INDEX idx_order_total_amount ON orders(total_amount);
+
+DROP INDEX idx_order_status;
+DROP INDEX idx_order_customer;
+
+-- Serves the product filter's EXISTS subquery. order_id is included so the subquery is
+-- answered from the index alone.
+CREATE INDEX idx_order_items_product ON order_items(product_id, order_id);
@@ -0,0 +1,7 @@
+-- Replaces the partial low-stock index from V5. Its predicate hardcoded the default threshold
+-- (stock_quantity < 10), so it stopped matching as soon as app.inventory.low-stock-threshold
+-- changed, and a generic plan with the threshold as a bind parameter could never use it. A plain
+-- index on the quantity serves any threshold; the low-stock range is small either way.
+DROP INDEX idx_product_low_stock;
+
+CREATE INDEX idx_product_stock_quantity ON products(stock_quantity);
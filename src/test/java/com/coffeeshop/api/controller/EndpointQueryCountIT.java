@@ -0,0 +1,260 @@
+package com.coffeeshop.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.coffeeshop.domain.order.Order;
+import com.coffeeshop.domain.order.OrderItem;
+import com.coffeeshop.domain.order.OrderRepository;
+import com.coffeeshop.domain.product.Product;
+import com.coffeeshop.domain.product.ProductRepository;
+import com.coffeeshop.domain.shared.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Guards against N+1 queries: every endpoint runs against seeded data of increasing size, and
+ * the SQL statements Hibernate prepared must stay within the endpoint's budget and must not grow
+ * with page size or item count. Rows are counted as entities Hibernate loaded, which must not
+ * exceed what the response returns.
+ *
+ * <p>Data is committed rather than rolled back, since order creation loads products on a forked
+ * thread outside the test's transaction. Background jobs that use JPA are pushed out of the way.
+ */
+@SpringBootTest(
+        properties = {
+            "spring.jpa.properties.hibernate.generate_statistics=true",
+            "security.device-keys.reload-interval=1h",
+            "security.rate-limit.order-writes-per-minute=100000",
+            "security.rate-limit.order-reads-per-minute=100000",
+            "security.rate-limit.menu-reads-per-minute=100000",
+            "app.diagnostics.jfr.enabled=false"
+        })
+@AutoConfigureMockMvc
+@Testcontainers
+@ActiveProfiles("test")
+class EndpointQueryCountIT {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static final int[] PAGE_SIZES = {5, 20, 50};
+    private static final int[] ITEM_COUNTS = {1, 5, 20};
+    private static final int ITEMS_PER_LISTED_ORDER = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private static List<Product> products;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (products == null) {
+            products = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                products.add(productRepository.save(Product.create(
+                        "Query Count " + i, "QC-" + UUID.randomUUID(), Money.of("4.50"), 100_000)));
+            }
+        }
+    }
+
+    @Test
+    void productPagesUseAFixedNumberOfStatements() throws Exception {
+        assertWithinBudget("GET /api/v1/products", PAGE_SIZES, 2, size -> size,
+                size -> get("/api/v1/products").param("size", String.valueOf(size)));
+    }
+
+    @Test
+    void productLookupIsOneStatement() throws Exception {
+        assertWithinBudget("GET /api/v1/products/{id}", new int[] {1}, 1, size -> 1,
+                size -> get("/api/v1/products/{id}", products.getFirst().getId()));
+    }
+
+    @Test
+    void orderLookupDoesNotGrowWithItems() throws Exception {
+        Map<Integer, UUID> orders = new LinkedHashMap<>();
+        for (int items : ITEM_COUNTS) {
+            orders.put(items, seedOrder("lookup@local", items).getId());
+        }
+
+        assertWithinBudget("GET /api/v1/orders/{id}", ITEM_COUNTS, 1, items -> 1 + items,
+                items -> get("/api/v1/orders/{id}", orders.get(items)));
+    }
+
+    @Test
+    void orderPagesLoadItemsInOneBatch() throws Exception {
+        for (int i = 0; i < 60; i++) {
+            seedOrder("list@local", ITEMS_PER_LISTED_ORDER);
+        }
+
+        // Page, count and the items of all orders on the page
+        assertWithinBudget("GET /api/v1/orders", PAGE_SIZES, 3,
+                size -> size * (1 + ITEMS_PER_LISTED_ORDER),
+                size -> get("/api/v1/orders")
+                        .param("size", String.valueOf(size))
+                        .with(user("admin@local").roles("ADMIN", "USER")));
+    }
+
+    @Test
+    void orderSearchWithEveryFilterIsOneQuery() throws Exception {
+        for (int i = 0; i < 60; i++) {
+            seedOrder("search@local", ITEMS_PER_LISTED_ORDER);
+        }
+
+        // Page, count and the items of all orders on the page, however many filters apply
+        assertWithinBudget("GET /api/v1/orders?<all filters>", PAGE_SIZES, 3,
+                size -> size * (1 + ITEMS_PER_LISTED_ORDER),
+                size -> get("/api/v1/orders")
+                        .param("size", String.valueOf(size))
+                        .param("status", "CREATED")
+                        .param("customerId", "search@local")
+                        .param("dateFrom", "2000-01-01T00:00:00Z")
+                        .param("dateTo", "2100-01-01T00:00:00Z")
+                        .param("minTotal", "0")
+                        .param("maxTotal", "1000")
+                        .param("productId", products.getFirst().getId().toString())
+                        .param("sort", "totalAmount,desc")
+                        .with(user("admin@local").roles("ADMIN", "USER")));
+    }
+
+    @Test
+    void orderCreationDoesNotGrowWithItems() throws Exception {
+        Map<Integer, String> requests = new LinkedHashMap<>();
+        for (int items : ITEM_COUNTS) {
+            requests.put(items, orderRequest(items));
+        }
+
+        // Products, order insert and one batch of item inserts
+        assertWithinBudget("POST /api/v1/orders", ITEM_COUNTS, 3, items -> items,
+                items -> post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requests.get(items))
+                        .with(user("create@local").roles("USER")),
+                status().isCreated());
+    }
+
+    @Test
+    void paymentDoesNotGrowWithItems() throws Exception {
+        Map<Integer, UUID> orders = new LinkedHashMap<>();
+        for (int items : ITEM_COUNTS) {
+            orders.put(items, seedOrder("pay@local", items).getId());
+        }
+
+        // Order, products, one batch of stock updates and the order update
+        assertWithinBudget("POST /api/v1/orders/{id}/pay", ITEM_COUNTS, 4, items -> 1 + 2 * items,
+                items -> post("/api/v1/orders/{id}/pay", orders.get(items))
+                        .with(user("pay@local").roles("USER")));
+    }
+
+    private void assertWithinBudget(
+            String endpoint,
+            int[] sizes,
+            long maxStatements,
+            IntFunction<Integer> maxEntities,
+            IntFunction<MockHttpServletRequestBuilder> request)
+            throws Exception {
+        assertWithinBudget(endpoint, sizes, maxStatements, maxEntities, request, status().isOk());
+    }
+
+    private void assertWithinBudget(
+            String endpoint,
+            int[] sizes,
+            long maxStatements,
+            IntFunction<Integer> maxEntities,
+            IntFunction<MockHttpServletRequestBuilder> request,
+            ResultMatcher expectedStatus)
+            throws Exception {
+        Map<Integer, QueryCount> counts = new LinkedHashMap<>();
+        for (int size : sizes) {
+            QueryCount count = measure(request.apply(size), expectedStatus);
+            counts.put(size, count);
+            assertThat(count.statements())
+                    .as("%s statements at size %d", endpoint, size)
+                    .isLessThanOrEqualTo(maxStatements);
+            assertThat(count.entitiesLoaded())
+                    .as("%s entities loaded at size %d", endpoint, size)
+                    .isLessThanOrEqualTo(maxEntities.apply(size));
+        }
+        assertThat(counts.values())
+                .as("%s statements by size %s", endpoint, counts)
+                .extracting(QueryCount::statements)
+                .containsOnly(counts.get(sizes[0]).statements());
+    }
+
+    private QueryCount measure(RequestBuilder request, ResultMatcher expectedStatus)
+            throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(expectedStatus);
+        return new QueryCount(statistics.getPrepareStatementCount(), statistics.getEntityLoadCount());
+    }
+
+    private Order seedOrder(String customerId, int items) {
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            Product product = products.get(i % products.size());
+            orderItems.add(OrderItem.create(product.getId(), product.getName(), product.getPrice(), 1));
+        }
+        return orderRepository.create(Order.create(customerId, orderItems));
+    }
+
+    private String orderRequest(int items) throws Exception {
+        List<Map<String, Object>> lines = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            lines.add(Map.of("productId", products.get(i).getId(), "quantity", 1));
+        }
+        return objectMapper.writeValueAsString(Map.of("items", lines));
+    }
+
+    record QueryCount(long statements, long entitiesLoaded) {}
+}
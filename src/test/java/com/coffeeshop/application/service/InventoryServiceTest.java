@@ -0,0 +1,111 @@
+package com.coffeeshop.application.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.coffeeshop.application.scheduling.ClusterJobRunner;
+import com.coffeeshop.domain.product.ProductRepository;
+import com.coffeeshop.domain.purchasing.PurchaseOrder;
+import com.coffeeshop.domain.purchasing.PurchaseOrderLine;
+import com.coffeeshop.domain.purchasing.PurchaseOrderRepository;
+import com.coffeeshop.domain.purchasing.RestockRequestRepository;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceTest {
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private LowStockMonitor lowStockMonitor;
+
+    @Mock
+    private RestockRequestRepository restockRequestRepository;
+
+    @Mock
+    private PurchaseOrderRepository purchaseOrderRepository;
+
+    @Mock
+    private ClusterJobRunner clusterJobRunner;
+
+    @InjectMocks
+    private InventoryService inventoryService;
+
+    private final UUID lowProduct = UUID.randomUUID();
+    private final UUID restockedProduct = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inventoryService, "restockAmount", 100);
+        ReflectionTestUtils.setField(inventoryService, "autoRestockWindow", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(inventoryService, "autoRestockBatchSize", 500);
+    }
+
+    @Test
+    void shouldRestockQueuedProductsInOnePurchaseOrder() {
+        when(lowStockMonitor.getThreshold()).thenReturn(10);
+        when(restockRequestRepository.claimDue(any(), eq(500)))
+                .thenReturn(List.of(lowProduct, restockedProduct));
+        when(productRepository.restockBelowThreshold(List.of(lowProduct, restockedProduct), 100, 10))
+                .thenReturn(Map.of(lowProduct, 103));
+
+        int restocked = inventoryService.autoRestock();
+
+        assertThat(restocked).isEqualTo(1);
+        ArgumentCaptor<PurchaseOrder> purchaseOrder = ArgumentCaptor.forClass(PurchaseOrder.class);
+        verify(purchaseOrderRepository).save(purchaseOrder.capture());
+        assertThat(purchaseOrder.getValue().lines())
+                .containsExactly(new PurchaseOrderLine(lowProduct, 100));
+        verify(restockRequestRepository).delete(List.of(lowProduct, restockedProduct));
+        verify(lowStockMonitor).stockRestored(Map.of(lowProduct, 103));
+    }
+
+    @Test
+    void shouldNotCreatePurchaseOrderWhenRequestsAreAlreadySatisfied() {
+        when(lowStockMonitor.getThreshold()).thenReturn(10);
+        when(restockRequestRepository.claimDue(any(), anyInt())).thenReturn(List.of(restockedProduct));
+        when(productRepository.restockBelowThreshold(anyCollection(), anyInt(), anyInt()))
+                .thenReturn(Map.of());
+
+        assertThat(inventoryService.autoRestock()).isZero();
+
+        verify(restockRequestRepository).delete(List.of(restockedProduct));
+        verifyNoInteractions(purchaseOrderRepository);
+    }
+
+    @Test
+    void shouldReconcileViewEverywhereButAnnounceOnlyUnderLease() {
+        ReflectionTestUtils.setField(inventoryService, "reconcileChunkSize", 500);
+        when(lowStockMonitor.getThreshold()).thenReturn(10);
+        when(productRepository.findLowStockProducts(eq(10), any(UUID.class), eq(500)))
+                .thenReturn(List.of());
+        when(clusterJobRunner.runExclusive(eq("low-stock-reconcile"), any())).thenReturn(false);
+        inventoryService.loadLowStockView();
+
+        inventoryService.checkLowStockProducts();
+
+        verify(lowStockMonitor, times(2)).reconcile(List.of());
+        verify(lowStockMonitor, never()).announceMissed();
+    }
+
+    @Test
+    void shouldDoNothingWithoutDueRequests() {
+        when(restockRequestRepository.claimDue(any(), anyInt())).thenReturn(List.of());
+
+        assertThat(inventoryService.autoRestock()).isZero();
+
+        verifyNoInteractions(productRepository, purchaseOrderRepository);
+    }
+}
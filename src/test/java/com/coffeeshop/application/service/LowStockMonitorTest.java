@@ -0,0 +1,131 @@
+package com.coffeeshop.application.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import com.coffeeshop.application.dto.LowStockProductDto;
+import com.coffeeshop.domain.product.Product;
+import com.coffeeshop.domain.product.ProductRepository;
+import com.coffeeshop.domain.product.StockLowEvent;
+import com.coffeeshop.domain.shared.DomainEventPublisher;
+import com.coffeeshop.domain.shared.Money;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class LowStockMonitorTest {
+    private final DomainEventPublisher eventPublisher = mock(DomainEventPublisher.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final LowStockMonitor monitor = new LowStockMonitor(eventPublisher, productRepository, 10);
+    private final Set<UUID> announced = new HashSet<>();
+
+    @BeforeEach
+    void announcedFlags() {
+        when(productRepository.markLowStockAnnounced(any())).thenAnswer(
+                invocation -> announced.add(invocation.getArgument(0)));
+        doAnswer(invocation -> announced.removeAll(invocation.getArgument(0)))
+                .when(productRepository).clearLowStockAnnounced(anyCollection());
+    }
+
+    @Test
+    void shouldPublishOnceWhenStockCrossesThreshold() {
+        Product product = Product.create("Espresso", "COFFEE-ESP-001", Money.of("2.50"), 12);
+
+        decrease(product, 3);
+        decrease(product, 2);
+
+        verify(eventPublisher, times(1)).publish(any(StockLowEvent.class));
+        assertThat(monitor.getLowStockProducts())
+                .extracting(LowStockProductDto::stockQuantity)
+                .containsExactly(7);
+    }
+
+    @Test
+    void shouldPublishAgainAfterRestockAndNewCrossing() {
+        Product product = Product.create("Espresso", "COFFEE-ESP-001", Money.of("2.50"), 12);
+
+        decrease(product, 5);
+        int previous = product.getStockQuantity();
+        product.restock(20);
+        monitor.stockChanged(product, previous);
+        assertThat(monitor.getLowStockProducts()).isEmpty();
+
+        decrease(product, 20);
+
+        verify(eventPublisher, times(2)).publish(any(StockLowEvent.class));
+    }
+
+    @Test
+    void shouldNotPublishCrossingAlreadyAnnouncedElsewhere() {
+        Product product = Product.create("Espresso", "COFFEE-ESP-001", Money.of("2.50"), 12);
+        announced.add(product.getId());
+
+        decrease(product, 5);
+
+        verify(eventPublisher, never()).publish(any());
+        assertThat(monitor.getLowStockProducts()).hasSize(1);
+    }
+
+    @Test
+    void shouldRearmProductsRestoredInBulk() {
+        UUID restocked = UUID.randomUUID();
+        UUID stillLow = UUID.randomUUID();
+
+        monitor.stockRestored(Map.of(restocked, 110, stillLow, 5));
+
+        verify(productRepository).clearLowStockAnnounced(List.of(restocked));
+    }
+
+    @Test
+    void shouldAnnounceOnlyClaimedProducts() {
+        Product unseen = Product.create("Latte", "COFFEE-LAT-001", Money.of("3.50"), 4);
+        when(productRepository.claimUnannouncedLowStock(10)).thenReturn(List.of(unseen.getId()));
+        when(productRepository.findAllById(List.of(unseen.getId()))).thenReturn(List.of(unseen));
+
+        assertThat(monitor.announceMissed()).isEqualTo(1);
+
+        verify(productRepository).clearRecoveredLowStock(10);
+        ArgumentCaptor<StockLowEvent> event = ArgumentCaptor.forClass(StockLowEvent.class);
+        verify(eventPublisher).publish(event.capture());
+        assertThat(event.getValue().productId()).isEqualTo(unseen.getId());
+    }
+
+    @Test
+    void shouldNotAnnounceWhenEverythingWasClaimedBefore() {
+        when(productRepository.claimUnannouncedLowStock(10)).thenReturn(List.of());
+
+        assertThat(monitor.announceMissed()).isZero();
+
+        verify(eventPublisher, never()).publish(any());
+        verify(productRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void shouldReplaceViewOnReconcileWithoutAnnouncing() {
+        Product known = Product.create("Espresso", "COFFEE-ESP-001", Money.of("2.50"), 3);
+        Product unseen = Product.create("Latte", "COFFEE-LAT-001", Money.of("3.50"), 4);
+
+        monitor.reconcile(List.of(known));
+        monitor.reconcile(List.of(known, unseen));
+        assertThat(monitor.getLowStockProducts()).hasSize(2);
+
+        monitor.reconcile(List.of(unseen));
+        assertThat(monitor.getLowStockProducts())
+                .extracting(LowStockProductDto::sku)
+                .containsExactly("COFFEE-LAT-001");
+        verify(eventPublisher, never()).publish(any());
+    }
+
+    private void decrease(Product product, int quantity) {
+        int previous = product.getStockQuantity();
+        product.decreaseStock(quantity);
+        monitor.stockChanged(product, previous);
+    }
+}
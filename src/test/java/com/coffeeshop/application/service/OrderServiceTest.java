@@ -0,0 +1,92 @@
+package com.coffeeshop.application.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.coffeeshop.application.exception.BusinessException;
+import com.coffeeshop.application.mapper.OrderMapper;
+import com.coffeeshop.domain.order.OrderRepository;
+import com.coffeeshop.domain.order.OrderSearchCriteria;
+import com.coffeeshop.domain.product.ProductRepository;
+import com.coffeeshop.domain.shared.Money;
+import io.micrometer.observation.ObservationRegistry;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+    private static final OrderSearchCriteria NO_FILTERS =
+            new OrderSearchCriteria(null, null, null, null, null, null, null);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderMapper orderMapper;
+
+    @Mock
+    private DiscountService discountService;
+
+    @Mock
+    private ShippingService shippingService;
+
+    @Mock
+    private LowStockMonitor lowStockMonitor;
+
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderService(
+                orderRepository, productRepository, orderMapper, discountService, shippingService,
+                lowStockMonitor, ObservationRegistry.NOOP);
+    }
+
+    @Test
+    void shouldSearchWithIndexedSort() {
+        OrderSearchCriteria criteria = NO_FILTERS;
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("totalAmount").and(Sort.by("createdAt")));
+        when(orderRepository.search(criteria, pageable)).thenReturn(Page.empty(pageable));
+
+        assertThat(orderService.searchOrders(criteria, pageable)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectSortByUnindexedProperty() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("customerId"));
+
+        assertThatThrownBy(() -> orderService.searchOrders(NO_FILTERS, pageable))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("customerId")
+                .extracting("errorCode").isEqualTo("INVALID_SORT");
+        verify(orderRepository, never()).search(any(), any());
+    }
+
+    @Test
+    void shouldRejectInvertedRanges() {
+        Instant now = Instant.now();
+        OrderSearchCriteria dates = new OrderSearchCriteria(null, now, now.minusSeconds(1), null, null, null, null);
+        OrderSearchCriteria totals =
+                new OrderSearchCriteria(null, null, null, null, Money.of("10.00"), Money.of("5.00"), null);
+
+        assertThatThrownBy(() -> orderService.searchOrders(dates, Pageable.unpaged()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("dateFrom");
+        assertThatThrownBy(() -> orderService.searchOrders(totals, Pageable.unpaged()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("minTotal");
+        verify(orderRepository, never()).search(any(), any());
+    }
+}
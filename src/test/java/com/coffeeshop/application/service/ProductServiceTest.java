@@ -29,6 +29,9 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private LowStockMonitor lowStockMonitor;
+
     @InjectMocks
     private ProductService productService;
 
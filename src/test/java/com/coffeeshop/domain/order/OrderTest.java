@@ -86,7 +86,42 @@ class OrderTest {
         // (12.50 * 2) + (7.25 * 3) = 25.00 + 21.75 = 46.75
         assertThat(order.getTotalAmount().amount()).isEqualByComparingTo("46.75");
     }
-}
 
+    @Test
+    void shouldMaintainTotalWhenItemsAreAddedAndRemoved() {
+        OrderItem first = OrderItem.create(UUID.randomUUID(), "Product 1", Money.of("12.50"), 2);
+        OrderItem second = OrderItem.create(UUID.randomUUID(), "Product 2", Money.of("7.25"), 3);
+        Order order = Order.create("customer@test.com", List.of(first));
 
+        order.addItem(second);
+        assertThat(order.getTotalAmount().amount()).isEqualByComparingTo("46.75");
+
+        order.removeItem(first.getId());
+        assertThat(order.getTotalAmount().amount()).isEqualByComparingTo("21.75");
+        assertThat(order.getItems()).containsExactly(second);
+    }
+
+    @Test
+    void shouldNotRemoveLastItem() {
+        OrderItem item = OrderItem.create(UUID.randomUUID(), "Product", Money.of("10.00"), 1);
+        Order order = Order.create("customer@test.com", List.of(item));
 
+        assertThatThrownBy(() -> order.removeItem(item.getId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("at least one item");
+    }
+
+    @Test
+    void shouldTrustStoredTotalOnHydrationAndDetectMismatchOnVerify() {
+        OrderItem item = OrderItem.create(UUID.randomUUID(), "Product", Money.of("10.00"), 2);
+        Order order = new Order();
+        order.setOrderNumber("ORD-TEST");
+        order.setTotalAmount(Money.of("25.00"));
+        order.setItems(List.of(item));
+
+        assertThat(order.getTotalAmount().amount()).isEqualByComparingTo("25.00");
+        assertThatThrownBy(order::verifyTotal)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("does not match");
+    }
+}
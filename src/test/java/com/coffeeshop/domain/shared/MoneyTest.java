@@ -56,7 +56,23 @@ class MoneyTest {
         assertThat(money1.isGreaterThan(money2)).isTrue();
         assertThat(money2.isGreaterThan(money1)).isFalse();
     }
-}
 
+    @Test
+    void shouldStoreAmountAsMinorUnits() {
+        Money money = Money.of("10.57");
 
+        assertThat(money.minorUnits()).isEqualTo(1057L);
+        assertThat(money.amount()).isEqualTo(new BigDecimal("10.57"));
+        assertThat(money).isEqualTo(Money.ofMinorUnits(1057L));
+    }
 
+    @Test
+    void shouldThrowExceptionOnOverflow() {
+        Money money = Money.ofMinorUnits(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> money.add(Money.ofMinorUnits(1L)))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> money.multiply(2))
+                .isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,140 @@
+package com.coffeeshop.infrastructure.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class TrafficCaptureFilterTest {
+
+    private static final String ORDER_BODY =
+            "{\"items\":[{\"productId\":\"7c3f2a51-0d0e-4a5c-9a53-3b2f1f0c2e11\",\"quantity\":2}]}";
+
+    private final TrafficCaptureWriter writer = mock(TrafficCaptureWriter.class);
+    private final TrafficCaptureFilter filter =
+            new TrafficCaptureFilter(writer, new ObjectMapper(), 1.0, 1024);
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void capturesTheCreateWithoutHeadersAndKeepsTheCreatedId() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        MockHttpServletRequest request = request("POST", "/api/v1/orders", ORDER_BODY);
+        request.addHeader("Authorization", "Bearer secret-token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.getInputStream().readAllBytes();
+            ((HttpServletResponse) res).setStatus(HttpStatus.CREATED.value());
+            res.getWriter().write("{\"id\":\"" + orderId + "\",\"status\":\"CREATED\"}");
+        });
+
+        CapturedRequest captured = captured();
+        assertThat(captured.method()).isEqualTo("POST");
+        assertThat(captured.path()).isEqualTo("/api/v1/orders");
+        assertThat(captured.body()).isEqualTo(ORDER_BODY);
+        assertThat(captured.bodyTruncated()).isFalse();
+        assertThat(captured.status()).isEqualTo(201);
+        assertThat(captured.createdId()).isEqualTo(orderId);
+        assertThat(captured.toString()).doesNotContain("secret-token");
+        assertThat(response.getContentAsString()).contains(orderId.toString());
+    }
+
+    @Test
+    void keepsTheQueryStringAndCallerRole() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@local", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        MockHttpServletRequest request = request("GET", "/api/v1/orders", null);
+        request.setQueryString("status=PAID&page=2");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {});
+
+        CapturedRequest captured = captured();
+        assertThat(captured.path()).isEqualTo("/api/v1/orders?status=PAID&page=2");
+        assertThat(captured.admin()).isTrue();
+        assertThat(captured.body()).isNull();
+        assertThat(captured.createdId()).isNull();
+    }
+
+    @Test
+    void cutsOffLongBodies() throws Exception {
+        String body = "{\"name\":\"" + "x".repeat(2000) + "\"}";
+        MockHttpServletRequest request = request("POST", "/api/v1/products", body);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                req.getInputStream().readAllBytes());
+
+        CapturedRequest captured = captured();
+        assertThat(captured.body()).hasSize(1024);
+        assertThat(captured.bodyTruncated()).isTrue();
+    }
+
+    @Test
+    void flagsChunkedBodiesCutAtTheCap() throws Exception {
+        String body = "{\"name\":\"" + "x".repeat(2000) + "\"}";
+        HttpServletRequest chunked = new HttpServletRequestWrapper(request("POST", "/api/v1/products", body)) {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+
+        filter.doFilter(chunked, new MockHttpServletResponse(), (req, res) ->
+                req.getInputStream().readAllBytes());
+
+        assertThat(captured().bodyTruncated()).isTrue();
+    }
+
+    @Test
+    void ignoresOtherEndpoints() throws Exception {
+        filter.doFilter(
+                request("POST", "/api/v1/auth/login", "{\"password\":\"secret\"}"),
+                new MockHttpServletResponse(),
+                (req, res) -> req.getInputStream().readAllBytes());
+
+        verify(writer, never()).offer(any());
+    }
+
+    private CapturedRequest captured() {
+        ArgumentCaptor<CapturedRequest> captor = ArgumentCaptor.forClass(CapturedRequest.class);
+        verify(writer).offer(captor.capture());
+        return captor.getValue();
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        if (body != null) {
+            request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return request;
+    }
+}
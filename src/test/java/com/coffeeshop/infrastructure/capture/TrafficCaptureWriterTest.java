@@ -0,0 +1,98 @@
+package com.coffeeshop.infrastructure.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class TrafficCaptureWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Clock clock = Clock.fixed(Instant.parse("2026-03-07T08:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesGzippedJsonLines() throws Exception {
+        TrafficCaptureWriter writer = writer(DataSize.ofMegabytes(1), 10);
+        CapturedRequest request = request(1);
+
+        writer.write(List.of(request, request(2)));
+        writer.close();
+
+        List<Path> files = files();
+        assertThat(files).hasSize(1);
+        List<String> lines = lines(files.getFirst());
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines.getFirst(), CapturedRequest.class)).isEqualTo(request);
+        assertThat(meterRegistry.get("traffic.capture.requests").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void rotatesBySizeAndKeepsTheNewestFiles() throws Exception {
+        TrafficCaptureWriter writer = writer(DataSize.ofBytes(1), 3);
+
+        for (int i = 1; i <= 5; i++) {
+            writer.write(List.of(request(i)));
+        }
+        writer.close();
+
+        List<Path> files = files();
+        assertThat(files).hasSize(3);
+        assertThat(objectMapper.readValue(lines(files.getLast()).getFirst(), CapturedRequest.class)
+                .sequence()).isEqualTo(5);
+    }
+
+    @Test
+    void dropsRequestsWhenNotRunning() {
+        TrafficCaptureWriter writer = writer(DataSize.ofMegabytes(1), 10);
+
+        writer.offer(request(1));
+
+        assertThat(meterRegistry.get("traffic.capture.dropped").counter().count()).isEqualTo(1);
+    }
+
+    private TrafficCaptureWriter writer(DataSize maxFileSize, int maxFiles) {
+        return new TrafficCaptureWriter(
+                objectMapper, meterRegistry, directory, maxFileSize, Duration.ofHours(1), maxFiles, 16,
+                clock);
+    }
+
+    private static CapturedRequest request(long sequence) {
+        return new CapturedRequest(
+                sequence, 1_772_870_400_000L, 1500, "POST", "/api/v1/orders", "application/json",
+                "{\"items\":[]}", false, false, 201, 12_000, UUID.randomUUID());
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static List<String> lines(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
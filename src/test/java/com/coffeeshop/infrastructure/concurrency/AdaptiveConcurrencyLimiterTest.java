@@ -0,0 +1,67 @@
+package com.coffeeshop.infrastructure.concurrency;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(
+                    meterRegistry, 10, 2, 100, 0.5, Duration.ofSeconds(1), Duration.ofSeconds(5));
+
+    @Test
+    void shouldShedLowPriorityTrafficBeforeOrderWrites() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            permits.add(limiter.tryAcquire(EndpointClass.ORDER_WRITES));
+        }
+
+        assertThat(limiter.tryAcquire(EndpointClass.ADMIN_LISTING)).isNull();
+        assertThat(limiter.tryAcquire(EndpointClass.READS)).isNotNull();
+        assertThat(limiter.tryAcquire(EndpointClass.ORDER_WRITES)).isNotNull();
+        assertThat(meterRegistry.get("http.concurrency.rejected").tag("class", "admin_listing")
+                .counter().count()).isEqualTo(1);
+        assertThat(limiter.orderWriteShedding().shed()).isZero();
+        permits.forEach(permit -> permit.release(false));
+    }
+
+    @Test
+    void shouldRejectEverythingAtTheLimit() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(EndpointClass.ORDER_WRITES)).isNotNull();
+        }
+
+        assertThat(limiter.tryAcquire(EndpointClass.ORDER_WRITES)).isNull();
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+        assertThat(limiter.orderWriteShedding()).isEqualTo(new ShedWindow.Counts(10, 1));
+    }
+
+    @Test
+    void shouldBackOffOnOverloadAndGrowWhileBusy() {
+        limiter.tryAcquire(EndpointClass.ORDER_WRITES).release(true);
+        assertThat(limiter.getLimit()).isEqualTo(5.0);
+
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            permits.add(limiter.tryAcquire(EndpointClass.ORDER_WRITES));
+        }
+        permits.forEach(permit -> permit.release(false));
+
+        assertThat(limiter.getLimit()).isGreaterThan(5.0);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldNotGoBelowMinimumLimit() {
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(EndpointClass.ORDER_WRITES).release(true);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(2.0);
+    }
+}
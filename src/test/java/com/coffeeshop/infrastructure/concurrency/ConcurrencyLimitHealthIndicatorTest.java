@@ -0,0 +1,63 @@
+package com.coffeeshop.infrastructure.concurrency;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+class ConcurrencyLimitHealthIndicatorTest {
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new SimpleMeterRegistry(), 10, 2, 100, 0.5, Duration.ofSeconds(1), Duration.ofSeconds(5));
+    private final ConcurrencyLimitHealthIndicator indicator =
+            new ConcurrencyLimitHealthIndicator(limiter, 0.2, 5);
+    private final List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+
+    @AfterEach
+    void releasePermits() {
+        permits.forEach(permit -> permit.release(false));
+    }
+
+    @Test
+    void shouldStayReadyWhileOnlyLowPriorityTrafficIsShed() {
+        admitOrderWrites(5);
+        for (int i = 0; i < 50; i++) {
+            assertThat(limiter.tryAcquire(EndpointClass.ADMIN_LISTING)).isNull();
+        }
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void shouldStayReadyWhenFewOrderWritesAreShed() {
+        admitOrderWrites(10);
+        shedOrderWrites(2);
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void shouldGoOutOfServiceWhileOrderWritesAreShedAtASustainedRate() {
+        admitOrderWrites(10);
+        shedOrderWrites(10);
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(indicator.health().getDetails()).containsEntry("orderWritesShed", 10L);
+    }
+
+    private void admitOrderWrites(int count) {
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.tryAcquire(EndpointClass.ORDER_WRITES));
+        }
+    }
+
+    private void shedOrderWrites(int count) {
+        for (int i = 0; i < count; i++) {
+            assertThat(limiter.tryAcquire(EndpointClass.ORDER_WRITES)).isNull();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.coffeeshop.infrastructure.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PinningHotSpotsTest {
+
+    @Test
+    void ranksStacksByTotalPinnedTime() {
+        PinningHotSpots hotSpots = new PinningHotSpots(10);
+        hotSpots.record("a", Duration.ofMillis(30));
+        hotSpots.record("a", Duration.ofMillis(50));
+        hotSpots.record("b", Duration.ofMillis(100));
+        hotSpots.record("c", Duration.ofMillis(25));
+
+        List<PinningHotSpots.HotSpot> top = hotSpots.top(2);
+
+        assertThat(top).extracting(PinningHotSpots.HotSpot::stackTrace).containsExactly("b", "a");
+        assertThat(top.get(1).count()).isEqualTo(2);
+        assertThat(top.get(1).total()).isEqualTo(Duration.ofMillis(80));
+        assertThat(top.get(1).max()).isEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    void countsStacksBeyondTheBoundWithoutTrackingThem() {
+        PinningHotSpots hotSpots = new PinningHotSpots(1);
+        hotSpots.record("a", Duration.ofMillis(30));
+        hotSpots.record("b", Duration.ofMillis(30));
+        hotSpots.record("a", Duration.ofMillis(30));
+
+        assertThat(hotSpots.top(10)).hasSize(1);
+        assertThat(hotSpots.top(10).get(0).count()).isEqualTo(2);
+        assertThat(hotSpots.untrackedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void clearResetsEverything() {
+        PinningHotSpots hotSpots = new PinningHotSpots(1);
+        hotSpots.record("a", Duration.ofMillis(30));
+        hotSpots.record("b", Duration.ofMillis(30));
+
+        hotSpots.clear();
+
+        assertThat(hotSpots.top(10)).isEmpty();
+        assertThat(hotSpots.untrackedCount()).isZero();
+    }
+}
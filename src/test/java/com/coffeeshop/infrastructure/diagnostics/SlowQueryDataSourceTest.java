@@ -0,0 +1,121 @@
+package com.coffeeshop.infrastructure.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SlowQueryDataSourceTest {
+    private final DataSource target = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private final PreparedStatement explain = mock(PreparedStatement.class);
+    private final ResultSet planRows = mock(ResultSet.class);
+    private final SlowQueryLog log = new SlowQueryLog(10, Duration.ofMinutes(10));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(startsWith("EXPLAIN"))).thenReturn(explain);
+        when(connection.prepareStatement(startsWith("select"))).thenReturn(statement);
+        when(explain.executeQuery()).thenReturn(planRows);
+        when(planRows.next()).thenReturn(true, true, false);
+        when(planRows.getString(1)).thenReturn("Index Scan using orders_pkey on orders", "  Index Cond: (id = $1)");
+    }
+
+    @Test
+    void recordsSlowStatementsWithBindShapesAndPlan() throws Exception {
+        DataSource dataSource = dataSource(Duration.ZERO);
+        UUID id = UUID.randomUUID();
+
+        try (Connection wrapped = dataSource.getConnection();
+                PreparedStatement prepared = wrapped.prepareStatement("select * from orders where id = ?")) {
+            prepared.setObject(1, id);
+            prepared.executeQuery();
+        }
+
+        SlowQueryLog.SlowQuery query = log.top(1).get(0);
+        assertThat(query.sql()).isEqualTo("select * from orders where id = ?");
+        assertThat(query.bindShapes()).containsExactly("(UUID)");
+        assertThat(query.plan()).isEqualTo("Index Scan using orders_pkey on orders\n  Index Cond: (id = $1)");
+        verify(explain).setObject(1, id);
+        assertThat(meterRegistry.get("jdbc.statements.slow").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void bindsNullsForTheExplain() throws Exception {
+        DataSource dataSource = dataSource(Duration.ZERO);
+
+        try (Connection wrapped = dataSource.getConnection();
+                PreparedStatement prepared =
+                        wrapped.prepareStatement("select * from orders where id = ? and status = ?")) {
+            prepared.setNull(1, Types.OTHER);
+            prepared.setObject(2, null);
+            prepared.executeQuery();
+        }
+
+        assertThat(log.top(1).get(0).bindShapes()).containsExactly("(null, null)");
+        verify(explain).setNull(1, Types.OTHER);
+        verify(explain).setNull(2, Types.NULL);
+    }
+
+    @Test
+    void ignoresStatementsBelowTheThreshold() throws Exception {
+        DataSource dataSource = dataSource(Duration.ofHours(1));
+
+        try (Connection wrapped = dataSource.getConnection();
+                PreparedStatement prepared = wrapped.prepareStatement("select * from orders where id = ?")) {
+            prepared.executeQuery();
+        }
+
+        assertThat(log.top(10)).isEmpty();
+        verify(connection, never()).prepareStatement(startsWith("EXPLAIN"));
+    }
+
+    @Test
+    void timesPlainStatementsAndDoesNotExplainDdl() throws Exception {
+        Statement plain = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(plain);
+        DataSource dataSource = dataSource(Duration.ZERO);
+
+        try (Connection wrapped = dataSource.getConnection(); Statement created = wrapped.createStatement()) {
+            created.execute("vacuum analyze orders");
+        }
+
+        SlowQueryLog.SlowQuery query = log.top(1).get(0);
+        assertThat(query.sql()).isEqualTo("vacuum analyze orders");
+        assertThat(query.plan()).startsWith("EXPLAIN failed");
+        verify(connection, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    void unwrapsToTheTargetConnection() throws Exception {
+        when(connection.unwrap(Connection.class)).thenReturn(connection);
+        DataSource dataSource = dataSource(Duration.ZERO);
+
+        try (Connection wrapped = dataSource.getConnection()) {
+            assertThat(wrapped).isNotSameAs(connection);
+            assertThat(wrapped.unwrap(Connection.class)).isSameAs(wrapped);
+        }
+    }
+
+    private DataSource dataSource(Duration threshold) {
+        return new SlowQueryDataSource(target, log, threshold, 1.0, Runnable::run, meterRegistry);
+    }
+}
@@ -0,0 +1,108 @@
+package com.coffeeshop.infrastructure.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SlowQueryLogTest {
+
+    @Test
+    void normalizeCollapsesLiteralsInListsAndWhitespace() {
+        String sql = "select *  from orders\n where customer_id = 'o''brien' and total > 10.50"
+                + " and id in (?, ?, ?) and version=3";
+
+        assertThat(SlowQueryLog.normalize(sql))
+                .isEqualTo("select * from orders where customer_id = ? and total > ? and id in (?) and version=?");
+    }
+
+    @Test
+    void normalizeKeepsDigitsInsideIdentifiers() {
+        assertThat(SlowQueryLog.normalize("select o1_0.id from orders o1_0 limit 20"))
+                .isEqualTo("select o1_0.id from orders o1_0 limit ?");
+    }
+
+    @Test
+    void aggregatesExecutionsOfTheSameStatement() {
+        SlowQueryLog log = new SlowQueryLog(10, Duration.ofMinutes(10));
+        log.record("a", "(UUID)", Duration.ofMillis(300));
+        log.record("a", "(null)", Duration.ofMillis(500));
+        log.record("b", "()", Duration.ofMillis(400));
+
+        List<SlowQueryLog.SlowQuery> top = log.top(10);
+
+        assertThat(top).extracting(SlowQueryLog.SlowQuery::sql).containsExactly("a", "b");
+        assertThat(top.get(0).count()).isEqualTo(2);
+        assertThat(top.get(0).total()).isEqualTo(Duration.ofMillis(800));
+        assertThat(top.get(0).max()).isEqualTo(Duration.ofMillis(500));
+        assertThat(top.get(0).bindShapes()).containsExactlyInAnyOrder("(UUID)", "(null)");
+    }
+
+    @Test
+    void evictsTheStatementWithTheLeastTotalTimeOnlyForASlowerOne() {
+        SlowQueryLog log = new SlowQueryLog(2, Duration.ofMinutes(10));
+        log.record("a", "()", Duration.ofMillis(300));
+        log.record("b", "()", Duration.ofMillis(400));
+
+        log.record("c", "()", Duration.ofMillis(250));
+        log.record("d", "()", Duration.ofMillis(350));
+
+        assertThat(log.top(10)).extracting(SlowQueryLog.SlowQuery::sql).containsExactly("b", "d");
+        assertThat(log.evictedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void claimsOnePlanAtATimeAndRefreshesItAfterTheTtl() {
+        MutableClock clock = new MutableClock();
+        SlowQueryLog log = new SlowQueryLog(10, Duration.ofMinutes(10), clock);
+
+        assertThat(log.record("a", "()", Duration.ofMillis(300))).isTrue();
+        assertThat(log.record("a", "()", Duration.ofMillis(300))).isFalse();
+
+        log.planCaptured("a", "Seq Scan on orders");
+        assertThat(log.record("a", "()", Duration.ofMillis(300))).isFalse();
+        assertThat(log.top(1).get(0).plan()).isEqualTo("Seq Scan on orders");
+
+        clock.advance(Duration.ofMinutes(11));
+        assertThat(log.record("a", "()", Duration.ofMillis(300))).isTrue();
+    }
+
+    @Test
+    void clearResetsEverything() {
+        SlowQueryLog log = new SlowQueryLog(1, Duration.ofMinutes(10));
+        log.record("a", "()", Duration.ofMillis(300));
+        log.record("b", "()", Duration.ofMillis(100));
+
+        log.clear();
+
+        assertThat(log.top(10)).isEmpty();
+        assertThat(log.evictedCount()).isZero();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.coffeeshop.infrastructure.event;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.coffeeshop.domain.shared.DomainEvent;
+import com.coffeeshop.domain.shared.DomainEventHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.env.MockEnvironment;
+
+class AsyncDomainEventBusTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AsyncDomainEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void shouldDeliverEventsWithoutRunningHandlerOnPublisherThread() throws Exception {
+        RecordingHandler handler = new RecordingHandler(new CountDownLatch(0));
+        bus = startBus(handler, 16, OverflowPolicy.BLOCK);
+
+        bus.publish(new TestEvent(1));
+        bus.publish(new TestEvent(2));
+        bus.stop();
+
+        assertThat(handler.received).extracting(TestEvent::sequence).containsExactly(1, 2);
+        assertThat(handler.threads).doesNotContain(Thread.currentThread());
+        assertThat(meterRegistry.get("domain.events.handled").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("domain.events.handler.lag").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDropNewestWhenSlowHandlerFillsItsBuffer() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler handler = new RecordingHandler(release);
+        bus = startBus(handler, 1, OverflowPolicy.DROP_NEWEST);
+
+        bus.publish(new TestEvent(1));
+        handler.started.await(1, TimeUnit.SECONDS);
+        bus.publish(new TestEvent(2));
+        bus.publish(new TestEvent(3));
+        release.countDown();
+        bus.stop();
+
+        assertThat(handler.received).extracting(TestEvent::sequence).containsExactly(1, 2);
+        assertThat(meterRegistry.get("domain.events.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictOldestWhenConfigured() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler handler = new RecordingHandler(release);
+        bus = startBus(handler, 1, OverflowPolicy.DROP_OLDEST);
+
+        bus.publish(new TestEvent(1));
+        handler.started.await(1, TimeUnit.SECONDS);
+        bus.publish(new TestEvent(2));
+        bus.publish(new TestEvent(3));
+        release.countDown();
+        bus.stop();
+
+        assertThat(handler.received).extracting(TestEvent::sequence).containsExactly(1, 3);
+    }
+
+    @Test
+    void shouldReportDeliveryOnceHandlersFinish() throws Exception {
+        RecordingHandler handler = new RecordingHandler(new CountDownLatch(0));
+        bus = startBus(handler, 16, OverflowPolicy.BLOCK);
+
+        bus.deliver(new TestEvent(1)).get(1, TimeUnit.SECONDS);
+
+        assertThat(handler.received).extracting(TestEvent::sequence).containsExactly(1);
+    }
+
+    @Test
+    void shouldFailDeliveryWhenHandlerThrows() {
+        DomainEventHandler<TestEvent> failing = new DomainEventHandler<>() {
+            @Override
+            public Class<TestEvent> eventType() {
+                return TestEvent.class;
+            }
+
+            @Override
+            public void handle(TestEvent event) {
+                throw new IllegalStateException("downstream unavailable");
+            }
+        };
+        bus = startBus(failing, 16, OverflowPolicy.BLOCK);
+
+        CompletableFuture<Void> delivery = bus.deliver(new TestEvent(1));
+
+        assertThatThrownBy(() -> delivery.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("downstream unavailable");
+    }
+
+    @Test
+    void shouldFailDeliveryOfEvictedEvents() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler handler = new RecordingHandler(release);
+        bus = startBus(handler, 1, OverflowPolicy.DROP_OLDEST);
+
+        bus.publish(new TestEvent(1));
+        handler.started.await(1, TimeUnit.SECONDS);
+        CompletableFuture<Void> evicted = bus.deliver(new TestEvent(2));
+        bus.publish(new TestEvent(3));
+        release.countDown();
+
+        assertThat(evicted).isCompletedExceptionally();
+    }
+
+    @SuppressWarnings("unchecked")
+    private AsyncDomainEventBus startBus(
+            DomainEventHandler<?> handler, int bufferSize, OverflowPolicy policy) {
+        ObjectProvider<DomainEventHandler<?>> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenAnswer(invocation -> Stream.of(handler));
+        AsyncDomainEventBus created = new AsyncDomainEventBus(
+                provider,
+                meterRegistry,
+                new MockEnvironment(),
+                bufferSize,
+                8,
+                policy,
+                Duration.ofMillis(10),
+                Duration.ofSeconds(5));
+        created.start();
+        return created;
+    }
+
+    record TestEvent(int sequence) implements DomainEvent {
+        @Override
+        public Instant occurredAt() {
+            return Instant.now();
+        }
+    }
+
+    static class RecordingHandler implements DomainEventHandler<TestEvent> {
+        final List<TestEvent> received = new CopyOnWriteArrayList<>();
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        RecordingHandler(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public Class<TestEvent> eventType() {
+            return TestEvent.class;
+        }
+
+        @Override
+        public void handle(TestEvent event) {
+            received.add(event);
+            threads.add(Thread.currentThread());
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
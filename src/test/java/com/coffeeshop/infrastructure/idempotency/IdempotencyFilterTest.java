@@ -0,0 +1,67 @@
+package com.coffeeshop.infrastructure.idempotency;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class IdempotencyFilterTest {
+    private final IdempotencyStore store = mock(IdempotencyStore.class);
+    private final IdempotencyFilter filter = new IdempotencyFilter(store, new ObjectMapper());
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldHandTheBufferedBodyToAReadListener() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@local", null, List.of()));
+        when(store.begin(anyString(), anyString())).thenReturn(new IdempotencyStore.Outcome.Claimed());
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/orders");
+        request.setServletPath("/api/v1/orders");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setContent("{\"items\":[]}".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] allDataRead = new boolean[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            ServletInputStream input = req.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (input.isReady() && !input.isFinished()) {
+                        read.write(input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead[0] = true;
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail("Unexpected read error", t);
+                }
+            });
+        });
+
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo("{\"items\":[]}");
+        assertThat(allDataRead[0]).isTrue();
+    }
+}
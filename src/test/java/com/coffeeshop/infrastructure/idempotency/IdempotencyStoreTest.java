@@ -0,0 +1,67 @@
+package com.coffeeshop.infrastructure.idempotency;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.coffeeshop.application.scheduling.ClusterJobRunner;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+class IdempotencyStoreTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final IdempotencyStore store = new IdempotencyStore(
+            jdbcTemplate,
+            mock(ClusterJobRunner.class),
+            24,
+            Duration.ofSeconds(60),
+            Duration.ofMillis(100),
+            100,
+            1000,
+            4);
+
+    @Test
+    void shouldReplayCompletedResponseWithoutQueryingTable() {
+        when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class))).thenReturn(1);
+
+        assertThat(store.begin("key", "hash")).isInstanceOf(IdempotencyStore.Outcome.Claimed.class);
+        store.complete("key", new StoredResponse("hash", 201, "{\"id\":1}"));
+
+        IdempotencyStore.Outcome outcome = store.begin("key", "hash");
+
+        assertThat(outcome).isEqualTo(
+                new IdempotencyStore.Outcome.Replay(new StoredResponse("hash", 201, "{\"id\":1}")));
+        verify(jdbcTemplate, times(1)).update(startsWith("INSERT"), any(Object[].class));
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentRequest() {
+        when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class))).thenReturn(0);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("key")))
+                .thenReturn(List.of(new StoredResponse("other", 201, "{}")));
+
+        assertThat(store.begin("key", "hash")).isInstanceOf(IdempotencyStore.Outcome.Mismatch.class);
+    }
+
+    @Test
+    void shouldReportInProgressWhenAnotherNodeHoldsTheClaim() {
+        when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class))).thenReturn(0);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("key"))).thenReturn(List.of());
+
+        assertThat(store.begin("key", "hash")).isInstanceOf(IdempotencyStore.Outcome.InProgress.class);
+    }
+
+    @Test
+    void shouldLetRetryClaimKeyAgainAfterAbandon() {
+        when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class))).thenReturn(1);
+
+        store.begin("key", "hash");
+        store.abandon("key");
+
+        assertThat(store.begin("key", "hash")).isInstanceOf(IdempotencyStore.Outcome.Claimed.class);
+        verify(jdbcTemplate).update(startsWith("DELETE"), eq("key"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.coffeeshop.infrastructure.observability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.coffeeshop.application.service.OrderObservations;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectionAcquireObservingDataSourceTest {
+
+    private MeterRegistry meterRegistry;
+    private ObservationRegistry observationRegistry;
+    private ConnectionAcquireObservingDataSource dataSource;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig()
+                .observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        DataSource target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = new ConnectionAcquireObservingDataSource(target, observationRegistry);
+    }
+
+    @Test
+    void observesAcquisitionInsideAnOrderOperation() throws Exception {
+        Connection acquired = OrderObservations.operation(observationRegistry, OrderObservations.PAY)
+                .<Connection, Exception>observeChecked(() -> dataSource.getConnection());
+
+        assertThat(acquired).isSameAs(connection);
+        assertThat(meterRegistry.find(OrderObservations.PHASE)
+                        .tag(OrderObservations.OPERATION_KEY, OrderObservations.PAY)
+                        .tag(OrderObservations.PHASE_KEY, OrderObservations.CONNECTION_ACQUIRE)
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void attributesAcquisitionInsideAPhaseToItsOperation() throws Exception {
+        Observation operation =
+                OrderObservations.operation(observationRegistry, OrderObservations.CREATE);
+        OrderObservations.phase(
+                        observationRegistry,
+                        operation,
+                        OrderObservations.CREATE,
+                        OrderObservations.LOAD_PRODUCTS)
+                .<Connection, Exception>observeChecked(() -> dataSource.getConnection());
+
+        assertThat(meterRegistry.find(OrderObservations.PHASE)
+                        .tag(OrderObservations.OPERATION_KEY, OrderObservations.CREATE)
+                        .tag(OrderObservations.PHASE_KEY, OrderObservations.CONNECTION_ACQUIRE)
+                        .timer())
+                .isNotNull();
+    }
+
+    @Test
+    void passesThroughOutsideOrderOperations() throws Exception {
+        Connection acquired = Observation.createNotStarted("other", observationRegistry)
+                .<Connection, Exception>observeChecked(() -> dataSource.getConnection());
+
+        assertThat(acquired).isSameAs(connection);
+        assertThat(meterRegistry.find(OrderObservations.PHASE).timer()).isNull();
+        assertThat(dataSource.getConnection()).isSameAs(connection);
+        assertThat(meterRegistry.find(OrderObservations.PHASE).timer()).isNull();
+    }
+}
@@ -0,0 +1,117 @@
+package com.coffeeshop.infrastructure.observability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+class ServerTimingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TimedJacksonHttpMessageConverter converter =
+            new TimedJacksonHttpMessageConverter(new ObjectMapper());
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void adminGetsTheBreakdownBeforeTheBody() throws Exception {
+        authenticate("ROLE_ADMIN");
+        MockHttpServletRequest request = request(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(0.0, null).doFilter(request, response, (req, res) -> {
+            RequestTiming timing = RequestTiming.current();
+            timing.recordStatement(TimeUnit.MILLISECONDS.toNanos(2));
+            timing.recordPoolWait(TimeUnit.MILLISECONDS.toNanos(1));
+            timing.recordExternal("discount", TimeUnit.MILLISECONDS.toNanos(100));
+            writeJson(response, Map.of("status", "PAID"));
+        });
+
+        String header = response.getHeader(RequestTiming.SERVER_TIMING);
+        assertThat(header).startsWith("db;dur=2.00;desc=\"1 statements\", pool;dur=1.00, "
+                + "discount;dur=100.00, ser;dur=");
+        assertThat(header).contains(", total;dur=");
+        assertThat(response.getContentAsString()).isEqualTo("{\"status\":\"PAID\"}");
+    }
+
+    @Test
+    void headerIsNotAddedForNonAdmins() throws Exception {
+        authenticate("ROLE_CUSTOMER");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(0.0, null).doFilter(request(true), response, (req, res) ->
+                writeJson(response, Map.of("status", "PAID")));
+
+        assertThat(response.getHeader(RequestTiming.SERVER_TIMING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("{\"status\":\"PAID\"}");
+    }
+
+    @Test
+    void recordsTheBreakdownPerControllerMethod() throws Exception {
+        MockHttpServletRequest request = request(false);
+        HandlerMethod handler =
+                new HandlerMethod(new SampleController(), SampleController.class.getMethod("list"));
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+
+        new ServerTimingFilter(0.0, meterRegistry).doFilter(
+                request, new MockHttpServletResponse(), (req, res) -> {
+                    RequestTiming.current().recordStatement(TimeUnit.MILLISECONDS.toNanos(3));
+                    RequestTiming.current().recordStatement(TimeUnit.MILLISECONDS.toNanos(4));
+                });
+
+        assertThat(meterRegistry.get("http.server.breakdown.db.statements")
+                        .tag("controller", "SampleController")
+                        .tag("method", "list")
+                        .summary()
+                        .totalAmount())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("http.server.breakdown.db")
+                        .tag("controller", "SampleController")
+                        .timer()
+                        .totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(7);
+    }
+
+    private void writeJson(MockHttpServletResponse response, Object body) throws IOException {
+        converter.write(body, MediaType.APPLICATION_JSON, new ServletServerHttpResponse(response));
+    }
+
+    private static MockHttpServletRequest request(boolean askForTiming) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/orders");
+        request.setServletPath("/api/v1/orders");
+        if (askForTiming) {
+            request.addHeader(ServerTimingFilter.REQUEST_HEADER, "true");
+        }
+        return request;
+    }
+
+    private static void authenticate(String role) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(
+                        "user", null, List.of(new SimpleGrantedAuthority(role))));
+    }
+
+    static class SampleController {
+        public List<String> list() {
+            return List.of();
+        }
+    }
+}
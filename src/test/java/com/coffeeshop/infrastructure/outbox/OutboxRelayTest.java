@@ -0,0 +1,124 @@
+package com.coffeeshop.infrastructure.outbox;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.coffeeshop.application.scheduling.ClusterJobRunner;
+import com.coffeeshop.domain.product.StockLowEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class OutboxRelayTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final OutboxSink sink = mock(OutboxSink.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxRelay relay = new OutboxRelay(
+            jdbcTemplate,
+            mock(PlatformTransactionManager.class),
+            objectMapper,
+            sink,
+            mock(ClusterJobRunner.class),
+            meterRegistry,
+            100,
+            10,
+            3,
+            Duration.ofSeconds(1),
+            Duration.ofMillis(100),
+            Duration.ofDays(7),
+            1000);
+
+    private final StockLowEvent event =
+            new StockLowEvent(UUID.randomUUID(), "Espresso", 4, 10, Instant.parse("2024-01-01T00:00:00Z"));
+
+    @Test
+    void shouldDeliverClaimedMessagesAndMarkThemProcessed() throws Exception {
+        givenPendingRow(StockLowEvent.class.getName(), objectMapper.writeValueAsString(event), 0);
+        when(sink.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+
+        ArgumentCaptor<OutboxMessage> sent = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(sink).send(sent.capture());
+        assertThat(sent.getValue().event()).isEqualTo(event);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE outbox SET processed_at"), anyList());
+        assertThat(meterRegistry.get("outbox.relayed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldScheduleRetryWhenSinkFails() throws Exception {
+        givenPendingRow(StockLowEvent.class.getName(), objectMapper.writeValueAsString(event), 0);
+        doThrow(new IllegalStateException("bus full")).when(sink).send(any());
+
+        relay.relayBatch();
+
+        verify(jdbcTemplate).update(
+                contains("available_at = ?"), eq(1), contains("bus full"), any(Timestamp.class), eq(1L));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void shouldScheduleRetryWhenHandlerFails() throws Exception {
+        givenPendingRow(StockLowEvent.class.getName(), objectMapper.writeValueAsString(event), 0);
+        when(sink.send(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("handler failed")));
+
+        relay.relayBatch();
+
+        verify(jdbcTemplate).update(
+                contains("available_at = ?"), eq(1), contains("handler failed"), any(Timestamp.class), eq(1L));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void shouldNotMarkProcessedUntilHandlersFinish() throws Exception {
+        givenPendingRow(StockLowEvent.class.getName(), objectMapper.writeValueAsString(event), 0);
+        when(sink.send(any())).thenReturn(new CompletableFuture<>());
+
+        relay.relayBatch();
+
+        verify(jdbcTemplate).update(
+                contains("available_at = ?"), eq(1), contains("Not delivered"), any(Timestamp.class), eq(1L));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        givenPendingRow("com.coffeeshop.domain.Unknown", "{}", 2);
+
+        relay.relayBatch();
+
+        verify(jdbcTemplate).update(
+                contains("processed_at = ?"), eq(3), anyString(), any(Timestamp.class), eq(1L));
+        assertThat(meterRegistry.get("outbox.dead_lettered").counter().count()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenPendingRow(String eventType, String payload, int attempts) {
+        when(jdbcTemplate.query(contains("FOR UPDATE SKIP LOCKED"), any(RowMapper.class), any(), any()))
+                .thenAnswer(invocation -> {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getLong("id")).thenReturn(1L);
+                    when(rs.getString("event_type")).thenReturn(eventType);
+                    when(rs.getString("payload")).thenReturn(payload);
+                    when(rs.getTimestamp("created_at")).thenReturn(Timestamp.from(Instant.now()));
+                    when(rs.getInt("attempts")).thenReturn(attempts);
+                    RowMapper<Object> mapper = invocation.getArgument(1);
+                    return List.of(mapper.mapRow(rs, 0));
+                });
+    }
+}
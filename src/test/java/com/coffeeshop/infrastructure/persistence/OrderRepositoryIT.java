@@ -0,0 +1,136 @@
+package com.coffeeshop.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.coffeeshop.domain.order.Order;
+import com.coffeeshop.domain.order.OrderItem;
+import com.coffeeshop.domain.order.OrderRepository;
+import com.coffeeshop.domain.order.OrderSearchCriteria;
+import com.coffeeshop.domain.order.OrderStatus;
+import com.coffeeshop.domain.product.Product;
+import com.coffeeshop.domain.product.ProductRepository;
+import com.coffeeshop.domain.shared.Money;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Transactional
+class OrderRepositoryIT {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static final PageRequest BY_TOTAL = PageRequest.of(0, 20, Sort.by("totalAmount"));
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private String customer;
+    private Product espresso;
+    private Product latte;
+
+    @BeforeEach
+    void setUp() {
+        customer = "search-" + UUID.randomUUID() + "@local";
+        espresso = productRepository.save(
+                Product.create("Espresso", "SEARCH-" + UUID.randomUUID(), Money.of("3.00"), 100));
+        latte = productRepository.save(
+                Product.create("Latte", "SEARCH-" + UUID.randomUUID(), Money.of("5.00"), 100));
+    }
+
+    @Test
+    void shouldCombineStatusAndDateRange() {
+        Order paid = save(order(espresso, 1));
+        paid.pay();
+        orderRepository.save(paid);
+        save(order(espresso, 2));
+
+        Page<Order> found = orderRepository.search(
+                criteria(OrderStatus.PAID, paid.getCreatedAt().minusSeconds(60), Instant.now(), null, null, null),
+                BY_TOTAL);
+
+        assertThat(found.getContent()).extracting(Order::getId).containsExactly(paid.getId());
+    }
+
+    @Test
+    void shouldFilterByAmountRange() {
+        save(order(espresso, 1));
+        Order middle = save(order(espresso, 3));
+        save(order(latte, 4));
+
+        Page<Order> found = orderRepository.search(
+                criteria(null, null, null, Money.of("5.00"), Money.of("10.00"), null), BY_TOTAL);
+
+        assertThat(found.getContent()).extracting(Order::getId).containsExactly(middle.getId());
+    }
+
+    @Test
+    void shouldReturnEachOrderContainingTheProductOnce() {
+        Order both = save(Order.create(customer, List.of(
+                OrderItem.create(latte.getId(), latte.getName(), latte.getPrice(), 1),
+                OrderItem.create(latte.getId(), latte.getName(), latte.getPrice(), 2))));
+        save(order(espresso, 1));
+
+        Page<Order> found = orderRepository.search(criteria(null, null, null, null, null, latte.getId()), BY_TOTAL);
+
+        assertThat(found.getTotalElements()).isEqualTo(1);
+        assertThat(found.getContent()).extracting(Order::getId).containsExactly(both.getId());
+        assertThat(found.getContent().getFirst().getItems()).hasSize(2);
+    }
+
+    @Test
+    void shouldSortByTotalAmount() {
+        Order large = save(order(latte, 3));
+        Order small = save(order(espresso, 1));
+
+        Page<Order> found = orderRepository.search(
+                criteria(null, null, null, null, null, null),
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "totalAmount")));
+
+        assertThat(found.getContent()).extracting(Order::getId).containsExactly(large.getId(), small.getId());
+    }
+
+    private Order order(Product product, int quantity) {
+        return Order.create(customer, List.of(
+                OrderItem.create(product.getId(), product.getName(), product.getPrice(), quantity)));
+    }
+
+    private Order save(Order order) {
+        return orderRepository.create(order);
+    }
+
+    /** Always scoped to this test's customer, so orders from other tests do not match. */
+    private OrderSearchCriteria criteria(
+            OrderStatus status, Instant from, Instant to, Money minTotal, Money maxTotal, UUID productId) {
+        return new OrderSearchCriteria(status, from, to, customer, minTotal, maxTotal, productId);
+    }
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.*;
 import com.coffeeshop.domain.product.Product;
 import com.coffeeshop.domain.product.ProductRepository;
 import com.coffeeshop.domain.shared.Money;
+import jakarta.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -39,6 +40,39 @@ class ProductRepositoryIT {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void shouldAnnounceEachLowStockStayOnce() {
+        Product live = productRepository.save(Product.create("Live", "ANN-001", Money.of("5.00"), 3));
+        Product missed = productRepository.save(Product.create("Missed", "ANN-002", Money.of("5.00"), 4));
+        productRepository.save(Product.create("Stocked", "ANN-003", Money.of("5.00"), 50));
+        entityManager.flush();
+
+        assertThat(productRepository.markLowStockAnnounced(live.getId())).isTrue();
+        assertThat(productRepository.markLowStockAnnounced(live.getId())).isFalse();
+        assertThat(productRepository.claimUnannouncedLowStock(10))
+                .contains(missed.getId())
+                .doesNotContain(live.getId());
+        assertThat(productRepository.claimUnannouncedLowStock(10)).isEmpty();
+
+        productRepository.clearLowStockAnnounced(List.of(live.getId()));
+        assertThat(productRepository.markLowStockAnnounced(live.getId())).isTrue();
+    }
+
+    @Test
+    void shouldRearmProductsThatRecovered() {
+        Product product = productRepository.save(Product.create("Recovered", "ANN-004", Money.of("5.00"), 3));
+        entityManager.flush();
+        productRepository.markLowStockAnnounced(product.getId());
+
+        productRepository.restockBelowThreshold(List.of(product.getId()), 100, 10);
+
+        assertThat(productRepository.clearRecoveredLowStock(10)).isEqualTo(1);
+        assertThat(productRepository.markLowStockAnnounced(product.getId())).isTrue();
+    }
+
     @Test
     void shouldSaveAndFindProduct() {
         Product product = Product.create("Test Product", "TEST-SKU-001", Money.of("10.00"), 50);
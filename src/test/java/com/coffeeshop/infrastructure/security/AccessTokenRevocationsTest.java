@@ -0,0 +1,48 @@
+package com.coffeeshop.infrastructure.security;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class AccessTokenRevocationsTest {
+    private static final Instant CUTOFF = Instant.parse("2024-01-01T12:00:00.500Z");
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AccessTokenRevocations revocations = new AccessTokenRevocations(jdbcTemplate, 3600000);
+
+    @Test
+    void shouldRefuseTokensIssuedBeforeTheCutoff() {
+        revocations.revokeLocal("user@local", CUTOFF);
+
+        assertThat(revocations.isRevoked(token("user@local", CUTOFF.minusSeconds(60)))).isTrue();
+        assertThat(revocations.isRevoked(token("user@local", CUTOFF.plusSeconds(1)))).isFalse();
+        assertThat(revocations.isRevoked(token("admin@local", CUTOFF.minusSeconds(60)))).isFalse();
+    }
+
+    @Test
+    void shouldKeepTheLatestCutoff() {
+        revocations.revokeLocal("user@local", CUTOFF);
+        revocations.revokeLocal("user@local", CUTOFF.minusSeconds(600));
+
+        assertThat(revocations.isRevoked(token("user@local", CUTOFF.minusSeconds(60)))).isTrue();
+    }
+
+    @Test
+    void shouldPickUpCutoffsStoredByOtherNodes() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Timestamp.class), eq("user@local")))
+                .thenReturn(List.of(Timestamp.from(CUTOFF)));
+
+        revocations.reload("user@local");
+
+        assertThat(revocations.isRevoked(token("user@local", CUTOFF.minusSeconds(60)))).isTrue();
+    }
+
+    private static VerifiedToken token(String email, Instant issuedAt) {
+        return new VerifiedToken(email, List.of(), issuedAt, issuedAt.plusSeconds(3600));
+    }
+}
@@ -0,0 +1,63 @@
+package com.coffeeshop.infrastructure.security;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.coffeeshop.infrastructure.security.entity.DeviceApiKeyEntity;
+import com.coffeeshop.infrastructure.security.repository.DeviceApiKeyRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class DeviceKeyIndexTest {
+    private final DeviceApiKeyRepository repository = mock(DeviceApiKeyRepository.class);
+    private final DeviceKeyIndex index = new DeviceKeyIndex(repository, "test-pepper");
+
+    @Test
+    void shouldAuthenticateActiveKeyWithinItsScopes() {
+        givenActiveKeys(device("counter-1", "csk_secret", Set.of("orders:write")));
+        index.reload();
+
+        DeviceCredential credential = index.authenticate("csk_secret").orElseThrow();
+
+        assertThat(credential.principalName()).isEqualTo("device:counter-1");
+        assertThat(credential.permits(request("POST", "/api/v1/orders"))).isTrue();
+        assertThat(credential.permits(request("GET", "/api/v1/orders"))).isFalse();
+    }
+
+    @Test
+    void shouldRejectUnknownAndRevokedKeys() {
+        givenActiveKeys(device("counter-1", "csk_secret", Set.of("orders:write")));
+        index.reload();
+        assertThat(index.authenticate("csk_other")).isEmpty();
+
+        givenActiveKeys();
+        when(repository.findLatestUpdate()).thenReturn(Optional.of(Instant.now().plusSeconds(1)));
+        index.reloadIfChanged();
+
+        assertThat(index.authenticate("csk_secret")).isEmpty();
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    private void givenActiveKeys(DeviceApiKeyEntity... entities) {
+        when(repository.findByRevokedAtIsNull()).thenReturn(List.of(entities));
+    }
+
+    private DeviceApiKeyEntity device(String name, String rawKey, Set<String> scopes) {
+        DeviceApiKeyEntity entity = new DeviceApiKeyEntity();
+        entity.setId(UUID.randomUUID());
+        entity.setDeviceName(name);
+        entity.setKeyHash(index.hash(rawKey));
+        entity.setScopeSet(scopes);
+        return entity;
+    }
+}
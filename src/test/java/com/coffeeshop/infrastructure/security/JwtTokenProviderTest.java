@@ -0,0 +1,63 @@
+package com.coffeeshop.infrastructure.security;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class JwtTokenProviderTest {
+    private static final String SECRET =
+            "test-secret-key-for-testing-purposes-only-do-not-use-in-production-environment";
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider(SECRET, 3600000, 100);
+
+    @Test
+    void shouldVerifyTokenAndExposeRoles() {
+        String token = tokenProvider.generateToken(authentication("admin@local", "ROLE_ADMIN"));
+
+        Optional<VerifiedToken> verified = tokenProvider.verify(token);
+
+        assertThat(verified).isPresent();
+        assertThat(verified.get().email()).isEqualTo("admin@local");
+        assertThat(verified.get().issuedAt()).isBefore(verified.get().expiresAt());
+        assertThat(verified.get().authorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void shouldReturnCachedResultForRepeatedToken() {
+        String token = tokenProvider.generateToken(authentication("user@local", "ROLE_USER"));
+
+        VerifiedToken first = tokenProvider.verify(token).orElseThrow();
+        VerifiedToken second = tokenProvider.verify(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherKey() {
+        JwtTokenProvider otherProvider = new JwtTokenProvider(SECRET + "-other", 3600000, 100);
+        String token = otherProvider.generateToken(authentication("user@local", "ROLE_USER"));
+
+        assertThat(tokenProvider.verify(token)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        JwtTokenProvider expiringProvider = new JwtTokenProvider(SECRET, -1000, 100);
+        String token = expiringProvider.generateToken(authentication("user@local", "ROLE_USER"));
+
+        assertThat(tokenProvider.verify(token)).isEmpty();
+    }
+
+    private static Authentication authentication(String email, String role) {
+        return new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority(role)));
+    }
+}
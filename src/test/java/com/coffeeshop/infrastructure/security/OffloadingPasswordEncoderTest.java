@@ -0,0 +1,73 @@
+package com.coffeeshop.infrastructure.security;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class OffloadingPasswordEncoderTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void shouldVerifyPasswordOnHashingPool() {
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(
+                NoOpPasswordEncoder.getInstance(), executor, meterRegistry);
+
+        assertThat(encoder.matches("secret", "secret")).isTrue();
+        assertThat(encoder.matches("secret", "other")).isFalse();
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectWhenPoolIsSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BlockingEncoder(release);
+        OffloadingPasswordEncoder encoder =
+                new OffloadingPasswordEncoder(blocking, executor, meterRegistry);
+
+        // One task running and one queued fill the pool
+        Thread.ofVirtual().start(() -> encoder.matches("a", "a"));
+        Thread.ofVirtual().start(() -> encoder.matches("b", "b"));
+        while (executor.getQueue().isEmpty()) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> encoder.matches("c", "c"))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+        release.countDown();
+    }
+
+    private record BlockingEncoder(CountDownLatch release) implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.coffeeshop.infrastructure.security;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class RateLimitFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(
+            List.of(RateLimitRule.of(
+                    "order-writes", HttpMethod.POST, "/api/v1/orders/**", 2, Duration.ofMinutes(1))),
+            1000,
+            new ObjectMapper().registerModule(new JavaTimeModule()),
+            meterRegistry);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRejectCustomerOverLimitWithRetryAfter() throws Exception {
+        authenticate("kiosk@coffeeshop.local");
+
+        assertThat(post("10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(post("10.0.0.1").getStatus()).isEqualTo(200);
+        MockHttpServletResponse rejected = post("10.0.0.1");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(rejected.getHeader("Retry-After"))).isBetween(1L, 30L);
+        assertThat(meterRegistry.get("http.rate_limit.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepSeparateBucketsPerCaller() throws Exception {
+        authenticate("kiosk@coffeeshop.local");
+        post("10.0.0.1");
+        post("10.0.0.1");
+
+        authenticate("other@coffeeshop.local");
+        assertThat(post("10.0.0.1").getStatus()).isEqualTo(200);
+
+        SecurityContextHolder.clearContext();
+        assertThat(post("10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldNotLimitUnmatchedRoutes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        request.setServletPath("/api/v1/products");
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+    }
+
+    private void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, AuthorityUtils.createAuthorityList("ROLE_CUSTOMER")));
+    }
+
+    private MockHttpServletResponse post(String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/orders");
+        request.setServletPath("/api/v1/orders");
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
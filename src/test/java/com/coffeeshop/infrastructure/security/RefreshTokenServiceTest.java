@@ -0,0 +1,84 @@
+package com.coffeeshop.infrastructure.security;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import com.coffeeshop.infrastructure.security.entity.RefreshTokenEntity;
+import com.coffeeshop.infrastructure.security.repository.RefreshTokenRepository;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private final Map<String, RefreshTokenEntity> store = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationMs", 86400000L);
+        lenient().when(refreshTokenRepository.save(any(RefreshTokenEntity.class))).thenAnswer(inv -> {
+            RefreshTokenEntity entity = inv.getArgument(0);
+            store.put(entity.getTokenHash(), entity);
+            return entity;
+        });
+        lenient().when(refreshTokenRepository.findByTokenHash(anyString()))
+                .thenAnswer(inv -> Optional.ofNullable(store.get(inv.<String>getArgument(0))));
+    }
+
+    @Test
+    void shouldRotateRefreshTokenAndIssueAccessToken() {
+        String issued = refreshTokenService.issue("user@local");
+        when(userDetailsService.loadUserByUsername("user@local"))
+                .thenReturn(User.withUsername("user@local").password("x").roles("USER").build());
+        when(tokenProvider.generateToken(any())).thenReturn("access-token");
+
+        RefreshTokenService.IssuedTokens tokens = refreshTokenService.refresh(issued);
+
+        assertThat(tokens.accessToken()).isEqualTo("access-token");
+        assertThat(tokens.refreshToken()).isNotEqualTo(issued);
+        assertThat(store.values()).hasSize(2);
+        assertThat(store.values()).filteredOn(RefreshTokenEntity::isRevoked).hasSize(1);
+    }
+
+    @Test
+    void shouldRevokeFamilyWhenRotatedTokenIsReused() {
+        String issued = refreshTokenService.issue("user@local");
+        RefreshTokenEntity entity = store.values().iterator().next();
+        entity.setRevokedAt(Instant.now());
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(issued))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessageContaining("revoked");
+        verify(refreshTokenRepository).revokeFamily(eq(entity.getFamilyId()), any(Instant.class));
+        verifyNoInteractions(tokenProvider);
+    }
+
+    @Test
+    void shouldRejectUnknownToken() {
+        assertThatThrownBy(() -> refreshTokenService.refresh("does-not-exist"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+}
@@ -0,0 +1,76 @@
+package com.coffeeshop.infrastructure.security;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.coffeeshop.application.exception.ResourceNotFoundException;
+import com.coffeeshop.infrastructure.security.entity.UserEntity;
+import com.coffeeshop.infrastructure.security.repository.UserRepository;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class UserAccountServiceTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserDetailsCache userDetailsCache = mock(UserDetailsCache.class);
+    private final AccessTokenRevocations revocations = mock(AccessTokenRevocations.class);
+    private final UserAccountService service =
+            new UserAccountService(userRepository, userDetailsCache, revocations);
+
+    @Test
+    void shouldDisableUserAndInvalidateCachedDetails() {
+        UserEntity user = user();
+        when(userRepository.findByEmail("user@local")).thenReturn(Optional.of(user));
+
+        service.setEnabled("user@local", false);
+
+        assertThat(user.isEnabled()).isFalse();
+        assertThat(user.getTokensRevokedAt()).isNotNull();
+        verify(userRepository).save(user);
+        verify(userDetailsCache).invalidate("user@local");
+        verify(revocations).revokeLocal("user@local", user.getTokensRevokedAt());
+    }
+
+    @Test
+    void shouldKeepTokensWhenEnablingUser() {
+        UserEntity user = user();
+        when(userRepository.findByEmail("user@local")).thenReturn(Optional.of(user));
+
+        service.setEnabled("user@local", true);
+
+        assertThat(user.getTokensRevokedAt()).isNull();
+        verify(revocations, never()).revokeLocal(any(), any(Instant.class));
+    }
+
+    @Test
+    void shouldReplaceRolesAndInvalidateCachedDetails() {
+        UserEntity user = user();
+        when(userRepository.findByEmail("user@local")).thenReturn(Optional.of(user));
+
+        service.updateRoles("user@local", Set.of("USER", "ADMIN"));
+
+        assertThat(user.getRoles()).containsExactlyInAnyOrder("USER", "ADMIN");
+        verify(userDetailsCache).invalidate("user@local");
+        verify(revocations).revokeLocal("user@local", user.getTokensRevokedAt());
+    }
+
+    @Test
+    void shouldReportUnknownUserAsNotFound() {
+        when(userRepository.findByEmail("nobody@local")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.setEnabled("nobody@local", false))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(userDetailsCache);
+    }
+
+    private static UserEntity user() {
+        UserEntity user = new UserEntity();
+        user.setEmail("user@local");
+        user.setEnabled(true);
+        user.setRoles(new HashSet<>(Set.of("USER")));
+        return user;
+    }
+}
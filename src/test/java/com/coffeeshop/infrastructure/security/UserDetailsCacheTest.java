@@ -0,0 +1,60 @@
+package com.coffeeshop.infrastructure.security;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+class UserDetailsCacheTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserDetailsCache cache =
+            new UserDetailsCache(jdbcTemplate, meterRegistry, 100, Duration.ofMinutes(5));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void shouldLoadUserOnlyOnceUntilInvalidated() {
+        cache.get("user@local", this::load);
+        cache.get("user@local", this::load);
+        assertThat(loads).hasValue(1);
+
+        cache.invalidate("user@local");
+        cache.get("user@local", this::load);
+
+        assertThat(loads).hasValue(2);
+        verify(jdbcTemplate).queryForObject(
+                anyString(), eq(Object.class), eq(UserDetailsCache.INVALIDATION_CHANNEL), eq("user@local"));
+    }
+
+    @Test
+    void shouldKeepPasswordWhenCallerErasesCredentials() {
+        UserDetails first = cache.get("user@local", this::load);
+        ((User) first).eraseCredentials();
+
+        UserDetails second = cache.get("user@local", this::load);
+
+        assertThat(second.getPassword()).isEqualTo("hash");
+    }
+
+    @Test
+    void shouldExportHitRatioMetrics() {
+        cache.get("user@local", this::load);
+        cache.get("user@local", this::load);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                        .functionCounter().count())
+                .isEqualTo(1.0);
+    }
+
+    private UserDetails load(String email) {
+        loads.incrementAndGet();
+        return User.withUsername(email).password("hash").roles("USER").build();
+    }
+}